@@ -1,23 +1,82 @@
 package com.soundwrapped.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
- * Configuration for RestTemplate with proper timeouts
+ * Configuration for outbound HTTP: a shared, pooled JDK {@link HttpClient}
+ * and a RestTemplate on top of it with proper timeouts.
+ * <p>
+ * The JDK client keeps connections alive and reuses them across requests,
+ * so neither the {@code SoundCloudClient} nor the RestTemplate pays a fresh
+ * TCP/TLS handshake per call. The protocol is negotiated per upstream (ALPN
+ * over TLS, falling back to HTTP/1.1) unless {@code soundcloud.http.version}
+ * pins one.
+ * </p>
  */
 @Configuration
 public class AppConfig {
+	@Value("${soundcloud.http.connect-timeout-ms:5000}")
+	private long connectTimeoutMs;
+
+	@Value("${soundcloud.http.read-timeout-ms:10000}")
+	private long readTimeoutMs;
+
+	@Value("${soundcloud.http.io-threads:8}")
+	private int ioThreads;
+
+	// Empty: negotiate per upstream; HTTP_1_1 or HTTP_2 pins the version for every client call
+	@Value("${soundcloud.http.version:}")
+	private String httpVersion;
+
+	// Small dedicated pool that completes HTTP response futures.
+	// Request threads never block on it; it only runs response callbacks.
+	private ExecutorService httpClientExecutor;
+
+	@Bean
+	public HttpClient httpClient() {
+		AtomicInteger counter = new AtomicInteger();
+		httpClientExecutor = Executors.newFixedThreadPool(ioThreads, runnable -> {
+			Thread thread = new Thread(runnable, "http-io-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		});
+
+		HttpClient.Builder builder = HttpClient.newBuilder()
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.connectTimeout(Duration.ofMillis(connectTimeoutMs)) // 5 seconds connection timeout
+				.executor(httpClientExecutor);
+
+		if (httpVersion != null && !httpVersion.isBlank())
+			builder.version(HttpClient.Version.valueOf(httpVersion.trim()));
+
+		return builder.build();
+	}
+
 	@Bean
-	public RestTemplate restTemplate() {
-		SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-		factory.setConnectTimeout(5000); // 5 seconds connection timeout
-		factory.setReadTimeout(10000); // 10 seconds read timeout (fail fast)
-		
+	public RestTemplate restTemplate(HttpClient httpClient) {
+		JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+		factory.setReadTimeout(Duration.ofMillis(readTimeoutMs)); // 10 seconds read timeout (fail fast)
+
 		RestTemplate restTemplate = new RestTemplate(factory);
 		return restTemplate;
 	}
-}
\ No newline at end of file
+
+	@PreDestroy
+	public void shutdownHttpClientExecutor() {
+		if (httpClientExecutor != null)
+			httpClientExecutor.shutdown();
+	}
+}
@@ -1,29 +1,103 @@
 package com.soundwrapped.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.cache.Cache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
-import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * Custom CaffeineCache implementation since Spring Boot 3.5 may not include it.
  * This wraps Caffeine cache to implement Spring's Cache interface.
+ * <p>
+ * {@link #get(Object, Callable)} (used by {@code @Cacheable(sync = true)} and
+ * {@code CacheAside}) is single-flight: concurrent misses for a key share one
+ * load, run on the first caller's thread, without holding Caffeine's internal
+ * locks while the upstream call is in progress. Entries older than
+ * {@code refreshAfterWrite} are still served, and one background reload with
+ * the caller's loader replaces them (stale-while-revalidate). Null and empty
+ * results ("no lyrics", "unknown artist") are negative entries: kept for the
+ * shorter {@code negativeTtl}, or not at all if none is configured, and never
+ * allowed to replace a good value during a refresh. Loaders must therefore
+ * return null or empty only for a definite not-found and throw on timeouts,
+ * rate limits and server errors; a thrown load is never stored.
+ * </p>
+ * <p>
+ * The background reload calls the loader passed to the read that found the
+ * entry stale, on a refresh thread. For {@code @Cacheable(sync = true)} that
+ * loader re-enters the cached method's invocation: the method body runs again,
+ * but advice ordered inside the cache interceptor (e.g. {@code @Transactional})
+ * is not re-applied and the caller's thread-locals are absent. Methods cached
+ * with a refresh age must therefore be self-contained, as the upstream lookups
+ * here are.
+ * </p>
  */
 class CaffeineCache implements Cache {
+	private record Entry(@Nullable Object value, long writtenAtNanos, boolean negative) {}
+
 	private final String name;
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+	@Nullable
+	private final Duration refreshAfterWrite;
+	private final Executor refreshExecutor;
+	private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<Object, CompletableFuture<Object>>();
+	private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
 
-	public CaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+	@Nullable
+	private final Duration negativeTtl;
+
+	private CaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+			@Nullable Duration refreshAfterWrite, @Nullable Duration negativeTtl, Executor refreshExecutor) {
 		this.name = name;
 		this.cache = cache;
+		this.refreshAfterWrite = refreshAfterWrite;
+		this.negativeTtl = negativeTtl;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	/**
+	 * Builds a cache from its spec; zero or negative durations switch refresh
+	 * and negative caching off.
+	 */
+	static CaffeineCache of(String name, CacheSpec spec, Executor refreshExecutor) {
+		Duration ttl = spec.expireAfterWrite();
+		Duration refresh = isPositive(spec.refreshAfterWrite()) ? spec.refreshAfterWrite() : null;
+		Duration negative = isPositive(spec.negativeTtl()) ? spec.negativeTtl() : null;
+
+		com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = Caffeine.newBuilder()
+			.maximumSize(spec.maximumSize())
+			.expireAfter(Expiry.writing((Object key, Object entry) ->
+				((Entry) entry).negative() && negative != null ? negative : ttl))
+			.recordStats()
+			.build();
+
+		return new CaffeineCache(name, cache, refresh, negative, refreshExecutor);
+	}
+
+	private static boolean isPositive(@Nullable Duration duration) {
+		return duration != null && !duration.isZero() && !duration.isNegative();
 	}
 
 	@Override
@@ -41,37 +115,65 @@ class CaffeineCache implements Cache {
 	@Override
 	@Nullable
 	public Cache.ValueWrapper get(@NonNull Object key) {
-		Object value = cache.getIfPresent(key);
-		return value != null ? new SimpleValueWrapper(value) : null;
+		Object entry = cache.getIfPresent(key);
+		return entry != null ? new SimpleValueWrapper(((Entry) entry).value()) : null;
 	}
 
 	@Override
 	@Nullable
 	public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
-		Object value = cache.getIfPresent(key);
+		Object entry = cache.getIfPresent(key);
+		Object value = entry != null ? ((Entry) entry).value() : null;
 		return type != null && value != null && type.isInstance(value) ? type.cast(value) : null;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
-	@NonNull
-	public <T> T get(@NonNull Object key, @NonNull java.util.concurrent.Callable<T> valueLoader) {
+	@Nullable
+	public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+		Object cached = cache.getIfPresent(key);
+
+		if (cached != null) {
+			if (!((Entry) cached).negative())
+				refreshIfStale(key, (Entry) cached, valueLoader);
+
+			return (T) ((Entry) cached).value();
+		}
+
+		CompletableFuture<Object> load = new CompletableFuture<Object>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(key, load);
+
+		if (running != null)
+			return (T) await(key, valueLoader, running);
+
 		try {
-			return (T) cache.get(key, k -> {
-				try {
-					return valueLoader.call();
-				} catch (Exception e) {
-					throw new RuntimeException(e);
-				}
-			});
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+			// A load for this key may have finished between the lookup and registering ours
+			Object loaded = cache.asMap().get(key);
+			Object value = loaded != null ? ((Entry) loaded).value() : valueLoader.call();
+
+			if (loaded == null)
+				store(key, value);
+
+			load.complete(value);
+			return (T) value;
+		}
+
+		catch (Exception e) {
+			load.completeExceptionally(e);
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+
+		finally {
+			inFlight.remove(key, load);
 		}
 	}
 
 	@Override
 	public void put(@NonNull Object key, @Nullable Object value) {
-		cache.put(key, value);
+		if (value == null)
+			cache.invalidate(key);
+		else
+			cache.put(key, new Entry(value, System.nanoTime(), false));
 	}
 
 	@Override
@@ -84,6 +186,71 @@ class CaffeineCache implements Cache {
 		cache.invalidateAll();
 	}
 
+	private void store(Object key, @Nullable Object value) {
+		boolean negative = isNegative(value);
+
+		if (!negative || negativeTtl != null)
+			cache.put(key, new Entry(value, System.nanoTime(), negative));
+	}
+
+	private static boolean isNegative(@Nullable Object value) {
+		return value == null
+				|| value instanceof Collection<?> collection && collection.isEmpty()
+				|| value instanceof Map<?, ?> map && map.isEmpty();
+	}
+
+	private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> running) {
+		try {
+			return running.get();
+		}
+
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+
+		catch (ExecutionException e) {
+			throw new ValueRetrievalException(key, valueLoader, e.getCause());
+		}
+	}
+
+	/**
+	 * Starts one background reload of an entry past {@code refreshAfterWrite};
+	 * the stale value stays in place until the reload succeeds.
+	 */
+	private void refreshIfStale(Object key, Entry entry, Callable<?> valueLoader) {
+		if (refreshAfterWrite == null || System.nanoTime() - entry.writtenAtNanos() < refreshAfterWrite.toNanos())
+			return;
+
+		if (!refreshing.add(key))
+			return;
+
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					Object value = valueLoader.call();
+
+					// A good value outlives the upstream forgetting it; it expires on its own TTL
+					if (!isNegative(value))
+						store(key, value);
+				}
+
+				catch (Exception e) {
+					System.err.println("[Cache] Background refresh of " + name + "/" + key + " failed; keeping stale value: " + e.getMessage());
+				}
+
+				finally {
+					refreshing.remove(key);
+				}
+			});
+		}
+
+		catch (Exception e) {
+			// Executor saturated; a later read tries again
+			refreshing.remove(key);
+		}
+	}
+
 	private static class SimpleValueWrapper implements Cache.ValueWrapper {
 		private final Object value;
 
@@ -100,91 +267,66 @@ class CaffeineCache implements Cache {
 
 /**
  * Configuration for caching expensive operations.
- * Uses Caffeine for in-memory caching with TTL-based eviction.
+ * Uses Caffeine for in-memory caching with TTL-based eviction; sizes, TTLs,
+ * refresh ages and negative TTLs are set per cache under {@code soundwrapped.caches}.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
 	/**
-	 * Cache manager for API responses and expensive computations.
+	 * Built-in settings per cache, and the only place their defaults live;
+	 * {@code soundwrapped.caches.<name>.*} overrides any of them per
+	 * environment, and can declare further caches.
 	 * 
 	 * Cache names:
-	 * - "groqDescriptions": Groq API responses (1 hour TTL)
-	 * - "enhancedArtists": TheAudioDB artist info (24 hours TTL)
-	 * - "similarArtists": Last.fm similar artists (12 hours TTL)
+	 * - "groqDescriptions": Groq descriptions, in front of the persistent store (1 hour TTL)
+	 * - "enhancedArtists": TheAudioDB artist info (24 hours TTL, refreshed after 12 hours)
+	 * - "similarArtists": Last.fm similar artists (12 hours TTL, refreshed after 6 hours)
 	 * - "lyrics": Lyrics from Lyrics.ovh (7 days TTL - lyrics don't change)
-	 * - "popularTracks": Popular tracks list (30 minutes TTL)
+	 * - "popularTracks": Popular tracks list (refreshed after 10 minutes, dropped after 2 hours unused)
+	 * - "soundcloudTrackSearch": Last.fm artist+title → SoundCloud track id front (24 hours TTL)
+	 * - "artistAnalytics": Per-artist dashboard (refreshed after 2 minutes, 5 minutes TTL)
+	 *
+	 * Lookups that find nothing are remembered for the negative TTL so
+	 * unknown artists and missing lyrics are not re-fetched on every request.
+	 */
+	static final Map<String, CacheSpec> DEFAULT_SPECS = Map.of(
+		"groqDescriptions", CacheSpec.of(1000, Duration.ofHours(1), null, null),
+		"enhancedArtists", CacheSpec.of(500, Duration.ofHours(24), Duration.ofHours(12), Duration.ofHours(1)),
+		"similarArtists", CacheSpec.of(500, Duration.ofHours(12), Duration.ofHours(6), Duration.ofHours(1)),
+		"lyrics", CacheSpec.of(2000, Duration.ofDays(7), null, Duration.ofHours(6)),
+		"popularTracks", CacheSpec.of(10, Duration.ofHours(2), Duration.ofMinutes(10), null),
+		"soundcloudTrackSearch", CacheSpec.of(5000, Duration.ofHours(24), null, null),
+		"artistAnalytics", CacheSpec.of(500, Duration.ofMinutes(5), Duration.ofMinutes(2), null)
+	);
+
+	// Starting point for caches declared only in configuration
+	private static final CacheSpec FALLBACK_SPEC = CacheSpec.of(1000, Duration.ofHours(1), null, null);
+
+	/**
+	 * Cache manager for API responses and expensive computations.
+	 * Background refreshes run on the shared task executor.
 	 */
 	@Bean
-	public CacheManager cacheManager() {
+	public CacheManager cacheManager(@Qualifier("applicationTaskExecutor") Executor refreshExecutor, Environment environment) {
+		Map<String, CacheSpec> overrides = Binder.get(environment)
+			.bind("soundwrapped.caches", Bindable.mapOf(String.class, CacheSpec.class))
+			.orElse(Map.of());
+		Set<String> names = new TreeSet<String>(DEFAULT_SPECS.keySet());
+		names.addAll(overrides.keySet());
+
+		List<Cache> caches = new ArrayList<Cache>();
+
+		for (String name : names) {
+			CacheSpec spec = DEFAULT_SPECS.getOrDefault(name, FALLBACK_SPEC).overriddenBy(overrides.get(name));
+			caches.add(CaffeineCache.of(name, spec, refreshExecutor));
+			System.out.println("[CacheConfig] " + name + ": " + spec);
+		}
+
 		SimpleCacheManager cacheManager = new SimpleCacheManager();
-		
-		// Configure cache for Groq descriptions (1 hour TTL)
-		Cache groqDescriptionsCache = new CaffeineCache("groqDescriptions",
-			Caffeine.newBuilder()
-				.maximumSize(1000)
-				.expireAfterWrite(1, TimeUnit.HOURS)
-				.recordStats()
-				.build()
-		);
-		
-		// Configure cache for enhanced artist info (24 hours TTL)
-		Cache enhancedArtistsCache = new CaffeineCache("enhancedArtists",
-			Caffeine.newBuilder()
-				.maximumSize(500)
-				.expireAfterWrite(24, TimeUnit.HOURS)
-				.recordStats()
-				.build()
-		);
-		
-		// Configure cache for similar artists (12 hours TTL)
-		Cache similarArtistsCache = new CaffeineCache("similarArtists",
-			Caffeine.newBuilder()
-				.maximumSize(500)
-				.expireAfterWrite(12, TimeUnit.HOURS)
-				.recordStats()
-				.build()
-		);
-		
-		// Configure cache for lyrics (7 days TTL - lyrics rarely change)
-		Cache lyricsCache = new CaffeineCache("lyrics",
-			Caffeine.newBuilder()
-				.maximumSize(2000)
-				.expireAfterWrite(7, TimeUnit.DAYS)
-				.recordStats()
-				.build()
-		);
-		
-		// Configure cache for popular tracks (30 minutes TTL)
-		Cache popularTracksCache = new CaffeineCache("popularTracks",
-			Caffeine.newBuilder()
-				.maximumSize(10)
-				.expireAfterWrite(30, TimeUnit.MINUTES)
-				.recordStats()
-				.build()
-		);
-		
-		// Configure cache for SoundCloud track search results (24 hours TTL)
-		// Stores artist+title → SoundCloud track ID mappings from Last.fm track matching
-		Cache soundcloudTrackSearchCache = new CaffeineCache("soundcloudTrackSearch",
-			Caffeine.newBuilder()
-				.maximumSize(5000)
-				.expireAfterWrite(24, TimeUnit.HOURS)
-				.recordStats()
-				.build()
-		);
-		
-		cacheManager.setCaches(Arrays.asList(
-			groqDescriptionsCache,
-			enhancedArtistsCache,
-			similarArtistsCache,
-			lyricsCache,
-			popularTracksCache,
-			soundcloudTrackSearchCache
-		));
+		cacheManager.setCaches(caches);
 		
 		return cacheManager;
 	}
 }
-
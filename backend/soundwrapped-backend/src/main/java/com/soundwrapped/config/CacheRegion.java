@@ -0,0 +1,61 @@
+package com.soundwrapped.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typed handle on one of the caches declared in {@link CacheConfig}.
+ * <p>
+ * The type parameters tie each cache name to its key and value types, so call
+ * sites going through {@link com.soundwrapped.service.CacheAside} cannot mix
+ * up keys between caches. Keys are records with value equality and are
+ * normalised by their factory methods.
+ * </p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public record CacheRegion<K, V>(String name) {
+	public static final CacheRegion<DescriptionKey, String> GROQ_DESCRIPTIONS =
+			new CacheRegion<DescriptionKey, String>("groqDescriptions");
+
+	public static final CacheRegion<Integer, List<Map<String, Object>>> POPULAR_TRACKS =
+			new CacheRegion<Integer, List<Map<String, Object>>>("popularTracks");
+
+	public static final CacheRegion<TrackSearchKey, String> SOUNDCLOUD_TRACK_SEARCH =
+			new CacheRegion<TrackSearchKey, String>("soundcloudTrackSearch");
+
+	public static final CacheRegion<String, Map<String, Object>> ARTIST_ANALYTICS =
+			new CacheRegion<String, Map<String, Object>>("artistAnalytics");
+
+	/**
+	 * Key for a generated description of an artist or genre.
+	 */
+	public record DescriptionKey(String entityName, String entityType) {
+		public static DescriptionKey of(String entityName, String entityType) {
+			return new DescriptionKey(lower(entityName), lower(entityType));
+		}
+	}
+
+	/**
+	 * Key for an artist + title lookup against SoundCloud search.
+	 * Callers pass names already normalised for fuzzy matching.
+	 */
+	public record TrackSearchKey(String artist, String title) {
+		public static TrackSearchKey of(String artist, String title) {
+			return new TrackSearchKey(lower(artist), lower(title));
+		}
+
+		/**
+		 * Flat form used as the {@code track_matches.match_key} column.
+		 */
+		public String matchKey() {
+			return artist + "|" + title;
+		}
+	}
+
+	private static String lower(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,39 @@
+package com.soundwrapped.config;
+
+import org.springframework.lang.Nullable;
+import java.time.Duration;
+
+/**
+ * Size and timing settings for one cache, bound from
+ * {@code soundwrapped.caches.<name>.*}.
+ *
+ * @param maximumSize       Entry bound
+ * @param expireAfterWrite  Hard TTL of a loaded value
+ * @param refreshAfterWrite Age after which a read still gets the value but triggers a background reload; {@code null} disables
+ * @param negativeTtl       TTL of a null/empty result; {@code null} means such results are not cached
+ */
+public record CacheSpec(
+		@Nullable Long maximumSize,
+		@Nullable Duration expireAfterWrite,
+		@Nullable Duration refreshAfterWrite,
+		@Nullable Duration negativeTtl) {
+
+	public static CacheSpec of(long maximumSize, Duration expireAfterWrite,
+			@Nullable Duration refreshAfterWrite, @Nullable Duration negativeTtl) {
+		return new CacheSpec(maximumSize, expireAfterWrite, refreshAfterWrite, negativeTtl);
+	}
+
+	/**
+	 * This spec with every setting that {@code override} specifies replaced.
+	 */
+	public CacheSpec overriddenBy(@Nullable CacheSpec override) {
+		if (override == null)
+			return this;
+
+		return new CacheSpec(
+				override.maximumSize() != null ? override.maximumSize() : maximumSize,
+				override.expireAfterWrite() != null ? override.expireAfterWrite() : expireAfterWrite,
+				override.refreshAfterWrite() != null ? override.refreshAfterWrite() : refreshAfterWrite,
+				override.negativeTtl() != null ? override.negativeTtl() : negativeTtl);
+	}
+}
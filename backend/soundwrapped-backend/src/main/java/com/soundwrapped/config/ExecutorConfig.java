@@ -0,0 +1,97 @@
+package com.soundwrapped.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Managed executors: {@code applicationTaskExecutor} for background jobs
+ * (snapshot recomputes, featured precompute, Last.fm syncs, ingestion flushes,
+ * cache refreshes) and {@code fanOutExecutor} for the parallel upstream calls
+ * a request or job waits on (Wrapped library fetches, buzzing playlists,
+ * description research).
+ * <p>
+ * The two are separate because background jobs block on their fan-out: with
+ * one bounded pool, a handful of jobs holding every core thread would leave
+ * their own subtasks queued behind them. The fan-out pool has no queue; when
+ * all its threads are busy, the waiting caller runs the subtask itself.
+ * </p>
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime,
+ * tasks run on virtual threads and Spring Boot also moves Tomcat request
+ * threads and {@code @Scheduled} jobs onto virtual threads. On older
+ * runtimes the flag is ignored and a bounded platform-thread pool sized by
+ * {@code soundwrapped.executor.*} is used instead.
+ * </p>
+ */
+@Configuration
+public class ExecutorConfig {
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreadsEnabled;
+
+	@Value("${soundwrapped.executor.core-size:8}")
+	private int coreSize;
+
+	@Value("${soundwrapped.executor.max-size:32}")
+	private int maxSize;
+
+	@Value("${soundwrapped.executor.queue-capacity:500}")
+	private int queueCapacity;
+
+	@Value("${soundwrapped.executor.fan-out-max-size:64}")
+	private int fanOutMaxSize;
+
+	@Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		if (virtualThreadsEnabled && Runtime.version().feature() >= 21) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sw-task-");
+			executor.setVirtualThreads(true);
+			executor.setTaskTerminationTimeout(30_000);
+			System.out.println("[ExecutorConfig] Using virtual-thread task executor");
+
+			return executor;
+		}
+
+		if (virtualThreadsEnabled)
+			System.out.println("[ExecutorConfig] ⚠️ Virtual threads requested but runtime is Java "
+					+ Runtime.version().feature() + "; falling back to pooled platform threads");
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("sw-task-");
+		executor.setCorePoolSize(coreSize);
+		executor.setMaxPoolSize(maxSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+
+		return executor;
+	}
+
+	@Bean(name = "fanOutExecutor")
+	public AsyncTaskExecutor fanOutExecutor() {
+		if (virtualThreadsEnabled && Runtime.version().feature() >= 21) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sw-fanout-");
+			executor.setVirtualThreads(true);
+			executor.setTaskTerminationTimeout(30_000);
+
+			return executor;
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("sw-fanout-");
+		executor.setCorePoolSize(coreSize);
+		executor.setMaxPoolSize(fanOutMaxSize);
+		// No queue: past the max, subtasks run on the thread that is waiting for them
+		executor.setQueueCapacity(0);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+
+		return executor;
+	}
+}
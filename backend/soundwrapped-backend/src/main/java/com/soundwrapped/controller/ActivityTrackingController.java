@@ -1,12 +1,19 @@
 package com.soundwrapped.controller;
 
+import com.soundwrapped.service.ActivityExportService;
+import com.soundwrapped.exception.IngestionBusyException;
+import com.soundwrapped.service.ActivityIngestionService;
 import com.soundwrapped.service.ActivityTrackingService;
 import com.soundwrapped.service.SoundWrappedService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -17,13 +24,19 @@ import java.util.Map;
 @RequestMapping("/api/activity")
 public class ActivityTrackingController {
     private final ActivityTrackingService activityTrackingService;
+    private final ActivityIngestionService activityIngestionService;
     private final SoundWrappedService soundWrappedService;
+    private final ActivityExportService activityExportService;
 
     public ActivityTrackingController(
             ActivityTrackingService activityTrackingService,
-            SoundWrappedService soundWrappedService) {
+            ActivityIngestionService activityIngestionService,
+            SoundWrappedService soundWrappedService,
+            ActivityExportService activityExportService) {
         this.activityTrackingService = activityTrackingService;
+        this.activityIngestionService = activityIngestionService;
         this.soundWrappedService = soundWrappedService;
+        this.activityExportService = activityExportService;
     }
 
     /**
@@ -35,10 +48,10 @@ public class ActivityTrackingController {
             @RequestParam(required = false) Long durationMs) {
         try {
             // Get current user ID from profile
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
-            activityTrackingService.trackPlay(userId, trackId, durationMs != null ? durationMs : 0L);
+            activityIngestionService.submitPlay(userId, trackId, durationMs != null ? durationMs : 0L);
 
             Map<String, Object> response = new HashMap<String, Object>();
             response.put("success", true);
@@ -47,6 +60,10 @@ public class ActivityTrackingController {
             return ResponseEntity.ok(response);
         }
 
+        catch (IngestionBusyException e) {
+            throw e;
+        }
+
         catch (Exception e) {
             Map<String, Object> error = new HashMap<String, Object>();
             error.put("success", false);
@@ -62,10 +79,10 @@ public class ActivityTrackingController {
     @PostMapping("/track/like")
     public ResponseEntity<Map<String, Object>> trackLike(@RequestParam String trackId) {
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
             
-            activityTrackingService.trackLike(userId, trackId);
+            activityIngestionService.submitLike(userId, trackId);
             
             Map<String, Object> response = new HashMap<String, Object>();
             response.put("success", true);
@@ -74,6 +91,10 @@ public class ActivityTrackingController {
             return ResponseEntity.ok(response);
         }
 
+        catch (IngestionBusyException e) {
+            throw e;
+        }
+
         catch (Exception e) {
             Map<String, Object> error = new HashMap<String, Object>();
             error.put("success", false);
@@ -89,7 +110,7 @@ public class ActivityTrackingController {
     @PostMapping("/track/repost")
     public ResponseEntity<Map<String, Object>> trackRepost(@RequestParam String trackId) {
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
             activityTrackingService.trackRepost(userId, trackId);
@@ -109,4 +130,39 @@ public class ActivityTrackingController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Download the current user's full activity history as NDJSON (default) or CSV.
+     * Rows are streamed straight to the response, oldest first.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportActivity(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ActivityExportService.Format exportFormat;
+
+        try {
+            exportFormat = ActivityExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        }
+
+        catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
+
+        // An error profile has no id; never fall back to a bucket shared by other users
+        if (profile.get("id") == null)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        String userId = String.valueOf(profile.get("id"));
+        boolean csv = exportFormat == ActivityExportService.Format.CSV;
+
+        StreamingResponseBody body = output -> activityExportService.export(userId, exportFormat, output);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"soundwrapped-activity." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+}
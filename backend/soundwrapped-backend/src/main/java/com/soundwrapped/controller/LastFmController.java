@@ -2,8 +2,8 @@ package com.soundwrapped.controller;
 
 import com.soundwrapped.entity.LastFmToken;
 import com.soundwrapped.repository.LastFmTokenRepository;
-import com.soundwrapped.service.LastFmScrobblingService;
 import com.soundwrapped.service.LastFmService;
+import com.soundwrapped.service.LastFmSyncScheduler;
 import com.soundwrapped.service.SoundWrappedService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -24,7 +24,7 @@ public class LastFmController {
     private final LastFmService lastFmService;
     private final LastFmTokenRepository lastFmTokenRepository;
     private final SoundWrappedService soundWrappedService;
-    private final LastFmScrobblingService lastFmScrobblingService;
+    private final LastFmSyncScheduler lastFmSyncScheduler;
 
     @Value("${app.frontend-base-url:http://localhost:3000}")
     private String frontendBaseUrl;
@@ -35,11 +35,11 @@ public class LastFmController {
             LastFmService lastFmService,
             LastFmTokenRepository lastFmTokenRepository,
             SoundWrappedService soundWrappedService,
-            LastFmScrobblingService lastFmScrobblingService) {
+            LastFmSyncScheduler lastFmSyncScheduler) {
         this.lastFmService = lastFmService;
         this.lastFmTokenRepository = lastFmTokenRepository;
         this.soundWrappedService = soundWrappedService;
-        this.lastFmScrobblingService = lastFmScrobblingService;
+        this.lastFmSyncScheduler = lastFmSyncScheduler;
     }
 
     /**
@@ -160,7 +160,7 @@ public class LastFmController {
                         .build();
 
             // Get current SoundCloud user ID
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
 
             if (profile == null || profile.isEmpty())
                 return ResponseEntity.status(HttpStatus.FOUND)
@@ -191,16 +191,13 @@ public class LastFmController {
                 lastFmToken.setSessionKey(sessionKey);
             }
 
-            lastFmTokenRepository.save(lastFmToken);
+            lastFmToken = lastFmTokenRepository.save(lastFmToken);
 
-            // Trigger immediate sync
-            try {
-                lastFmScrobblingService.syncUserScrobbles(lastFmToken);
-            }
-
-            catch (Exception syncError) {
+            // Import history in the background; a long history must not hold up the redirect
+            lastFmSyncScheduler.syncUserAsync(lastFmToken).exceptionally(syncError -> {
                 System.err.println("[LastFmController] Initial sync failed: " + syncError.getMessage());
-            }
+                return 0;
+            });
 
             System.out.println("[LastFmController] ✅ Last.fm connected for user: " + username);
 
@@ -236,7 +233,7 @@ public class LastFmController {
         Map<String, Object> response = new HashMap<String, Object>();
 
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
 
             if (profile == null || profile.isEmpty()) {
                 System.err.println("[LastFmController] getUserProfile returned null or empty");
@@ -289,7 +286,7 @@ public class LastFmController {
         Map<String, Object> response = new HashMap<String, Object>();
 
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String soundcloudUserId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
             lastFmTokenRepository.deleteBySoundcloudUserId(soundcloudUserId);
@@ -319,7 +316,7 @@ public class LastFmController {
         Map<String, Object> response = new HashMap<String, Object>();
 
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String soundcloudUserId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
             Optional<LastFmToken> token = lastFmTokenRepository.findBySoundcloudUserId(soundcloudUserId);
@@ -331,7 +328,10 @@ public class LastFmController {
                 return ResponseEntity.ok().body(response);
             }
 
-            lastFmScrobblingService.syncUserScrobbles(token.get());
+            lastFmSyncScheduler.syncUserAsync(token.get()).exceptionally(syncError -> {
+                System.err.println("[LastFmController] Manual sync failed: " + syncError.getMessage());
+                return 0;
+            });
 
             response.put("success", true);
             response.put("message", "Sync triggered successfully");
@@ -349,4 +349,12 @@ public class LastFmController {
             return ResponseEntity.status(HttpStatus.OK).body(response);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Throughput and lag metrics from the most recent scheduled sync run.
+     */
+    @GetMapping("/sync/metrics")
+    public ResponseEntity<Map<String, Object>> getSyncMetrics() {
+        return ResponseEntity.ok(lastFmSyncScheduler.getLastRunStats());
+    }
+}
@@ -1,17 +1,24 @@
 package com.soundwrapped.controller;
 
+import com.soundwrapped.service.SoundCloudClient;
 import com.soundwrapped.service.SoundWrappedService;
 import com.soundwrapped.service.AnalyticsService;
 import com.soundwrapped.service.MusicDoppelgangerService;
 import com.soundwrapped.service.ArtistAnalyticsService;
 import com.soundwrapped.service.MusicTasteMapService;
 import com.soundwrapped.service.SimilarArtistsService;
+import com.soundwrapped.service.WrappedSnapshotService;
+import com.soundwrapped.service.FeaturedContentService;
+import com.soundwrapped.service.FeaturedContentService.Section;
+import com.soundwrapped.service.CacheAside;
+import com.soundwrapped.service.TrackMatchIndex;
 import com.soundwrapped.repository.UserActivityRepository;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for handling SoundCloud API endpoints.
@@ -33,6 +40,11 @@ public class SoundWrappedController {
 	private final MusicTasteMapService musicTasteMapService;
 	private final SimilarArtistsService similarArtistsService;
 	private final UserActivityRepository userActivityRepository;
+	private final SoundCloudClient soundCloudClient;
+	private final WrappedSnapshotService wrappedSnapshotService;
+	private final CacheAside cacheAside;
+	private final TrackMatchIndex trackMatchIndex;
+	private final FeaturedContentService featuredContentService;
 
 	public SoundWrappedController(
 			SoundWrappedService soundCloudService,
@@ -41,7 +53,12 @@ public class SoundWrappedController {
 			ArtistAnalyticsService artistAnalyticsService,
 			MusicTasteMapService musicTasteMapService,
 			SimilarArtistsService similarArtistsService,
-			UserActivityRepository userActivityRepository) {
+			UserActivityRepository userActivityRepository,
+			SoundCloudClient soundCloudClient,
+			WrappedSnapshotService wrappedSnapshotService,
+			CacheAside cacheAside,
+			TrackMatchIndex trackMatchIndex,
+			FeaturedContentService featuredContentService) {
 		this.soundWrappedService = soundCloudService;
 		this.analyticsService = analyticsService;
 		this.musicDoppelgangerService = musicDoppelgangerService;
@@ -49,6 +66,11 @@ public class SoundWrappedController {
 		this.musicTasteMapService = musicTasteMapService;
 		this.similarArtistsService = similarArtistsService;
 		this.userActivityRepository = userActivityRepository;
+		this.soundCloudClient = soundCloudClient;
+		this.wrappedSnapshotService = wrappedSnapshotService;
+		this.cacheAside = cacheAside;
+		this.trackMatchIndex = trackMatchIndex;
+		this.featuredContentService = featuredContentService;
 	}
 
 	// =========================
@@ -56,19 +78,17 @@ public class SoundWrappedController {
 	// =========================
 
 	@GetMapping("/profile")
-	public Map<String, Object> getUserProfile() {
-		try {
-			return soundWrappedService.getUserProfile();
-		}
-
-		catch (Exception e) {
-			System.out.println("Error fetching profile: " + e.getMessage());
-			Map<String, Object> errorProfile = new HashMap<String, Object>();
-			errorProfile.put("error", "Unable to fetch profile data");
-			errorProfile.put("message", e.getMessage());
-
-			return errorProfile;
-		}
+	public CompletableFuture<Map<String, Object>> getUserProfile() {
+		return soundWrappedService.getUserProfileAsync()
+			.exceptionally(e -> {
+				Throwable cause = e.getCause() != null ? e.getCause() : e;
+				System.out.println("Error fetching profile: " + cause.getMessage());
+				Map<String, Object> errorProfile = new HashMap<String, Object>();
+				errorProfile.put("error", "Unable to fetch profile data");
+				errorProfile.put("message", cause.getMessage());
+
+				return errorProfile;
+			});
 	}
 
 	@GetMapping("/likes")
@@ -98,7 +118,7 @@ public class SoundWrappedController {
 	public List<Map<String, Object>> getUserTracks() {
 		try {
 			// Get user profile to extract userId
-			Map<String, Object> profile = soundWrappedService.getUserProfile();
+			Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
 			String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 			
 			// Get top tracks based on user's tracked plays
@@ -134,7 +154,7 @@ public class SoundWrappedController {
 	@GetMapping("/buzzing")
 	public Map<String, Object> getBuzzingTrack() {
 		try {
-			return soundWrappedService.getBuzzingTrack();
+			return featuredContentService.get(Section.BUZZING);
 		}
 
 		catch (Exception e) {
@@ -148,7 +168,7 @@ public class SoundWrappedController {
 	@GetMapping("/featured/track")
 	public Map<String, Object> getFeaturedTrack() {
 		try {
-			Map<String, Object> result = soundWrappedService.getFeaturedTrack();
+			Map<String, Object> result = featuredContentService.get(Section.SONG);
 			System.out.println("Controller: Featured track result size: " + result.size());
 
 			if (result.isEmpty())
@@ -172,9 +192,11 @@ public class SoundWrappedController {
 		System.out.println("========================================");
 
 		try {
-			// Pass forceRefresh to service method
-			boolean shouldForceRefresh = forceRefresh != null && forceRefresh;
-			Map<String, Object> result = soundWrappedService.getFeaturedArtist(shouldForceRefresh);
+			// A forced refresh recomputes in the background; the current pick is served meanwhile
+			if (forceRefresh != null && forceRefresh)
+				featuredContentService.refreshInBackground(EnumSet.of(Section.ARTIST));
+
+			Map<String, Object> result = featuredContentService.get(Section.ARTIST);
 			System.out.println("Controller: Service returned result with keys: " + result.keySet());
 			@SuppressWarnings("unchecked")
 			List<Map<String, Object>> tracks = (List<Map<String, Object>>) result.get("tracks");
@@ -214,24 +236,28 @@ public class SoundWrappedController {
 		System.out.println("Controller: /featured/genre endpoint called");
 
 		try {
-			return soundWrappedService.getFeaturedGenreWithTracks();
+			Map<String, Object> result = featuredContentService.get(Section.GENRE);
+
+			if (!result.isEmpty())
+				return result;
 		}
 
 		catch (Exception e) {
 			System.err.println("Error fetching featured genre: " + e.getMessage());
 			e.printStackTrace();
-			// Return default genre with tracks even on error
-			Map<String, Object> result = new HashMap<String, Object>();
-			result.put("genre", "electronic");
-			result.put("description", "Electronic music encompasses a wide range of genres that primarily use electronic instruments and technology.");
-			result.put("tracks", new ArrayList<Map<String, Object>>());
-
-			return result;
 		}
+
+		// Return default genre until the first precompute has finished, or on error
+		Map<String, Object> result = new HashMap<String, Object>();
+		result.put("genre", "electronic");
+		result.put("description", "Electronic music encompasses a wide range of genres that primarily use electronic instruments and technology.");
+		result.put("tracks", new ArrayList<Map<String, Object>>());
+
+		return result;
 	}
 
 	/**
-	 * Clear the daily cache for featured content (artist, genre, song).
+	 * Recompute today's featured content (genre, song, artist, buzzing) in the background.
 	 * This forces regeneration of descriptions with the latest API integrations.
 	 */
 	@PostMapping("/featured/clear-cache")
@@ -239,9 +265,9 @@ public class SoundWrappedController {
 		Map<String, Object> result = new HashMap<String, Object>();
 
 		try {
-			soundWrappedService.clearFeaturedCache();
+			featuredContentService.refreshInBackground(EnumSet.allOf(Section.class));
 			result.put("success", true);
-			result.put("message", "Featured content cache cleared. New descriptions will be generated with latest API integrations.");
+			result.put("message", "Featured content refresh scheduled. New descriptions will be published once generated.");
 
 			return result;
 		}
@@ -264,16 +290,16 @@ public class SoundWrappedController {
 	 * Generates a "SoundCloud Wrapped"-style summary for the authenticated user.
      * <p>
      * Includes insights such as top artists, top tracks, reposts, and more.
+     * Served from the persisted snapshot; stale sections refresh in the background.
      * </p>
      * 
-	 * @param token        Bearer access token
-	 * @param refreshToken Refresh token
+	 * @param refresh      Recompute every section now instead of serving the snapshot
 	 * @return             Map containing summary data and statistics
 	 */
 	@GetMapping("/wrapped/full")
-	public Map<String, Object> getWrappedSummary() {
+	public Map<String, Object> getWrappedSummary(@RequestParam(defaultValue = "false") boolean refresh) {
 		try {
-			return soundWrappedService.formattedWrappedSummary();
+			return wrappedSnapshotService.getWrapped(refresh);
 		}
 
 		catch (Exception e) {
@@ -281,7 +307,7 @@ public class SoundWrappedController {
 
 			// Return minimal wrapped data based on profile only
 			try {
-				Map<String, Object> profile = soundWrappedService.getUserProfile();
+				Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
 				Map<String, Object> minimalWrapped = new HashMap<String, Object>();
 				Map<String, Object> wrappedProfile = new HashMap<String, Object>();
 				wrappedProfile.put("username", profile.get("username"));
@@ -346,7 +372,7 @@ public class SoundWrappedController {
 	@GetMapping("/dashboard/analytics")
 	public Map<String, Object> getDashboardAnalytics() {
 		try {
-			Map<String, Object> profile = soundWrappedService.getUserProfile();
+			Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
 			String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 			List<Map<String, Object>> tracks = soundWrappedService.getUserTracks();
 
@@ -389,7 +415,7 @@ public class SoundWrappedController {
 	@GetMapping("/artist/analytics")
 	public Map<String, Object> getArtistAnalytics() {
 		try {
-			Map<String, Object> profile = soundWrappedService.getUserProfile();
+			Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
 			String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
 			return artistAnalyticsService.getArtistAnalytics(userId);
@@ -517,26 +543,18 @@ public class SoundWrappedController {
 	@GetMapping("/debug/test-api")
 	public Map<String, Object> testSoundCloudAPI() {
 		try {
-			// Test basic API call - use reflection to get clientId since it's private
-			java.lang.reflect.Field clientIdField = soundWrappedService.getClass().getDeclaredField("clientId");
-			clientIdField.setAccessible(true);
-			String clientId = (String) clientIdField.get(soundWrappedService);
+			// Test basic API call with the app's client ID (no user token needed)
+			String clientId = soundWrappedService.getClientId();
 
 			String testUrl = "https://api.soundcloud.com/tracks?client_id=" + clientId + "&limit=1";
-			org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-			org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-			headers.set("User-Agent", "SoundWrapped/1.0");
-			headers.set("Accept", "application/json");
-			org.springframework.http.HttpEntity<String> request = new org.springframework.http.HttpEntity<String>(headers);
-
-			org.springframework.core.ParameterizedTypeReference<List<Map<String, Object>>> typeRef = 
-				new org.springframework.core.ParameterizedTypeReference<List<Map<String, Object>>>(){};
-			org.springframework.http.ResponseEntity<List<Map<String, Object>>> response = 
-				restTemplate.exchange(testUrl, org.springframework.http.HttpMethod.GET, request, typeRef);
+			ResponseEntity<Map<String, Object>> response = soundCloudClient.getForEntity(testUrl, null);
 
 			Map<String, Object> result = new HashMap<String, Object>();
 			result.put("status", "success");
-			List<Map<String, Object>> body = response.getBody();
+			Map<String, Object> responseBody = response.getBody();
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> body = responseBody != null
+				? (List<Map<String, Object>>) responseBody.get("collection") : null;
 			result.put("httpStatus", response.getStatusCode().toString());
 			result.put("tracksReturned", body != null ? body.size() : 0);
 			result.put("clientIdConfigured", clientId != null && !clientId.isEmpty());
@@ -568,6 +586,8 @@ public class SoundWrappedController {
 			soundWrappedService.getTokenStore().getAccessToken().length() : 0);
 		status.put("hasValidToken", soundWrappedService.getTokenStore().hasValidToken());
 		status.put("needsRefresh", soundWrappedService.getTokenStore().needsRefresh());
+		status.put("tokenStoreStats", soundWrappedService.getTokenStore().getStats());
+		status.put("appTokenStats", soundWrappedService.getAppTokenStats());
 
 		// Include expiration info if available
 		var tokenOpt = soundWrappedService.getTokenStore().getToken();
@@ -582,6 +602,20 @@ public class SoundWrappedController {
 		return status;
 	}
 
+
+	/**
+	 * Hit/miss statistics for the in-memory caches and the track-match index.
+	 *
+	 * @return Map of cache name to hits, misses, hit rate, evictions and size
+	 */
+	@GetMapping("/debug/caches")
+	public Map<String, Object> getCacheStats() {
+		Map<String, Object> stats = new HashMap<String, Object>(cacheAside.getStats());
+		stats.put("trackMatchIndex", trackMatchIndex.getStats());
+
+		return stats;
+	}
+
 	/**
 	 * Proactively refresh the access token.
 	 * This endpoint can be called by the browser extension or frontend
@@ -600,7 +634,7 @@ public class SoundWrappedController {
 				return result;
 			}
 
-			String newAccessToken = soundWrappedService.refreshAccessToken(refreshToken);
+			String newAccessToken = SoundCloudClient.await(soundWrappedService.refreshAccessTokenSingleFlight(null));
 			result.put("success", true);
 			result.put("message", "Token refreshed successfully");
 			result.put("hasAccessToken", newAccessToken != null);
@@ -1,8 +1,10 @@
 package com.soundwrapped.controller;
 
-import com.soundwrapped.service.ActivityTrackingService;
+import com.soundwrapped.exception.IngestionBusyException;
+import com.soundwrapped.service.ActivityIngestionService;
 import com.soundwrapped.service.SoundWrappedService;
 import com.soundwrapped.service.UserLocationService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Controller for receiving system-level media playback events.
@@ -19,17 +22,20 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/tracking")
 public class SystemPlaybackController {
-    private final ActivityTrackingService activityTrackingService;
+    private final ActivityIngestionService activityIngestionService;
     private final SoundWrappedService soundWrappedService;
     private final UserLocationService userLocationService;
+    private final Executor taskExecutor;
 
     public SystemPlaybackController(
-            ActivityTrackingService activityTrackingService,
+            ActivityIngestionService activityIngestionService,
             SoundWrappedService soundWrappedService,
-            UserLocationService userLocationService) {
-        this.activityTrackingService = activityTrackingService;
+            UserLocationService userLocationService,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.activityIngestionService = activityIngestionService;
         this.soundWrappedService = soundWrappedService;
         this.userLocationService = userLocationService;
+        this.taskExecutor = taskExecutor;
     }
     
     /**
@@ -72,7 +78,7 @@ public class SystemPlaybackController {
             System.out.println("[SystemPlayback] Received playback event: " + playbackEvent);
 
             // Get current user ID from profile
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
             System.out.println("[SystemPlayback] User ID: " + userId);
 
@@ -80,8 +86,8 @@ public class SystemPlaybackController {
             try {
                 String clientIp = getClientIpAddress(request);
 
-                // Update location in background (don't block playback tracking)
-                new Thread(() -> {
+                // Update location in background on the managed executor (don't block playback tracking)
+                taskExecutor.execute(() -> {
                     try {
                         userLocationService.updateUserLocation(userId, clientIp);
                         System.out.println("[SystemPlayback] ✅ Updated user location from IP: " + clientIp);
@@ -90,7 +96,7 @@ public class SystemPlaybackController {
                     catch (Exception e) {
                         System.out.println("[SystemPlayback] ⚠️ Failed to update location: " + e.getMessage());
                     }
-                }).start();
+                });
             }
 
             catch (Exception e) {
@@ -109,10 +115,11 @@ public class SystemPlaybackController {
             System.out.println("[SystemPlayback] Track ID: " + trackId);
             System.out.println("[SystemPlayback] Duration: " + durationMs + "ms (" + (durationMs / 1000) + "s)");
 
-            // Track the play event
+            // Queue the play event for batched persistence
             if (!trackId.isEmpty()) {
-                activityTrackingService.trackPlay(userId, trackId, durationMs);
-                System.out.println("[SystemPlayback] ✅ Successfully tracked play event");
+                activityIngestionService.submitPlay(userId, trackId, durationMs);
+
+                System.out.println("[SystemPlayback] ✅ Queued play event");
             }
 
             else
@@ -129,6 +136,10 @@ public class SystemPlaybackController {
             
         }
 
+        catch (IngestionBusyException e) {
+            throw e;
+        }
+
         catch (Exception e) {
             System.err.println("[SystemPlayback] ❌ Error tracking playback: " + e.getMessage());
             e.printStackTrace();
@@ -149,14 +160,14 @@ public class SystemPlaybackController {
             @RequestParam String trackId,
             HttpServletRequest request) {
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
             // Update location if needed (async)
             try {
                 String clientIp = getClientIpAddress(request);
 
-                new Thread(() -> {
+                taskExecutor.execute(() -> {
                     try {
                         userLocationService.updateUserLocation(userId, clientIp);
                     }
@@ -164,14 +175,14 @@ public class SystemPlaybackController {
                     catch (Exception e) {
                         // Silently fail
                     }
-                }).start();
+                });
             }
 
             catch (Exception e) {
                 // Silently fail
             }
 
-            activityTrackingService.trackLike(userId, trackId);
+            activityIngestionService.submitLike(userId, trackId);
 
             Map<String, Object> response = new HashMap<String, Object>();
             response.put("success", true);
@@ -180,6 +191,10 @@ public class SystemPlaybackController {
             return ResponseEntity.ok(response);
         }
 
+        catch (IngestionBusyException e) {
+            throw e;
+        }
+
         catch (Exception e) {
             Map<String, Object> error = new HashMap<String, Object>();
             error.put("success", false);
@@ -195,7 +210,7 @@ public class SystemPlaybackController {
     @PostMapping("/update-location")
     public ResponseEntity<Map<String, Object>> updateLocation(HttpServletRequest request) {
         try {
-            Map<String, Object> profile = soundWrappedService.getUserProfile();
+            Map<String, Object> profile = soundWrappedService.getCachedUserProfile();
             String userId = String.valueOf(profile.getOrDefault("id", "unknown"));
 
             String clientIp = getClientIpAddress(request);
@@ -226,6 +241,7 @@ public class SystemPlaybackController {
         response.put("status", "healthy");
         response.put("service", "System Playback Tracking");
         response.put("version", "1.0.0");
+        response.put("ingestion", activityIngestionService.getStats());
 
         return ResponseEntity.ok(response);
     }
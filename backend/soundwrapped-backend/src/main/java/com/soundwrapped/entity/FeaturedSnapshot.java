@@ -0,0 +1,66 @@
+package com.soundwrapped.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed featured content (Genre, Song and Artist of the Day plus the
+ * Buzzing track) for one calendar day, stored as JSON so picks survive restarts.
+ */
+@Entity
+@Table(name = "featured_snapshots")
+public class FeaturedSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private LocalDate featureDate;
+
+    // Section name -> section content, as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String contentJson;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        computedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getFeatureDate() {
+        return featureDate;
+    }
+
+    public void setFeatureDate(LocalDate featureDate) {
+        this.featureDate = featureDate;
+    }
+
+    public String getContentJson() {
+        return contentJson;
+    }
+
+    public void setContentJson(String contentJson) {
+        this.contentJson = contentJson;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
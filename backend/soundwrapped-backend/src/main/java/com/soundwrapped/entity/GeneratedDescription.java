@@ -0,0 +1,91 @@
+package com.soundwrapped.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A finished AI description of an artist or genre.
+ * <p>
+ * Keyed by the normalized entity name, the entity type ("music artist" /
+ * "music genre") and the version of the prompt that produced it, so a prompt
+ * change is picked up by bumping the version rather than by clearing rows.
+ * </p>
+ */
+@Entity
+@Table(name = "generated_descriptions",
+    uniqueConstraints = @UniqueConstraint(name = "uk_description_key",
+        columnNames = {"entity_name", "entity_type", "prompt_version"}))
+public class GeneratedDescription {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_name", nullable = false, length = 512)
+    private String entityName;
+
+    @Column(name = "entity_type", nullable = false, length = 64)
+    private String entityType;
+
+    @Column(name = "prompt_version", nullable = false)
+    private int promptVersion;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public int getPromptVersion() {
+        return promptVersion;
+    }
+
+    public void setPromptVersion(int promptVersion) {
+        this.promptVersion = promptVersion;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
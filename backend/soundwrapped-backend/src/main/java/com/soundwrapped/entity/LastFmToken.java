@@ -29,14 +29,20 @@ public class LastFmToken {
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
-    private LocalDateTime lastSyncAt; // Last time we synced scrobbles from Last.fm
+    private LocalDateTime lastSyncAt; // Scrobbles up to this time have been imported
+
+    @Column
+    private LocalDateTime importWindowEnd; // Upper bound of the import in progress, null when idle
+
+    @Column
+    private LocalDateTime importCursor; // Next page of the import ends here (pages go newest → oldest)
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
 
         if (lastSyncAt == null)
-            lastSyncAt = LocalDateTime.now().minusDays(1); // Start from 1 day ago
+            lastSyncAt = LocalDateTime.ofInstant(java.time.Instant.EPOCH, java.time.ZoneId.systemDefault()); // Import full history on first sync (same zone the importer converts with)
     }
 
     // Getters and Setters
@@ -87,4 +93,20 @@ public class LastFmToken {
     public void setLastSyncAt(LocalDateTime lastSyncAt) {
         this.lastSyncAt = lastSyncAt;
     }
+
+    public LocalDateTime getImportWindowEnd() {
+        return importWindowEnd;
+    }
+
+    public void setImportWindowEnd(LocalDateTime importWindowEnd) {
+        this.importWindowEnd = importWindowEnd;
+    }
+
+    public LocalDateTime getImportCursor() {
+        return importCursor;
+    }
+
+    public void setImportCursor(LocalDateTime importCursor) {
+        this.importCursor = importCursor;
+    }
 }
\ No newline at end of file
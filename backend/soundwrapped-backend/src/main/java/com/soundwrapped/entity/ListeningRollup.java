@@ -0,0 +1,110 @@
+package com.soundwrapped.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Hourly per-user aggregate of {@link UserActivity} rows.
+ * <p>
+ * One row per user per hour with any activity. Day-level and hour-of-day
+ * analytics sum these rows instead of loading raw activities. Maintained by
+ * {@code ListeningRollupService} in the same transaction as the activity
+ * inserts, and rebuildable from {@code user_activities} via backfill.
+ * </p>
+ */
+@Entity
+@Table(name = "listening_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rollup_user_bucket", columnNames = {"soundcloud_user_id", "bucket_start"})
+})
+public class ListeningRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String soundcloudUserId;
+
+    // Start of the hour this row aggregates (server-local time, like UserActivity.createdAt)
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long plays;
+
+    @Column(nullable = false)
+    private long listeningMs;
+
+    @Column(nullable = false)
+    private long likes;
+
+    @Column(nullable = false)
+    private long reposts;
+
+    @Column(nullable = false)
+    private long shares;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSoundcloudUserId() {
+        return soundcloudUserId;
+    }
+
+    public void setSoundcloudUserId(String soundcloudUserId) {
+        this.soundcloudUserId = soundcloudUserId;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getPlays() {
+        return plays;
+    }
+
+    public void setPlays(long plays) {
+        this.plays = plays;
+    }
+
+    public long getListeningMs() {
+        return listeningMs;
+    }
+
+    public void setListeningMs(long listeningMs) {
+        this.listeningMs = listeningMs;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+
+    public void setLikes(long likes) {
+        this.likes = likes;
+    }
+
+    public long getReposts() {
+        return reposts;
+    }
+
+    public void setReposts(long reposts) {
+        this.reposts = reposts;
+    }
+
+    public long getShares() {
+        return shares;
+    }
+
+    public void setShares(long shares) {
+        this.shares = shares;
+    }
+}
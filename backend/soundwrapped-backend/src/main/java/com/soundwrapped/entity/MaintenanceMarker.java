@@ -0,0 +1,36 @@
+package com.soundwrapped.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Records that a one-time data maintenance step (e.g. a rollup backfill) has
+ * completed, so it is not repeated on later startups or other instances.
+ */
+@Entity
+@Table(name = "maintenance_markers")
+public class MaintenanceMarker {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+    protected MaintenanceMarker() {
+    }
+
+    public MaintenanceMarker(String name) {
+        this.name = name;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.soundwrapped.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted result of matching a Last.fm artist + title to a SoundCloud track.
+ * <p>
+ * Keyed by the normalized {@code artist|title}. A null {@code soundcloudTrackId}
+ * is a negative entry: SoundCloud was searched and had no confident match.
+ * Negative entries are re-searched once they are older than the configured TTL.
+ * </p>
+ */
+@Entity
+@Table(name = "track_matches")
+public class TrackMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Normalized "artist|title"
+    @Column(nullable = false, unique = true, length = 1024)
+    private String matchKey;
+
+    @Column
+    private String soundcloudTrackId;
+
+    @Column(nullable = false)
+    private LocalDateTime checkedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        if (checkedAt == null)
+            checkedAt = LocalDateTime.now();
+    }
+
+    public boolean isNegative() {
+        return soundcloudTrackId == null;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMatchKey() {
+        return matchKey;
+    }
+
+    public void setMatchKey(String matchKey) {
+        this.matchKey = matchKey;
+    }
+
+    public String getSoundcloudTrackId() {
+        return soundcloudTrackId;
+    }
+
+    public void setSoundcloudTrackId(String soundcloudTrackId) {
+        this.soundcloudTrackId = soundcloudTrackId;
+    }
+
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(LocalDateTime checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+}
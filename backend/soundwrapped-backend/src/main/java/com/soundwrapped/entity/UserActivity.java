@@ -14,11 +14,17 @@ import java.time.LocalDateTime;
     @Index(name = "idx_activity_type_date", columnList = "activityType,createdAt"),
     @Index(name = "idx_source", columnList = "source"),
     @Index(name = "idx_created_at", columnList = "createdAt"),
-    @Index(name = "idx_user_type_date", columnList = "soundcloudUserId,activityType,createdAt")
+    @Index(name = "idx_user_type_date", columnList = "soundcloudUserId,activityType,createdAt"),
+    @Index(name = "idx_track_type_date", columnList = "trackId,activityType,createdAt"),
+    @Index(name = "idx_user_date_id", columnList = "soundcloudUserId,createdAt,id")
 })
 public class UserActivity {
+    // Pooled sequence ids let Hibernate batch inserts (IDENTITY forces one round-trip per row)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_activities_seq")
+    @SequenceGenerator(name = "user_activities_seq", sequenceName = "user_activities_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,140 @@
+package com.soundwrapped.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted "Wrapped" summary for one user, stored per section with the input
+ * watermarks each section was computed from.
+ * <p>
+ * Sections: profile (SoundCloud profile counts), activity (tracked plays and
+ * likes in {@code user_activities}) and library (likes, tracks, playlists and
+ * followers fetched from SoundCloud). A section is recomputed only when its
+ * watermark moves or its staleness window expires.
+ * </p>
+ */
+@Entity
+@Table(name = "wrapped_snapshots")
+public class WrappedSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String soundcloudUserId;
+
+    // Raw summary (merged sections) as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String rawJson;
+
+    // Formatted /wrapped/full response as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String formattedJson;
+
+    @Column
+    private LocalDateTime profileComputedAt;
+
+    @Column
+    private LocalDateTime activityComputedAt;
+
+    @Column
+    private LocalDateTime libraryComputedAt;
+
+    // Highest user_activities id included in the activity section
+    @Column
+    private Long activityWatermark;
+
+    // Profile counts (favorites/tracks/playlists/followers) the library section was computed from
+    @Column
+    private String libraryWatermark;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUpdated;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        lastUpdated = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSoundcloudUserId() {
+        return soundcloudUserId;
+    }
+
+    public void setSoundcloudUserId(String soundcloudUserId) {
+        this.soundcloudUserId = soundcloudUserId;
+    }
+
+    public String getRawJson() {
+        return rawJson;
+    }
+
+    public void setRawJson(String rawJson) {
+        this.rawJson = rawJson;
+    }
+
+    public String getFormattedJson() {
+        return formattedJson;
+    }
+
+    public void setFormattedJson(String formattedJson) {
+        this.formattedJson = formattedJson;
+    }
+
+    public LocalDateTime getProfileComputedAt() {
+        return profileComputedAt;
+    }
+
+    public void setProfileComputedAt(LocalDateTime profileComputedAt) {
+        this.profileComputedAt = profileComputedAt;
+    }
+
+    public LocalDateTime getActivityComputedAt() {
+        return activityComputedAt;
+    }
+
+    public void setActivityComputedAt(LocalDateTime activityComputedAt) {
+        this.activityComputedAt = activityComputedAt;
+    }
+
+    public LocalDateTime getLibraryComputedAt() {
+        return libraryComputedAt;
+    }
+
+    public void setLibraryComputedAt(LocalDateTime libraryComputedAt) {
+        this.libraryComputedAt = libraryComputedAt;
+    }
+
+    public Long getActivityWatermark() {
+        return activityWatermark;
+    }
+
+    public void setActivityWatermark(Long activityWatermark) {
+        this.activityWatermark = activityWatermark;
+    }
+
+    public String getLibraryWatermark() {
+        return libraryWatermark;
+    }
+
+    public void setLibraryWatermark(String libraryWatermark) {
+        this.libraryWatermark = libraryWatermark;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+}
@@ -1,7 +1,7 @@
 package com.soundwrapped.exception;
 
 /**
- * Thrown when an API request to SoundCloud fails
+ * Thrown when an API request to SoundCloud (or another upstream API) fails
  * for reasons unrelated to OAuth token exchange/refresh.
  */
 public class ApiRequestException extends RuntimeException {
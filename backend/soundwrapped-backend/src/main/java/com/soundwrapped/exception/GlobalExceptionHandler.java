@@ -73,6 +73,22 @@ public class GlobalExceptionHandler {
 				are);
 	}
 
+	@ExceptionHandler(IngestionBusyException.class)
+	public ResponseEntity<ErrorResponse> handleIngestionBusy(
+			IngestionBusyException ibe,
+			HttpServletRequest request) {
+		ResponseEntity<ErrorResponse> response = buildErrorResponse(
+				HttpStatus.SERVICE_UNAVAILABLE,
+				"Tracking queue busy",
+				ibe.getMessage(),
+				request,
+				ibe);
+
+		return ResponseEntity.status(response.getStatusCode())
+				.header("Retry-After", "1")
+				.body(response.getBody());
+	}
+
 	//Fallback for any other uncaught exceptions
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErrorResponse> handleGeneral(
@@ -0,0 +1,13 @@
+package com.soundwrapped.exception;
+
+/**
+ * Thrown when the activity ingestion queue is full or shutting down;
+ * clients should retry shortly.
+ */
+public class IngestionBusyException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public IngestionBusyException(String message) {
+		super(message);
+	}
+}
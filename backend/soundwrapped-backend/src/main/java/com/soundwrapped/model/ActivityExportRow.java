@@ -0,0 +1,23 @@
+package com.soundwrapped.model;
+
+import com.soundwrapped.entity.UserActivity;
+import java.time.LocalDateTime;
+
+/**
+ * One exported {@link UserActivity}, read as a constructor projection so that
+ * streamed rows never enter the persistence context.
+ */
+public record ActivityExportRow(
+		Long id,
+		String trackId,
+		UserActivity.ActivityType activityType,
+		Long playDurationMs,
+		UserActivity.ActivitySource source,
+		String matchedSoundCloudTrackId,
+		String lastFmArtist,
+		String lastFmTrack,
+		LocalDateTime createdAt) {
+
+	public static final String CSV_HEADER =
+			"id,trackId,activityType,playDurationMs,source,matchedSoundCloudTrackId,lastFmArtist,lastFmTrack,createdAt";
+}
@@ -0,0 +1,27 @@
+package com.soundwrapped.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of Last.fm {@code user.getRecentTracks}: the raw {@code track}
+ * rows and the page count from {@code recenttracks.@attr}.
+ *
+ * @param tracks     Raw track maps, including any "now playing" row
+ * @param totalPages Pages in the requested window, or 0 if the response did not say
+ */
+public record LastFmRecentTracksPage(List<Map<String, Object>> tracks, int totalPages) {
+
+	public LastFmRecentTracksPage {
+		tracks = tracks != null ? tracks : List.of();
+	}
+
+	/**
+	 * Whether older scrobbles remain in the window after this page. Without
+	 * {@code @attr}, a page with as many raw rows as were asked for is assumed
+	 * not to be the last.
+	 */
+	public boolean hasMore(int limit) {
+		return totalPages > 0 ? totalPages > 1 : tracks.size() >= limit;
+	}
+}
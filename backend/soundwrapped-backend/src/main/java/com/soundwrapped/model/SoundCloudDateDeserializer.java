@@ -0,0 +1,43 @@
+package com.soundwrapped.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses SoundCloud {@code created_at} values once, at decode time.
+ * Accepts the API's {@code "2013/03/23 14:58:27 +0000"} format as well as
+ * ISO-8601; anything else decodes to {@code null} rather than failing the page.
+ */
+public class SoundCloudDateDeserializer extends JsonDeserializer<Instant> {
+	private static final DateTimeFormatter SOUNDCLOUD_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss Z");
+
+	@Override
+	public Instant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		return parse(parser.getValueAsString());
+	}
+
+	public static Instant parse(String value) {
+		if (value == null || value.isBlank())
+			return null;
+
+		try {
+			return OffsetDateTime.parse(value, SOUNDCLOUD_FORMAT).toInstant();
+		}
+
+		catch (DateTimeParseException e) {
+			try {
+				return OffsetDateTime.parse(value).toInstant();
+			}
+
+			catch (DateTimeParseException iso) {
+				return null;
+			}
+		}
+	}
+}
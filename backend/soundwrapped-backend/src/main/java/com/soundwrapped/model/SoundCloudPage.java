@@ -0,0 +1,46 @@
+package com.soundwrapped.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a {@code linked_partitioning} SoundCloud collection.
+ *
+ * @param <T> Item type
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SoundCloudPage<T>(
+		@JsonProperty("collection") List<T> collection,
+		@JsonProperty("next_href") String nextHref) {
+
+	public SoundCloudPage {
+		collection = collection != null ? collection : List.of();
+	}
+
+	/**
+	 * Adapts an untyped response body (as returned by {@code SoundCloudClient.getAsync})
+	 * to a page of maps.
+	 */
+	public static SoundCloudPage<Map<String, Object>> fromResponse(Map<String, Object> response) {
+		List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+		Object collection = response != null ? response.get("collection") : null;
+
+		if (collection instanceof List<?> list) {
+			for (Object item : list) {
+				if (item instanceof Map<?, ?>) {
+					@SuppressWarnings("unchecked")
+					Map<String, Object> map = (Map<String, Object>) item;
+					items.add(map);
+				}
+			}
+		}
+
+		Object nextHref = response != null ? response.get("next_href") : null;
+
+		return new SoundCloudPage<Map<String, Object>>(items,
+				nextHref instanceof String next && !next.isBlank() ? next : null);
+	}
+}
@@ -0,0 +1,36 @@
+package com.soundwrapped.model;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.time.Instant;
+
+/**
+ * Compact SoundCloud track, decoded directly from the API response.
+ * Counters are primitives (missing values decode to 0) so comparators need
+ * no casts or unboxing, and {@code created_at} is parsed once at decode time.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SoundCloudTrack(
+		@JsonProperty("id") Long id,
+		@JsonProperty("title") String title,
+		@JsonProperty("user") SoundCloudUser user,
+		@JsonProperty("duration") long duration,
+		@JsonProperty("playback_count") long playbackCount,
+		@JsonProperty("likes_count") @JsonAlias("favoritings_count") long likesCount,
+		@JsonProperty("reposts_count") long repostsCount,
+		@JsonProperty("genre") String genre,
+		@JsonProperty("genre_family") String genreFamily,
+		@JsonProperty("tag_list") String tagList,
+		@JsonProperty("artwork_url") String artworkUrl,
+		@JsonProperty("permalink_url") String permalinkUrl,
+		@JsonProperty("created_at") @JsonDeserialize(using = SoundCloudDateDeserializer.class) Instant createdAt) {
+
+	/**
+	 * Uploader's username, or {@code null} if the track has no user.
+	 */
+	public String artistName() {
+		return user != null ? user.username() : null;
+	}
+}
@@ -0,0 +1,22 @@
+package com.soundwrapped.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.time.Instant;
+
+/**
+ * Compact SoundCloud user (or track/playlist owner), decoded directly from the
+ * API response. Only the fields the app reads are kept.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SoundCloudUser(
+		@JsonProperty("id") Long id,
+		@JsonProperty("username") String username,
+		@JsonProperty("full_name") String fullName,
+		@JsonProperty("avatar_url") String avatarUrl,
+		@JsonProperty("permalink_url") String permalinkUrl,
+		@JsonProperty("followers_count") int followersCount,
+		@JsonProperty("followings_count") int followingsCount,
+		@JsonProperty("created_at") @JsonDeserialize(using = SoundCloudDateDeserializer.class) Instant createdAt) {
+}
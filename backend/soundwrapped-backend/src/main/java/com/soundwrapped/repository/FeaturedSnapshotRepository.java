@@ -0,0 +1,28 @@
+package com.soundwrapped.repository;
+
+import com.soundwrapped.entity.FeaturedSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FeaturedSnapshotRepository extends JpaRepository<FeaturedSnapshot, Long> {
+
+    /**
+     * Find the featured content stored for a day
+     */
+    Optional<FeaturedSnapshot> findByFeatureDate(LocalDate featureDate);
+
+    /**
+     * Snapshots from a day onwards (today and any precomputed future days)
+     */
+    List<FeaturedSnapshot> findByFeatureDateGreaterThanEqualOrderByFeatureDate(LocalDate featureDate);
+
+    /**
+     * Most recent snapshot, served when today's has not been computed yet
+     */
+    Optional<FeaturedSnapshot> findFirstByFeatureDateLessThanEqualOrderByFeatureDateDesc(LocalDate featureDate);
+}
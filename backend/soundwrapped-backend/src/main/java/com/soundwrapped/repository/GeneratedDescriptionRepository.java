@@ -0,0 +1,14 @@
+package com.soundwrapped.repository;
+
+import com.soundwrapped.entity.GeneratedDescription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GeneratedDescriptionRepository extends JpaRepository<GeneratedDescription, Long> {
+
+    Optional<GeneratedDescription> findByEntityNameAndEntityTypeAndPromptVersion(
+        String entityName, String entityType, int promptVersion);
+}
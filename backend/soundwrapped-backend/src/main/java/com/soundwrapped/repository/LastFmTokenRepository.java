@@ -4,6 +4,7 @@ import com.soundwrapped.entity.LastFmToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +12,6 @@ public interface LastFmTokenRepository extends JpaRepository<LastFmToken, Long>
     Optional<LastFmToken> findBySoundcloudUserId(String soundcloudUserId);
     Optional<LastFmToken> findByLastFmUsername(String lastFmUsername);
     void deleteBySoundcloudUserId(String soundcloudUserId);
+    List<LastFmToken> findAllByOrderByLastSyncAtAsc();
 }
 
@@ -0,0 +1,46 @@
+package com.soundwrapped.repository;
+
+import com.soundwrapped.entity.ListeningRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ListeningRollupRepository extends JpaRepository<ListeningRollup, Long> {
+
+    /**
+     * Summed counters over a window of hourly buckets
+     */
+    interface RollupTotals {
+        long getPlays();
+        long getListeningMs();
+        long getLikes();
+        long getReposts();
+        long getShares();
+    }
+
+    /**
+     * Hourly rollup rows for a user within a date range (at most 24 per active day)
+     */
+    List<ListeningRollup> findBySoundcloudUserIdAndBucketStartBetweenOrderByBucketStart(
+        String soundcloudUserId,
+        LocalDateTime startBucket,
+        LocalDateTime endBucket
+    );
+
+    /**
+     * Sum all counters for a user within a date range in one query
+     */
+    @Query("SELECT COALESCE(SUM(r.plays), 0) AS plays, COALESCE(SUM(r.listeningMs), 0) AS listeningMs, " +
+           "COALESCE(SUM(r.likes), 0) AS likes, COALESCE(SUM(r.reposts), 0) AS reposts, " +
+           "COALESCE(SUM(r.shares), 0) AS shares " +
+           "FROM ListeningRollup r " +
+           "WHERE r.soundcloudUserId = :userId AND r.bucketStart BETWEEN :startBucket AND :endBucket")
+    RollupTotals sumTotals(@Param("userId") String userId,
+                           @Param("startBucket") LocalDateTime startBucket,
+                           @Param("endBucket") LocalDateTime endBucket);
+}
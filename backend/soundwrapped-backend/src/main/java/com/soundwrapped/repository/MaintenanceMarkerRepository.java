@@ -0,0 +1,9 @@
+package com.soundwrapped.repository;
+
+import com.soundwrapped.entity.MaintenanceMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MaintenanceMarkerRepository extends JpaRepository<MaintenanceMarker, String> {
+}
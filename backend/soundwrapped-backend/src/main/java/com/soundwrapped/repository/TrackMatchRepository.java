@@ -0,0 +1,23 @@
+package com.soundwrapped.repository;
+
+import com.soundwrapped.entity.TrackMatch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TrackMatchRepository extends JpaRepository<TrackMatch, Long> {
+
+    /**
+     * Bulk lookup for a whole scrobble batch in one query
+     */
+    List<TrackMatch> findByMatchKeyIn(Collection<String> matchKeys);
+
+    /**
+     * Most recently confirmed positive matches, used to warm the in-memory front
+     */
+    List<TrackMatch> findBySoundcloudTrackIdIsNotNullOrderByCheckedAtDesc(Pageable pageable);
+}
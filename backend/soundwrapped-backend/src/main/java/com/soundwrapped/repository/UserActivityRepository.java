@@ -1,16 +1,44 @@
 package com.soundwrapped.repository;
 
 import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.model.ActivityExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserActivityRepository extends JpaRepository<UserActivity, Long> {
+
+    /**
+     * All per-user activity counters for a window, computed in one query
+     */
+    interface ActivitySummary {
+        long getPlays();
+        long getListeningMs();
+        long getLikes();
+        long getReposts();
+        long getShares();
+        long getDistinctTracks();
+    }
+
+    /**
+     * A track and how often one activity type occurred on it
+     */
+    interface TrackCount {
+        String getTrackId();
+        long getCount();
+    }
     
     /**
      * Find all activities for a user within a date range
@@ -26,6 +54,12 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
      */
     long countBySoundcloudUserIdAndActivityType(String soundcloudUserId, UserActivity.ActivityType activityType);
 
+    /**
+     * Highest activity id recorded for a user (watermark for derived snapshots)
+     */
+    @Query("SELECT MAX(u.id) FROM UserActivity u WHERE u.soundcloudUserId = :userId")
+    Long findMaxIdBySoundcloudUserId(@Param("userId") String userId);
+
     /**
      * Get total play duration in milliseconds for a user within date range
      */
@@ -36,20 +70,6 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
                                  @Param("startDate") LocalDateTime startDate,
                                  @Param("endDate") LocalDateTime endDate);
 
-    /**
-     * Get most played tracks for a user
-     */
-    @Query("SELECT u.trackId, COUNT(u) as playCount " +
-           "FROM UserActivity u " +
-           "WHERE u.soundcloudUserId = :userId AND u.activityType = 'PLAY' " +
-           "AND u.createdAt BETWEEN :startDate AND :endDate " +
-           "GROUP BY u.trackId " +
-           // JPQL doesn't reliably allow ordering by a SELECT alias, so order by COUNT(u) directly.
-           "ORDER BY COUNT(u) DESC")
-    List<Object[]> getMostPlayedTracks(@Param("userId") String userId,
-                                        @Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate);
-
     /**
      * Get activity count by type for a user
      */
@@ -80,12 +100,112 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     long countDistinctActiveUsersSince(@Param("since") LocalDateTime since);
 
     /**
-     * Check if an activity already exists (to avoid duplicates from Last.fm syncing)
+     * (trackId, createdAt) of every activity of one type in a time window.
+     * Lets Last.fm sync dedupe a whole page with one query on idx_user_type_date.
      */
-    boolean existsBySoundcloudUserIdAndTrackIdAndActivityTypeAndCreatedAt(
-        String soundcloudUserId,
-        String trackId,
-        UserActivity.ActivityType activityType,
-        LocalDateTime createdAt
-    );
+    @Query("SELECT u.trackId, u.createdAt FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId AND u.activityType = :activityType " +
+           "AND u.createdAt BETWEEN :startDate AND :endDate")
+    List<Object[]> findTrackIdsAndTimestampsInWindow(@Param("userId") String userId,
+                                                     @Param("activityType") UserActivity.ActivityType activityType,
+                                                     @Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * (trackId, earliest createdAt) per track for one activity type in a window
+     */
+    @Query("SELECT u.trackId, MIN(u.createdAt) FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId AND u.activityType = :activityType " +
+           "AND u.createdAt BETWEEN :startDate AND :endDate " +
+           "GROUP BY u.trackId")
+    List<Object[]> findFirstTimestampPerTrack(@Param("userId") String userId,
+                                              @Param("activityType") UserActivity.ActivityType activityType,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * (trackId, latest createdAt) per track for one activity type in a window
+     */
+    @Query("SELECT u.trackId, MAX(u.createdAt) FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId AND u.activityType = :activityType " +
+           "AND u.createdAt BETWEEN :startDate AND :endDate " +
+           "GROUP BY u.trackId")
+    List<Object[]> findLatestTimestampPerTrack(@Param("userId") String userId,
+                                               @Param("activityType") UserActivity.ActivityType activityType,
+                                               @Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Distinct track ids a user acted on with one activity type in a window
+     */
+    @Query("SELECT DISTINCT u.trackId FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId AND u.activityType = :activityType " +
+           "AND u.createdAt BETWEEN :startDate AND :endDate")
+    List<String> findDistinctTrackIds(@Param("userId") String userId,
+                                      @Param("activityType") UserActivity.ActivityType activityType,
+                                      @Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * (soundcloudUserId, count) of one activity type on any of the given tracks in a window,
+     * most active first. Served by idx_track_type_date; summing the counts gives the total.
+     */
+    @Query("SELECT u.soundcloudUserId, COUNT(u) FROM UserActivity u " +
+           "WHERE u.trackId IN :trackIds AND u.activityType = :activityType " +
+           "AND u.createdAt BETWEEN :startDate AND :endDate " +
+           "GROUP BY u.soundcloudUserId " +
+           "ORDER BY COUNT(u) DESC")
+    List<Object[]> countByListenerForTracks(@Param("trackIds") Collection<String> trackIds,
+                                            @Param("activityType") UserActivity.ActivityType activityType,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Counts, listening time and distinct tracks played for a user within a date range
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN u.activityType = 'PLAY' THEN 1 ELSE 0 END), 0) AS plays, " +
+           "COALESCE(SUM(CASE WHEN u.activityType = 'PLAY' THEN u.playDurationMs ELSE 0 END), 0) AS listeningMs, " +
+           "COALESCE(SUM(CASE WHEN u.activityType = 'LIKE' THEN 1 ELSE 0 END), 0) AS likes, " +
+           "COALESCE(SUM(CASE WHEN u.activityType = 'REPOST' THEN 1 ELSE 0 END), 0) AS reposts, " +
+           "COALESCE(SUM(CASE WHEN u.activityType = 'SHARE' THEN 1 ELSE 0 END), 0) AS shares, " +
+           "COUNT(DISTINCT CASE WHEN u.activityType = 'PLAY' THEN u.trackId END) AS distinctTracks " +
+           "FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId AND u.createdAt BETWEEN :startDate AND :endDate")
+    ActivitySummary getActivitySummary(@Param("userId") String userId,
+                                       @Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Tracks with the most activities of one type for a user, limited by the pageable
+     */
+    @Query("SELECT u.trackId AS trackId, COUNT(u) AS count " +
+           "FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId AND u.activityType = :activityType " +
+           "AND u.createdAt BETWEEN :startDate AND :endDate " +
+           "GROUP BY u.trackId " +
+           "ORDER BY COUNT(u) DESC")
+    List<TrackCount> findTopTracks(@Param("userId") String userId,
+                                   @Param("activityType") UserActivity.ActivityType activityType,
+                                   @Param("startDate") LocalDateTime startDate,
+                                   @Param("endDate") LocalDateTime endDate,
+                                   Pageable pageable);
+
+    /**
+     * Next keyset page of a user's activity ordered by (createdAt, id), strictly after the given key.
+     * Must be consumed inside a transaction; rows are fetched from the cursor in batches.
+     * The redundant {@code createdAt >=} bound lets each page start as a range scan on
+     * idx_user_date_id instead of re-reading the user's earlier rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.soundwrapped.model.ActivityExportRow(u.id, u.trackId, u.activityType, u.playDurationMs, " +
+           "u.source, u.matchedSoundCloudTrackId, u.lastFmArtist, u.lastFmTrack, u.createdAt) " +
+           "FROM UserActivity u " +
+           "WHERE u.soundcloudUserId = :userId " +
+           "AND u.createdAt >= :afterCreatedAt " +
+           "AND (u.createdAt > :afterCreatedAt OR (u.createdAt = :afterCreatedAt AND u.id > :afterId)) " +
+           "ORDER BY u.createdAt, u.id")
+    Stream<ActivityExportRow> streamExportPage(@Param("userId") String userId,
+                                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                               @Param("afterId") Long afterId,
+                                               Limit limit);
 }
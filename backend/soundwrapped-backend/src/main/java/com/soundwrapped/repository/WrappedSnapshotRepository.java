@@ -0,0 +1,16 @@
+package com.soundwrapped.repository;
+
+import com.soundwrapped.entity.WrappedSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WrappedSnapshotRepository extends JpaRepository<WrappedSnapshot, Long> {
+    
+    /**
+     * Find the stored Wrapped snapshot for a user
+     */
+    Optional<WrappedSnapshot> findBySoundcloudUserId(String soundcloudUserId);
+}
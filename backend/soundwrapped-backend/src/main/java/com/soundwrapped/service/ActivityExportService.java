@@ -0,0 +1,142 @@
+package com.soundwrapped.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.model.ActivityExportRow;
+import com.soundwrapped.repository.UserActivityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's raw activity history as NDJSON or CSV.
+ * <p>
+ * Rows are read in keyset pages on {@code (createdAt, id)}. Each page runs in
+ * its own short read-only transaction and is consumed from a cursor with a
+ * fixed fetch size, and every row is written to the output as soon as it is
+ * read. Memory use is bounded by one fetch batch and no transaction stays open
+ * between pages while the client downloads the export.
+ * </p>
+ */
+@Service
+public class ActivityExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // Lower bound for the first keyset page; predates any stored activity
+    private static final LocalDateTime EXPORT_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    private record PageResult(int rows, ActivityExportRow last) {}
+
+    private final UserActivityRepository activityRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Value("${soundwrapped.export.page-size:5000}")
+    private int pageSize = 5000;
+
+    public ActivityExportService(
+            UserActivityRepository activityRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.activityRepository = activityRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every activity of the user to {@code output}, oldest first.
+     *
+     * @return Number of rows written
+     */
+    public long export(String soundcloudUserId, Format format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        LocalDateTime afterCreatedAt = EXPORT_START;
+        long afterId = Long.MIN_VALUE;
+        long total = 0;
+
+        if (format == Format.CSV)
+            writer.write(ActivityExportRow.CSV_HEADER + "\n");
+
+        try {
+            while (true) {
+                PageResult page = writePage(soundcloudUserId, afterCreatedAt, afterId, format, writer);
+                total += page.rows();
+                writer.flush();
+
+                if (page.rows() < pageSize)
+                    break;
+
+                afterCreatedAt = page.last().createdAt();
+                afterId = page.last().id();
+            }
+        }
+
+        catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        }
+
+        writer.flush();
+        System.out.println("[ActivityExport] Exported " + total + " activities for user " + soundcloudUserId
+            + " as " + format + " in " + (System.currentTimeMillis() - start) + "ms");
+
+        return total;
+    }
+
+    private PageResult writePage(String soundcloudUserId, LocalDateTime afterCreatedAt, long afterId,
+                                 Format format, Writer writer) {
+        return readOnlyTransaction.execute(status -> {
+            int rows = 0;
+            ActivityExportRow last = null;
+
+            try (Stream<ActivityExportRow> page = activityRepository.streamExportPage(
+                    soundcloudUserId, afterCreatedAt, afterId, Limit.of(pageSize))) {
+                Iterator<ActivityExportRow> iterator = page.iterator();
+
+                while (iterator.hasNext()) {
+                    last = iterator.next();
+                    writer.write(format == Format.CSV ? toCsv(last) : objectMapper.writeValueAsString(last));
+                    writer.write('\n');
+                    rows++;
+                }
+            }
+
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return new PageResult(rows, last);
+        });
+    }
+
+    private static String toCsv(ActivityExportRow row) {
+        return String.join(",",
+            csvField(row.id()),
+            csvField(row.trackId()),
+            csvField(row.activityType()),
+            csvField(row.playDurationMs()),
+            csvField(row.source()),
+            csvField(row.matchedSoundCloudTrackId()),
+            csvField(row.lastFmArtist()),
+            csvField(row.lastFmTrack()),
+            csvField(row.createdAt()));
+    }
+
+    private static String csvField(Object value) {
+        return CsvFields.quote(value == null ? null : value.toString());
+    }
+}
@@ -0,0 +1,289 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.exception.IngestionBusyException;
+import com.soundwrapped.repository.UserActivityRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind ingestion stage for high-volume activity events
+ * (browser-extension plays and likes).
+ * <p>
+ * Events are accepted into a bounded in-memory queue and acknowledged
+ * immediately. A flush writes them in JDBC batches inside a single
+ * transaction whenever the queue reaches {@code batch-size} or every
+ * {@code flush-interval-ms}, whichever comes first. When the queue is full,
+ * {@link #submit(UserActivity)} returns {@code false} and the play/like
+ * helpers throw {@link IngestionBusyException}, which the web layer turns
+ * into a 503 with {@code Retry-After}. The queue is drained on shutdown.
+ * </p>
+ */
+@Service
+public class ActivityIngestionService implements SmartInitializingSingleton {
+
+    private final UserActivityRepository activityRepository;
+    private final ListeningRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor taskExecutor;
+    private final BlockingQueue<UserActivity> queue;
+    private final int batchSize;
+
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private volatile boolean accepting = true;
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong persistedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    public ActivityIngestionService(
+            UserActivityRepository activityRepository,
+            ListeningRollupService rollupService,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+            @Value("${soundwrapped.ingestion.queue-capacity:10000}") int queueCapacity,
+            @Value("${soundwrapped.ingestion.batch-size:50}") int batchSize) {
+        this.activityRepository = activityRepository;
+        this.rollupService = rollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+        this.queue = new ArrayBlockingQueue<UserActivity>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a play event.
+     *
+     * @throws IngestionBusyException if the queue is full or shutting down
+     */
+    public void submitPlay(String soundcloudUserId, String trackId, Long durationMs) {
+        UserActivity activity = new UserActivity();
+        activity.setSoundcloudUserId(soundcloudUserId);
+        activity.setTrackId(trackId);
+        activity.setActivityType(UserActivity.ActivityType.PLAY);
+        activity.setPlayDurationMs(durationMs);
+
+        submitOrThrow(activity);
+    }
+
+    /**
+     * Queue a like event.
+     *
+     * @throws IngestionBusyException if the queue is full or shutting down
+     */
+    public void submitLike(String soundcloudUserId, String trackId) {
+        UserActivity activity = new UserActivity();
+        activity.setSoundcloudUserId(soundcloudUserId);
+        activity.setTrackId(trackId);
+        activity.setActivityType(UserActivity.ActivityType.LIKE);
+
+        submitOrThrow(activity);
+    }
+
+    private void submitOrThrow(UserActivity activity) {
+        if (!submit(activity))
+            throw new IngestionBusyException("Tracking queue is full, retry shortly");
+    }
+
+    /**
+     * Queue an activity for batched persistence. The event timestamp is taken
+     * now (not at flush time) so analytics see when the event actually happened.
+     *
+     * @return {@code true} if accepted, {@code false} if the caller should back off
+     */
+    public boolean submit(UserActivity activity) {
+        if (!accepting) {
+            rejectedCount.incrementAndGet();
+
+            return false;
+        }
+
+        if (activity.getCreatedAt() == null)
+            activity.setCreatedAt(LocalDateTime.now());
+
+        if (!queue.offer(activity)) {
+            rejectedCount.incrementAndGet();
+
+            return false;
+        }
+
+        acceptedCount.incrementAndGet();
+
+        // Size trigger: hand a flush to the shared executor once a full batch is waiting
+        if (queue.size() >= batchSize && !flushing.get()) {
+            try {
+                taskExecutor.execute(this::flush);
+            }
+
+            catch (Exception e) {
+                // Executor saturated; the timed flush will pick these up
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Time trigger: flush whatever is queued.
+     */
+    @Scheduled(fixedDelayString = "${soundwrapped.ingestion.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Drain the queue in batches. Only one flush runs at a time; concurrent
+     * callers return immediately and leave the work to the running flush.
+     *
+     * @return number of rows persisted
+     */
+    public int flush() {
+        if (!flushing.compareAndSet(false, true))
+            return 0;
+
+        int persisted = 0;
+
+        try {
+            List<UserActivity> batch = new ArrayList<UserActivity>(batchSize);
+
+            while (queue.drainTo(batch, batchSize) > 0) {
+                persisted += persistBatch(batch);
+                batch.clear();
+            }
+        }
+
+        finally {
+            flushing.set(false);
+        }
+
+        return persisted;
+    }
+
+    private int persistBatch(List<UserActivity> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rollupService.apply(activityRepository.saveAllAndFlush(batch)));
+            batchCount.incrementAndGet();
+            persistedCount.addAndGet(batch.size());
+
+            return batch.size();
+        }
+
+        catch (Exception e) {
+            System.err.println("[ActivityIngestion] ⚠️ Batch of " + batch.size() + " failed, retrying row by row: " + e.getMessage());
+        }
+
+        // Isolate bad rows so one failure does not drop the whole batch
+        int persisted = 0;
+
+        for (UserActivity activity : batch) {
+            try {
+                activity.setId(null);
+                transactionTemplate.executeWithoutResult(status ->
+                        rollupService.apply(List.of(activityRepository.saveAndFlush(activity))));
+                persisted++;
+            }
+
+            catch (Exception e) {
+                failedCount.incrementAndGet();
+                System.err.println("[ActivityIngestion] ❌ Dropping activity for user " + activity.getSoundcloudUserId()
+                        + " track " + activity.getTrackId() + ": " + e.getMessage());
+            }
+        }
+
+        persistedCount.addAndGet(persisted);
+
+        return persisted;
+    }
+
+    /**
+     * Runs after the JPA schema update but before the web server and
+     * schedulers start, so no writer can insert ahead of the alignment.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignIdSequence();
+    }
+
+    /**
+     * Rows written before the switch from IDENTITY to a pooled sequence keep
+     * their ids, so move the sequence past them before the first insert.
+     */
+    void alignIdSequence() {
+        try {
+            jdbcTemplate.queryForObject(
+                "SELECT setval('user_activities_seq', GREATEST("
+                    + "(SELECT COALESCE(MAX(id), 0) FROM user_activities) + " + UserActivity.ID_ALLOCATION_SIZE + ", "
+                    + "(SELECT last_value FROM user_activities_seq)))",
+                Long.class);
+        }
+
+        catch (Exception e) {
+            System.err.println("[ActivityIngestion] ⚠️ Could not align user_activities_seq: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop accepting events and drain everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        long deadline = System.currentTimeMillis() + 30_000;
+
+        while (!queue.isEmpty() && System.currentTimeMillis() < deadline) {
+            if (flush() == 0 && flushing.get()) {
+                try {
+                    Thread.sleep(50);
+                }
+
+                catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        if (!queue.isEmpty())
+            System.err.println("[ActivityIngestion] ❌ Shutdown with " + queue.size() + " undrained events");
+        else
+            System.out.println("[ActivityIngestion] ✅ Drained activity queue on shutdown");
+    }
+
+    /**
+     * Ingestion counters for health/monitoring endpoints.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("queued", queue.size());
+        stats.put("remainingCapacity", queue.remainingCapacity());
+        stats.put("accepted", acceptedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("persisted", persistedCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("batches", batchCount.get());
+
+        return stats;
+    }
+}
@@ -0,0 +1,419 @@
+package com.soundwrapped.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps {@code user_activities} range-partitioned by month on {@code created_at}.
+ * <p>
+ * Hibernate ({@code ddl-auto: update}) still owns the columns, so converting
+ * an existing plain table is a one-time migration. It is an explicit step:
+ * it runs only when {@code migrate-on-startup} is set, and a failure stops
+ * startup instead of leaving the app on a half-converted table.
+ * <ul>
+ *   <li>the existing table is renamed to {@code user_activities_legacy} and
+ *       attached as the partition for everything before its upper bound (the
+ *       month boundary after the newest row)</li>
+ *   <li>a partitioned {@code user_activities} is created with the same columns
+ *       and indexes and a {@code (id, created_at)} primary key</li>
+ * </ul>
+ * A daily job then keeps monthly partitions {@code months-ahead} into the
+ * future and retires partitions older than {@code retention-months}: each is
+ * detached and, when {@code archive-dir} is set, exported to a gzipped CSV and
+ * dropped. The legacy partition is retired the same way once its upper bound
+ * passes the cutoff. Rows outside every range (beyond the newest monthly
+ * partition, or older than the legacy partition after it is retired) land in
+ * {@code user_activities_default}, which is trimmed the same way.
+ * Listening rollups are a separate table and are never touched.
+ * </p>
+ */
+@Service
+public class ActivityPartitionService implements SmartInitializingSingleton {
+
+    private static final String TABLE = "user_activities";
+    private static final String LEGACY_PARTITION = TABLE + "_legacy";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String LEGACY_BOUND = TABLE + "_legacy_bound";
+    private static final String LEGACY_KEY = TABLE + "_id_created_at_key";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${soundwrapped.partitions.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${soundwrapped.partitions.migrate-on-startup:false}")
+    private boolean migrateOnStartup = false;
+
+    @Value("${soundwrapped.partitions.retention-months:13}")
+    private int retentionMonths = 13;
+
+    @Value("${soundwrapped.partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${soundwrapped.partitions.archive-dir:}")
+    private String archiveDir = "";
+
+    public ActivityPartitionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Runs after every singleton (including the JPA schema update) exists,
+     * but before the web server and schedulers start.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled)
+            return;
+
+        // Opted-in migration failures propagate and abort startup
+        if (migrateOnStartup)
+            migrateToPartitionedTable();
+
+        else if (!isPartitioned() && tableExists(TABLE))
+            System.err.println("[ActivityPartitions] ⚠️ " + TABLE + " is not partitioned; set "
+                + "soundwrapped.partitions.migrate-on-startup=true for one deploy to convert it");
+
+        maintainPartitions();
+    }
+
+    /**
+     * Creates upcoming monthly partitions and retires expired ones.
+     */
+    @Scheduled(cron = "${soundwrapped.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!enabled || !isPartitioned() || !running.compareAndSet(false, true))
+            return;
+
+        try {
+            YearMonth current = YearMonth.now();
+            LocalDateTime cutoff = current.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+
+            ensureMonthlyPartitions(current.minusMonths(retentionMonths), current.plusMonths(monthsAhead));
+
+            for (Map.Entry<String, LocalDateTime> partition : listRangePartitions().entrySet()) {
+                if (!partition.getValue().isAfter(cutoff))
+                    retirePartition(partition.getKey());
+            }
+
+            trimDefaultPartition(cutoff);
+        }
+
+        catch (Exception e) {
+            System.err.println("[ActivityPartitions] ❌ Maintenance failed: " + e.getMessage());
+        }
+
+        finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Converts a plain {@code user_activities} into the partitioned layout,
+     * keeping the existing rows in place as the legacy partition.
+     * <p>
+     * The slow work runs first, while the table still takes writes: a CHECK
+     * constraint matching the legacy bound is validated, and the unique
+     * {@code (id, created_at)} index the new primary key needs is built
+     * concurrently. The ACCESS EXCLUSIVE section is then catalog-only: ATTACH
+     * trusts the validated constraint instead of scanning the table and adopts
+     * the prebuilt index instead of building one.
+     * </p>
+     *
+     * @return {@code true} if the table was converted, {@code false} if it
+     *         already was partitioned or does not exist
+     * @throws RuntimeException if any step fails; the table is then left unpartitioned
+     */
+    public boolean migrateToPartitionedTable() {
+        if (isPartitioned() || !tableExists(TABLE))
+            return false;
+
+        long start = System.currentTimeMillis();
+        LocalDateTime legacyUpper = prepareLegacyPartition();
+
+        Boolean converted = transactionTemplate.execute(status -> {
+            // Only one instance converts; the others see a partitioned table afterwards
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('user_activities_partitioning'))");
+
+            if (isPartitioned())
+                return false;
+
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+
+            Boolean hasRows = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + TABLE + ")", Boolean.class);
+
+            if (legacyUpper == null && Boolean.TRUE.equals(hasRows))
+                throw new IllegalStateException(TABLE + " received rows while the migration was being prepared; run it again");
+
+            if (legacyUpper != null)
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + LEGACY_KEY + " UNIQUE USING INDEX " + LEGACY_KEY);
+
+            // Secondary index definitions are replayed verbatim on the new parent, whose name they already use
+            List<String> indexDefinitions = jdbcTemplate.queryForList(
+                "SELECT pg_get_indexdef(i.indexrelid) FROM pg_index i "
+                    + "WHERE i.indrelid = '" + TABLE + "'::regclass AND NOT i.indisprimary AND NOT i.indisunique",
+                String.class);
+            List<String> indexNames = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                    + "WHERE i.indrelid = '" + TABLE + "'::regclass",
+                String.class);
+
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+
+            for (String indexName : indexNames)
+                jdbcTemplate.execute("ALTER INDEX " + indexName + " RENAME TO " + truncateIdentifier(indexName + "_legacy"));
+
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_PARTITION
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS, PRIMARY KEY (id, created_at))"
+                + " PARTITION BY RANGE (created_at)");
+            // The bound check is copied along with the enum checks but only applies to the legacy rows
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP CONSTRAINT IF EXISTS " + LEGACY_BOUND);
+
+            // Matching indexes already on the legacy table are adopted at ATTACH rather than rebuilt
+            for (String definition : indexDefinitions)
+                jdbcTemplate.execute(definition);
+
+            if (legacyUpper == null)
+                jdbcTemplate.execute("DROP TABLE " + LEGACY_PARTITION);
+
+            else
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + legacyUpper + "')");
+
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(converted))
+            System.out.println("[ActivityPartitions] ✅ Converted " + TABLE + " to monthly range partitions in "
+                + (System.currentTimeMillis() - start) + "ms");
+
+        return Boolean.TRUE.equals(converted);
+    }
+
+    /**
+     * Does the table-scanning part of the migration without blocking writes.
+     * Safe to repeat after a failed attempt.
+     *
+     * @return Upper bound of the legacy partition, or {@code null} if the table is empty
+     */
+    private LocalDateTime prepareLegacyPartition() {
+        LocalDateTime newest = jdbcTemplate.queryForObject("SELECT MAX(created_at) FROM " + TABLE, LocalDateTime.class);
+
+        if (newest == null)
+            return null;
+
+        // Also cover rows written until the lock is taken (the constraint rejects anything past the bound)
+        LocalDateTime soon = LocalDateTime.now().plusDays(1);
+        LocalDateTime upper = YearMonth.from(newest.isAfter(soon) ? newest : soon).plusMonths(1).atDay(1).atStartOfDay();
+
+        // Equals the partition constraint for FROM (MINVALUE) TO (upper), so ATTACH can skip its scan
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP CONSTRAINT IF EXISTS " + LEGACY_BOUND);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + LEGACY_BOUND
+            + " CHECK (created_at IS NOT NULL AND created_at < '" + upper + "') NOT VALID");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " VALIDATE CONSTRAINT " + LEGACY_BOUND);
+
+        // A failed concurrent build leaves an invalid index behind; rebuild it
+        List<Boolean> keyIndex = jdbcTemplate.queryForList(
+            "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, LEGACY_KEY);
+
+        if (!keyIndex.isEmpty() && !Boolean.TRUE.equals(keyIndex.get(0)))
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY " + LEGACY_KEY);
+
+        if (keyIndex.isEmpty() || !Boolean.TRUE.equals(keyIndex.get(0)))
+            jdbcTemplate.execute("CREATE UNIQUE INDEX CONCURRENTLY " + LEGACY_KEY + " ON " + TABLE + " (id, created_at)");
+
+        return upper;
+    }
+
+    private void ensureMonthlyPartitions(YearMonth from, YearMonth to) {
+        LocalDateTime coveredUntil = listRangePartitions().values().stream()
+            .max(LocalDateTime::compareTo)
+            .orElse(null);
+
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            LocalDateTime lower = month.atDay(1).atStartOfDay();
+
+            // Months below the newest existing bound are covered by the legacy partition or already exist
+            if (coveredUntil != null && lower.isBefore(coveredUntil))
+                continue;
+
+            String name = TABLE + "_p" + month.format(PARTITION_SUFFIX);
+
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + lower + "') TO ('" + month.plusMonths(1).atDay(1).atStartOfDay() + "')");
+            }
+
+            catch (Exception e) {
+                // Typically rows for this month already sit in the default partition
+                System.err.println("[ActivityPartitions] ⚠️ Could not create " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void retirePartition(String name) {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name);
+
+        if (archiveDir.isBlank()) {
+            System.out.println("[ActivityPartitions] Detached expired partition " + name + " (kept as a standalone table)");
+            return;
+        }
+
+        Path file = Path.of(archiveDir, name + ".csv.gz");
+        long rows = export("SELECT * FROM " + name, file);
+        jdbcTemplate.execute("DROP TABLE " + name);
+
+        System.out.println("[ActivityPartitions] ✅ Archived " + rows + " rows of " + name + " to " + file
+            + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private void trimDefaultPartition(LocalDateTime cutoff) {
+        if (!tableExists(DEFAULT_PARTITION) || archiveDir.isBlank())
+            return;
+
+        String where = " WHERE created_at < '" + cutoff + "'";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean hasExpired = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + where + ")", Boolean.class);
+
+            if (!Boolean.TRUE.equals(hasExpired))
+                return;
+
+            Path file = Path.of(archiveDir, DEFAULT_PARTITION + "_before_" + LocalDate.from(cutoff) + ".csv.gz");
+            long rows = export("SELECT * FROM " + DEFAULT_PARTITION + where, file);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + where);
+            System.out.println("[ActivityPartitions] ✅ Archived " + rows + " expired rows from " + DEFAULT_PARTITION + " to " + file);
+        });
+    }
+
+    /**
+     * Streams a query to a gzipped CSV with a header row.
+     */
+    private long export(String sql, Path file) {
+        return transactionTemplate.execute(status -> {
+            try {
+                Files.createDirectories(file.getParent());
+
+                try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+                    long[] rows = { 0 };
+
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(sql);
+                        // Inside a transaction the driver streams with a cursor instead of buffering everything
+                        statement.setFetchSize(5000);
+                        return statement;
+                    }, resultSet -> {
+                        ResultSetMetaData meta = resultSet.getMetaData();
+
+                        try {
+                            if (rows[0] == 0)
+                                writeCsvRow(out, meta.getColumnCount(), i -> meta.getColumnName(i));
+
+                            writeCsvRow(out, meta.getColumnCount(), resultSet::getString);
+                            rows[0]++;
+                        }
+
+                        catch (IOException e) {
+                            throw new IllegalStateException("Could not write archive " + file + ": " + e.getMessage(), e);
+                        }
+                    });
+
+                    return rows[0];
+                }
+            }
+
+            catch (IOException e) {
+                throw new IllegalStateException("Could not write archive " + file + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private interface ColumnValue {
+        String get(int column) throws SQLException;
+    }
+
+    private static void writeCsvRow(Writer out, int columns, ColumnValue value) throws IOException {
+        try {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1)
+                    out.write(',');
+
+                out.write(CsvFields.quote(value.get(i)));
+            }
+
+            out.write('\n');
+        }
+
+        catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Range partitions (legacy and monthly) by name with their exclusive upper bound.
+     */
+    private Map<String, LocalDateTime> listRangePartitions() {
+        Map<String, LocalDateTime> partitions = new LinkedHashMap<String, LocalDateTime>();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound "
+                + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = '" + TABLE + "'::regclass");
+
+        for (Map<String, Object> row : rows) {
+            Matcher matcher = UPPER_BOUND.matcher(String.valueOf(row.get("bound")));
+
+            if (matcher.find())
+                partitions.put((String) row.get("name"), LocalDateTime.parse(matcher.group(1).replace(' ', 'T')));
+        }
+
+        return partitions;
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(?) AND relkind = 'p')", Boolean.class, TABLE));
+    }
+
+    private boolean tableExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private static String truncateIdentifier(String identifier) {
+        // Postgres silently truncates identifiers past 63 bytes; do it explicitly to keep names predictable
+        return identifier.length() > 63 ? identifier.substring(0, 63) : identifier;
+    }
+}
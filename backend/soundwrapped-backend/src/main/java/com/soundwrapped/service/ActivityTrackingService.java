@@ -1,7 +1,11 @@
 package com.soundwrapped.service;
 
 import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.repository.ListeningRollupRepository.RollupTotals;
 import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.repository.UserActivityRepository.ActivitySummary;
+import com.soundwrapped.repository.UserActivityRepository.TrackCount;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,9 +22,11 @@ import java.util.List;
 public class ActivityTrackingService {
 
     private final UserActivityRepository activityRepository;
+    private final ListeningRollupService rollupService;
 
-    public ActivityTrackingService(UserActivityRepository activityRepository) {
+    public ActivityTrackingService(UserActivityRepository activityRepository, ListeningRollupService rollupService) {
         this.activityRepository = activityRepository;
+        this.rollupService = rollupService;
     }
 
     /**
@@ -33,7 +39,7 @@ public class ActivityTrackingService {
         activity.setTrackId(trackId);
         activity.setActivityType(UserActivity.ActivityType.PLAY);
         activity.setPlayDurationMs(durationMs);
-        activityRepository.save(activity);
+        record(activity);
     }
 
     /**
@@ -45,7 +51,7 @@ public class ActivityTrackingService {
         activity.setSoundcloudUserId(soundcloudUserId);
         activity.setTrackId(trackId);
         activity.setActivityType(UserActivity.ActivityType.LIKE);
-        activityRepository.save(activity);
+        record(activity);
     }
 
     /**
@@ -57,7 +63,7 @@ public class ActivityTrackingService {
         activity.setSoundcloudUserId(soundcloudUserId);
         activity.setTrackId(trackId);
         activity.setActivityType(UserActivity.ActivityType.REPOST);
-        activityRepository.save(activity);
+        record(activity);
     }
 
     /**
@@ -69,43 +75,37 @@ public class ActivityTrackingService {
         activity.setSoundcloudUserId(soundcloudUserId);
         activity.setTrackId(trackId);
         activity.setActivityType(UserActivity.ActivityType.SHARE);
-        activityRepository.save(activity);
+        record(activity);
     }
 
     /**
-     * Get total play count for a user (tracked by browser extension from SoundCloud.com)
-     * within the specified date range
+     * All rollup counters for a user within the specified date range, from one
+     * query over the hourly rollups. Windows are resolved to whole hours.
      */
-    public long getTotalPlays(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<UserActivity> plays = activityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
-            soundcloudUserId,
-            UserActivity.ActivityType.PLAY,
-            startDate,
-            endDate
-        );
-        return plays.size();
+    public RollupTotals getTotals(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
+        return rollupService.getTotals(soundcloudUserId, startDate, endDate);
     }
 
     /**
-     * Get total listening time in milliseconds (tracked by browser extension from SoundCloud.com)
-     * within the specified date range
+     * Every activity counter (plays, listening time, likes, reposts, shares,
+     * distinct tracks) for the exact window in a single query. Scans the raw
+     * activities, so prefer {@link #getTotals} unless exact bounds or distinct
+     * tracks are needed.
      */
-    public long getTotalListeningTimeMs(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
-        Long totalMs = activityRepository.getTotalPlayDurationMs(soundcloudUserId, startDate, endDate);
-        return totalMs != null ? totalMs : 0L;
+    public ActivitySummary getActivitySummary(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
+        return activityRepository.getActivitySummary(soundcloudUserId, startDate, endDate);
     }
 
     /**
-     * Get total likes tracked by browser extension from SoundCloud.com
-     * within the specified date range
+     * Top tracks by number of activities of one type within the specified date range
      */
-    public long getTotalLikes(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<UserActivity> likes = activityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
-            soundcloudUserId,
-            UserActivity.ActivityType.LIKE,
-            startDate,
-            endDate
-        );
-        return likes.size();
+    public List<TrackCount> getTopTracks(String soundcloudUserId, UserActivity.ActivityType activityType,
+                                         LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        return activityRepository.findTopTracks(soundcloudUserId, activityType, startDate, endDate,
+            PageRequest.of(0, Math.max(1, limit)));
     }
-}
\ No newline at end of file
+
+    private void record(UserActivity activity) {
+        rollupService.apply(List.of(activityRepository.saveAndFlush(activity)));
+    }
+}
@@ -1,6 +1,8 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.config.CacheRegion;
 import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.model.SoundCloudTrack;
 import com.soundwrapped.repository.UserActivityRepository;
 import org.springframework.stereotype.Service;
 
@@ -21,38 +23,41 @@ public class ArtistAnalyticsService {
 
     private final SoundWrappedService soundWrappedService;
     private final UserActivityRepository activityRepository;
+    private final CacheAside cacheAside;
 
     public ArtistAnalyticsService(
             SoundWrappedService soundWrappedService,
-            UserActivityRepository activityRepository) {
+            UserActivityRepository activityRepository,
+            CacheAside cacheAside) {
         this.soundWrappedService = soundWrappedService;
         this.activityRepository = activityRepository;
+        this.cacheAside = cacheAside;
     }
 
     /**
      * Get artist analytics for the authenticated user (if they're an artist).
+     * Results are cached per user for a few minutes; failed loads are not cached.
      * 
      * @param soundcloudUserId The SoundCloud user ID
      * @return Artist analytics data
      */
     public Map<String, Object> getArtistAnalytics(String soundcloudUserId) {
+        return cacheAside.get(CacheRegion.ARTIST_ANALYTICS, soundcloudUserId,
+            () -> computeArtistAnalytics(soundcloudUserId), analytics -> !analytics.containsKey("error"));
+    }
+
+    private Map<String, Object> computeArtistAnalytics(String soundcloudUserId) {
         Map<String, Object> analytics = new HashMap<String, Object>();
         
         try {
-            // Get user's uploaded tracks
-            List<Map<String, Object>> uploadedTracks = soundWrappedService.getUserTracks();
+            // Get user's uploaded tracks, decoded straight into records
+            List<SoundCloudTrack> uploadedTracks = soundWrappedService.getUserTrackRecords();
             
             // Filter to only uploaded tracks (not liked tracks)
-            // If getUserTracks returns liked tracks, user is not an artist
+            // If getUserTrackRecords returns liked tracks, user is not an artist
             boolean isArtist = uploadedTracks.stream()
-                .anyMatch(track -> {
-                    Object userObj = track.get("user");
-                    if (userObj instanceof Map<?, ?>) {
-                        Object userIdObj = ((Map<?, ?>) userObj).get("id");
-                        return String.valueOf(userIdObj).equals(soundcloudUserId);
-                    }
-                    return false;
-                });
+                .anyMatch(track -> track.user() != null
+                    && String.valueOf(track.user().id()).equals(soundcloudUserId));
             
             if (!isArtist || uploadedTracks.isEmpty()) {
                 analytics.put("isArtist", false);
@@ -62,60 +67,25 @@ public class ArtistAnalyticsService {
             
             analytics.put("isArtist", true);
             
-            // Calculate total plays across all tracks
-            long totalPlays = uploadedTracks.stream()
-                .mapToLong(track -> ((Number) track.getOrDefault("playback_count", 0)).longValue())
-                .sum();
-            
-            // Calculate total likes
-            long totalLikes = uploadedTracks.stream()
-                .mapToLong(track -> ((Number) track.getOrDefault("likes_count", 0)).longValue())
-                .sum();
-            
-            // Calculate total reposts
-            long totalReposts = uploadedTracks.stream()
-                .mapToLong(track -> ((Number) track.getOrDefault("reposts_count", 0)).longValue())
-                .sum();
+            // Calculate total plays, likes and reposts across all tracks
+            long totalPlays = uploadedTracks.stream().mapToLong(SoundCloudTrack::playbackCount).sum();
+            long totalLikes = uploadedTracks.stream().mapToLong(SoundCloudTrack::likesCount).sum();
+            long totalReposts = uploadedTracks.stream().mapToLong(SoundCloudTrack::repostsCount).sum();
             
             // Get top tracks by plays
             List<Map<String, Object>> topTracksByPlays = uploadedTracks.stream()
-                .sorted((a, b) -> Long.compare(
-                    ((Number) b.getOrDefault("playback_count", 0)).longValue(),
-                    ((Number) a.getOrDefault("playback_count", 0)).longValue()))
+                .sorted(Comparator.comparingLong(SoundCloudTrack::playbackCount).reversed())
                 .limit(5)
-                .map(track -> {
-                    Map<String, Object> trackData = new HashMap<String, Object>();
-                    trackData.put("id", track.get("id"));
-                    trackData.put("title", track.get("title"));
-                    trackData.put("playbackCount", track.get("playback_count"));
-                    trackData.put("likesCount", track.get("likes_count"));
-                    trackData.put("repostsCount", track.get("reposts_count"));
-                    trackData.put("artworkUrl", track.get("artwork_url"));
-                    return trackData;
-                })
+                .map(ArtistAnalyticsService::trackData)
                 .collect(Collectors.toList());
             
             // Get top tracks by engagement (likes + reposts)
             List<Map<String, Object>> topTracksByEngagement = uploadedTracks.stream()
-                .sorted((a, b) -> {
-                    long engagementA = ((Number) a.getOrDefault("likes_count", 0)).longValue() +
-                                      ((Number) a.getOrDefault("reposts_count", 0)).longValue();
-                    long engagementB = ((Number) b.getOrDefault("likes_count", 0)).longValue() +
-                                      ((Number) b.getOrDefault("reposts_count", 0)).longValue();
-                    return Long.compare(engagementB, engagementA);
-                })
+                .sorted(Comparator.comparingLong(ArtistAnalyticsService::engagement).reversed())
                 .limit(5)
                 .map(track -> {
-                    Map<String, Object> trackData = new HashMap<String, Object>();
-                    trackData.put("id", track.get("id"));
-                    trackData.put("title", track.get("title"));
-                    trackData.put("playbackCount", track.get("playback_count"));
-                    trackData.put("likesCount", track.get("likes_count"));
-                    trackData.put("repostsCount", track.get("reposts_count"));
-                    trackData.put("engagement", 
-                        ((Number) track.getOrDefault("likes_count", 0)).longValue() +
-                        ((Number) track.getOrDefault("reposts_count", 0)).longValue());
-                    trackData.put("artworkUrl", track.get("artwork_url"));
+                    Map<String, Object> trackData = trackData(track);
+                    trackData.put("engagement", engagement(track));
                     return trackData;
                 })
                 .collect(Collectors.toList());
@@ -125,38 +95,28 @@ public class ArtistAnalyticsService {
             LocalDateTime yearEnd = LocalDateTime.now();
             
             Set<String> trackIds = uploadedTracks.stream()
-                .map(track -> String.valueOf(track.getOrDefault("id", "")))
-                .filter(id -> !id.isEmpty() && !id.equals("null"))
+                .map(SoundCloudTrack::id)
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
                 .collect(Collectors.toSet());
             
-            // Count plays from our tracked activity
-            long trackedPlays = activityRepository.findAll().stream()
-                .filter(activity -> 
-                    activity.getActivityType() == UserActivity.ActivityType.PLAY &&
-                    trackIds.contains(activity.getTrackId()) &&
-                    activity.getCreatedAt().isAfter(yearStart) &&
-                    activity.getCreatedAt().isBefore(yearEnd))
-                .count();
-            
-            // Get top listeners (users who played tracks most)
-            Map<String, Long> listenerPlayCounts = activityRepository.findAll().stream()
-                .filter(activity -> 
-                    activity.getActivityType() == UserActivity.ActivityType.PLAY &&
-                    trackIds.contains(activity.getTrackId()) &&
-                    activity.getCreatedAt().isAfter(yearStart) &&
-                    activity.getCreatedAt().isBefore(yearEnd))
-                .collect(Collectors.groupingBy(
-                    UserActivity::getSoundcloudUserId,
-                    Collectors.counting()
-                ));
-            
-            List<Map<String, Object>> topListeners = listenerPlayCounts.entrySet().stream()
-                .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+            // Plays per listener on these tracks, aggregated in the database in one query
+            List<Object[]> listenerPlayCounts = trackIds.isEmpty()
+                ? List.of()
+                : activityRepository.countByListenerForTracks(
+                    trackIds, UserActivity.ActivityType.PLAY, yearStart, yearEnd);
+            
+            long trackedPlays = listenerPlayCounts.stream()
+                .mapToLong(row -> ((Number) row[1]).longValue())
+                .sum();
+            
+            // Get top listeners (users who played tracks most); rows are already sorted by count
+            List<Map<String, Object>> topListeners = listenerPlayCounts.stream()
                 .limit(5)
-                .map(entry -> {
+                .map(row -> {
                     Map<String, Object> listener = new HashMap<String, Object>();
-                    listener.put("userId", entry.getKey());
-                    listener.put("playCount", entry.getValue());
+                    listener.put("userId", row[0]);
+                    listener.put("playCount", ((Number) row[1]).longValue());
                     return listener;
                 })
                 .collect(Collectors.toList());
@@ -188,6 +148,21 @@ public class ArtistAnalyticsService {
         return analytics;
     }
 
+    private static Map<String, Object> trackData(SoundCloudTrack track) {
+        Map<String, Object> trackData = new HashMap<String, Object>();
+        trackData.put("id", track.id());
+        trackData.put("title", track.title());
+        trackData.put("playbackCount", track.playbackCount());
+        trackData.put("likesCount", track.likesCount());
+        trackData.put("repostsCount", track.repostsCount());
+        trackData.put("artworkUrl", track.artworkUrl());
+        return trackData;
+    }
+
+    private static long engagement(SoundCloudTrack track) {
+        return track.likesCount() + track.repostsCount();
+    }
+
     /**
      * Get artist recommendations based on related tracks.
      * 
@@ -0,0 +1,132 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.config.CacheRegion;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Programmatic cache-aside access to the caches in {@link CacheManager}.
+ * <p>
+ * {@code @Cacheable} only works on public methods called through the Spring
+ * proxy, which rules out private helpers and calls from inside the same
+ * service. Those call sites use this instead: look the key up, on a miss run
+ * the loader, and store the result if it passes the given predicate.
+ * Loading goes through {@link Cache#get(Object, java.util.concurrent.Callable)},
+ * so concurrent misses for a key share one call to the loader.
+ * </p>
+ */
+@Service
+public class CacheAside {
+	private final CacheManager cacheManager;
+
+	public CacheAside(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Returns the cached value for {@code key}, loading and caching it on a miss.
+	 *
+	 * @param region      Cache to use
+	 * @param key         Cache key
+	 * @param loader      Computes the value on a miss
+	 * @param shouldCache Whether a freshly loaded value may be stored (e.g. skip nulls and empty results)
+	 * @return            Cached or freshly loaded value
+	 */
+	@SuppressWarnings("unchecked")
+	public <K, V> V get(CacheRegion<K, V> region, K key, Supplier<V> loader, Predicate<V> shouldCache) {
+		try {
+			// Single-flight in the cache: concurrent misses share this load and its outcome
+			return cache(region).get(key, () -> {
+				V value = loader.get();
+
+				if (value == null || !shouldCache.test(value))
+					throw new RejectedValue(value);
+
+				return value;
+			});
+		}
+
+		catch (Cache.ValueRetrievalException e) {
+			if (e.getCause() instanceof RejectedValue rejected)
+				return (V) rejected.value;
+
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+
+			throw e;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public <K, V> Optional<V> getIfPresent(CacheRegion<K, V> region, K key) {
+		Cache.ValueWrapper wrapper = cache(region).get(key);
+
+		return wrapper != null ? Optional.ofNullable((V) wrapper.get()) : Optional.empty();
+	}
+
+	public <K, V> void put(CacheRegion<K, V> region, K key, V value) {
+		cache(region).put(key, value);
+	}
+
+	public <K, V> void evict(CacheRegion<K, V> region, K key) {
+		cache(region).evict(key);
+	}
+
+	/**
+	 * Hit/miss statistics for every cache managed by the {@link CacheManager},
+	 * including the annotation-driven ones.
+	 *
+	 * @return Map of cache name to its statistics
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new TreeMap<String, Object>();
+
+		for (String name : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(name);
+
+			if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+				var caffeineStats = caffeine.stats();
+				Map<String, Object> cacheStats = new HashMap<String, Object>();
+				cacheStats.put("hits", caffeineStats.hitCount());
+				cacheStats.put("misses", caffeineStats.missCount());
+				cacheStats.put("hitRate", caffeineStats.hitRate());
+				cacheStats.put("evictions", caffeineStats.evictionCount());
+				cacheStats.put("size", caffeine.estimatedSize());
+				stats.put(name, cacheStats);
+			}
+		}
+
+		return stats;
+	}
+
+	/**
+	 * Carries a loaded value that must not be stored back out of the cache's
+	 * loader, so waiters on the same load still receive it.
+	 */
+	private static class RejectedValue extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private final transient Object value;
+
+		RejectedValue(Object value) {
+			super("Loaded value not cacheable", null, false, false);
+			this.value = value;
+		}
+	}
+
+	private Cache cache(CacheRegion<?, ?> region) {
+		Cache cache = cacheManager.getCache(region.name());
+
+		if (cache == null)
+			throw new IllegalStateException("Cache '" + region.name() + "' is not configured in CacheConfig");
+
+		return cache;
+	}
+}
@@ -0,0 +1,231 @@
+package com.soundwrapped.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the app-level SoundCloud token obtained via the OAuth2
+ * {@code client_credentials} grant, used for public endpoints when no user
+ * token is available.
+ * <p>
+ * The token is reused until shortly before {@code expires_in} runs out and is
+ * renewed in the background once most of its lifetime has passed, so callers
+ * normally never wait on the token endpoint. Concurrent misses share a single
+ * in-flight fetch, and failed fetches are not retried until a short back-off
+ * has elapsed.
+ * </p>
+ */
+@Service
+public class ClientCredentialsTokenManager {
+	private static final String TOKEN_URL = "https://api.soundcloud.com/oauth2/token";
+	private static final long DEFAULT_EXPIRES_IN_SECONDS = 3600;
+
+	@Value("${soundcloud.client-id}")
+	private String clientId;
+
+	@Value("${soundcloud.client-secret}")
+	private String clientSecret;
+
+	@Value("${soundwrapped.app-token.expiry-margin-seconds:60}")
+	private long expiryMarginSeconds = 60;
+
+	@Value("${soundwrapped.app-token.failure-backoff-seconds:30}")
+	private long failureBackoffSeconds = 30;
+
+	private final RestTemplate restTemplate;
+	private final Executor taskExecutor;
+
+	private record AppToken(String accessToken, long refreshAtMs, long expiresAtMs) {}
+	private final AtomicReference<AppToken> current = new AtomicReference<AppToken>();
+	private final AtomicReference<CompletableFuture<String>> inFlight = new AtomicReference<CompletableFuture<String>>();
+	private volatile long lastFailureAtMs = 0;
+	private volatile String revokedToken;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong fetches = new AtomicLong();
+	private final AtomicLong fetchFailures = new AtomicLong();
+	private final AtomicLong totalFetchLatencyMs = new AtomicLong();
+	private volatile long lastFetchLatencyMs = 0;
+
+	public ClientCredentialsTokenManager(RestTemplate restTemplate,
+			@Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+		this.restTemplate = restTemplate;
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Returns a valid app token, fetching one only when none is cached.
+	 *
+	 * @return Access token string, or {@code null} if SoundCloud will not issue one
+	 */
+	public String getToken() {
+		long now = System.currentTimeMillis();
+		AppToken token = current.get();
+
+		if (token != null && now < token.expiresAtMs()) {
+			hits.incrementAndGet();
+
+			if (now >= token.refreshAtMs())
+				refreshInBackground();
+
+			return token.accessToken();
+		}
+
+		misses.incrementAndGet();
+
+		if (now - lastFailureAtMs < failureBackoffSeconds * 1000)
+			return null;
+
+		return SoundCloudClient.await(fetchSingleFlight());
+	}
+
+	/**
+	 * Drops the cached token after SoundCloud rejected it with a 401.
+	 *
+	 * @param rejectedToken Token the failed request was sent with
+	 * @return              {@code true} if it was an app token (so a retry with
+	 *                      {@link #getToken()} may succeed), {@code false} for any other token
+	 */
+	public boolean invalidate(String rejectedToken) {
+		AppToken token = current.get();
+
+		if (token != null && token.accessToken().equals(rejectedToken) && current.compareAndSet(token, null)) {
+			revokedToken = rejectedToken;
+			System.out.println("[AppToken] ⚠️ Cached token was rejected, fetching a new one on next use");
+
+			return true;
+		}
+
+		// A concurrent 401 already dropped it
+		return rejectedToken != null && rejectedToken.equals(revokedToken);
+	}
+
+	public Map<String, Object> getStats() {
+		long fetchCount = fetches.get();
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("hits", hits.get());
+		stats.put("misses", misses.get());
+		stats.put("fetches", fetchCount);
+		stats.put("fetchFailures", fetchFailures.get());
+		stats.put("lastFetchLatencyMs", lastFetchLatencyMs);
+		stats.put("avgFetchLatencyMs", fetchCount > 0 ? totalFetchLatencyMs.get() / fetchCount : 0);
+		stats.put("cached", current.get() != null);
+
+		return stats;
+	}
+
+	private void refreshInBackground() {
+		if (inFlight.get() != null)
+			return;
+
+		try {
+			taskExecutor.execute(this::fetchSingleFlight);
+		}
+
+		catch (Exception e) {
+			// Executor saturated; the cached token is still valid, next hit retries
+		}
+	}
+
+	private CompletableFuture<String> fetchSingleFlight() {
+		while (true) {
+			CompletableFuture<String> existing = inFlight.get();
+
+			if (existing != null)
+				return existing;
+
+			CompletableFuture<String> fetch = new CompletableFuture<String>();
+
+			if (!inFlight.compareAndSet(null, fetch))
+				continue;
+
+			try {
+				fetch.complete(fetchToken());
+			}
+
+			finally {
+				inFlight.compareAndSet(fetch, null);
+			}
+
+			return fetch;
+		}
+	}
+
+	private String fetchToken() {
+		long start = System.currentTimeMillis();
+		fetches.incrementAndGet();
+
+		try {
+			System.out.println("[AppToken] Fetching client credentials token...");
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
+
+			MultiValueMap<String, String> body = new LinkedMultiValueMap<String, String>();
+			body.add("grant_type", "client_credentials");
+			body.add("client_id", clientId);
+			body.add("client_secret", clientSecret);
+
+			HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<MultiValueMap<String, String>>(body, headers);
+			ResponseEntity<Map<String, Object>> response = restTemplate
+					.exchange(TOKEN_URL, HttpMethod.POST, request, new ParameterizedTypeReference<Map<String, Object>>(){});
+
+			Map<String, Object> responseBody = response.getBody();
+			if (responseBody == null || !(responseBody.get("access_token") instanceof String accessToken)) {
+				System.err.println("[AppToken] ❌ No access token in client credentials response: " + responseBody);
+				return onFailure();
+			}
+
+			long expiresInSeconds = responseBody.get("expires_in") instanceof Number n
+					? n.longValue() : DEFAULT_EXPIRES_IN_SECONDS;
+			long fetchedAt = System.currentTimeMillis();
+			long lifetimeMs = Math.max(0, expiresInSeconds - expiryMarginSeconds) * 1000;
+
+			// Renew in the background once three quarters of the usable lifetime has passed
+			current.set(new AppToken(accessToken, fetchedAt + lifetimeMs * 3 / 4, fetchedAt + lifetimeMs));
+			lastFailureAtMs = 0;
+			System.out.println("[AppToken] ✅ Cached client credentials token for " + expiresInSeconds + "s");
+
+			return accessToken;
+		}
+
+		catch (HttpClientErrorException e) {
+			System.err.println("[AppToken] ❌ HTTP error getting client credentials token: " + e.getStatusCode()
+					+ " - " + e.getResponseBodyAsString());
+			return onFailure();
+		}
+
+		catch (Exception e) {
+			System.err.println("[AppToken] ❌ Error getting client credentials token: " + e.getMessage());
+			return onFailure();
+		}
+
+		finally {
+			lastFetchLatencyMs = System.currentTimeMillis() - start;
+			totalFetchLatencyMs.addAndGet(lastFetchLatencyMs);
+		}
+	}
+
+	private String onFailure() {
+		fetchFailures.incrementAndGet();
+		lastFailureAtMs = System.currentTimeMillis();
+		AppToken token = current.get();
+
+		// A background renewal failed; keep serving the old token until it actually expires
+		return token != null && System.currentTimeMillis() < token.expiresAtMs() ? token.accessToken() : null;
+	}
+}
@@ -0,0 +1,24 @@
+package com.soundwrapped.service;
+
+/**
+ * RFC 4180 field quoting shared by the activity exports.
+ */
+public final class CsvFields {
+	private CsvFields() {}
+
+	/**
+	 * {@code field} as written into a CSV row: quoted, with inner quotes
+	 * doubled, only when it contains a quote, comma or line break.
+	 *
+	 * @return The field, or {@code ""} for {@code null}
+	 */
+	public static String quote(String field) {
+		if (field == null)
+			return "";
+
+		if (field.indexOf('"') < 0 && field.indexOf(',') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0)
+			return field;
+
+		return "\"" + field.replace("\"", "\"\"") + "\"";
+	}
+}
@@ -0,0 +1,89 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.config.CacheRegion.DescriptionKey;
+import com.soundwrapped.entity.GeneratedDescription;
+import com.soundwrapped.repository.GeneratedDescriptionRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Durable store of finished artist and genre descriptions.
+ * <p>
+ * Backed by the {@code generated_descriptions} table, so each artist or genre
+ * is described once per prompt version across restarts and instances. When
+ * two instances generate the same description concurrently, the first insert
+ * wins and both return the stored row from then on.
+ * </p>
+ */
+@Service
+public class DescriptionStore {
+
+    private final GeneratedDescriptionRepository descriptionRepository;
+
+    public DescriptionStore(GeneratedDescriptionRepository descriptionRepository) {
+        this.descriptionRepository = descriptionRepository;
+    }
+
+    /**
+     * Returns the stored description for {@code key}, generating and storing
+     * it first if there is none. Null or blank results are not stored.
+     *
+     * @param key           Normalized entity name and type
+     * @param promptVersion Version of the prompt {@code generator} uses
+     * @param generator     Produces the description; may return {@code null}
+     * @return              The description, or {@code null} if none could be generated
+     */
+    public String getOrGenerate(DescriptionKey key, int promptVersion, Supplier<String> generator) {
+        Optional<String> stored = find(key, promptVersion);
+
+        if (stored.isPresent())
+            return stored.get();
+
+        String description = generator.get();
+
+        if (description == null || description.isBlank())
+            return description;
+
+        try {
+            record(key, promptVersion, description);
+        }
+
+        catch (DataIntegrityViolationException e) {
+            // Another instance stored one first; serve that so every node agrees
+            return find(key, promptVersion).orElse(description);
+        }
+
+        catch (Exception e) {
+            System.err.println("[DescriptionStore] ❌ Failed to store description for " + key + ": " + e.getMessage());
+        }
+
+        return description;
+    }
+
+    public Optional<String> find(DescriptionKey key, int promptVersion) {
+        try {
+            return descriptionRepository
+                .findByEntityNameAndEntityTypeAndPromptVersion(key.entityName(), key.entityType(), promptVersion)
+                .map(GeneratedDescription::getDescription);
+        }
+
+        catch (Exception e) {
+            // Store unavailable; generate rather than fail the page
+            System.err.println("[DescriptionStore] ⚠️ Lookup failed for " + key + ": " + e.getMessage());
+
+            return Optional.empty();
+        }
+    }
+
+    private void record(DescriptionKey key, int promptVersion, String description) {
+        GeneratedDescription row = new GeneratedDescription();
+        row.setEntityName(key.entityName());
+        row.setEntityType(key.entityType());
+        row.setPromptVersion(promptVersion);
+        row.setDescription(description);
+        descriptionRepository.saveAndFlush(row);
+    }
+}
@@ -3,8 +3,12 @@ package com.soundwrapped.service;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -27,12 +31,15 @@ public class EnhancedArtistService {
     
     /**
      * Fetches enhanced artist information from TheAudioDB.
-     * Results are cached for 24 hours since artist info doesn't change frequently.
+     * Results are cached for 24 hours since artist info doesn't change frequently,
+     * and refreshed in the background; unknown artists use the shorter negative TTL.
+     * Failed requests are thrown rather than cached as unknown.
      * 
      * @param artistName Artist name to search for
      * @return Map containing enhanced artist data (albums, videos, biography) or null if not found
+     * @throws RestClientException if TheAudioDB could not answer
      */
-    @Cacheable(value = "enhancedArtists", key = "#artistName.toLowerCase()", unless = "#result == null")
+    @Cacheable(value = "enhancedArtists", key = "#artistName.toLowerCase()", sync = true)
     public Map<String, Object> getEnhancedArtistInfo(String artistName) {
         if (artistName == null || artistName.isEmpty()) {
             return null;
@@ -51,7 +58,7 @@ public class EnhancedArtistService {
                 ? theAudioDbApiKey + "/" 
                 : "1/"; // Use "1" as default for public API
             String searchUrl = THEAUDIODB_API_BASE_URL + "/" + apiKeySegment + "search.php?s=" + 
-                              java.net.URLEncoder.encode(artistName, "UTF-8");
+                              URLEncoder.encode(artistName, StandardCharsets.UTF_8);
             
             HttpHeaders headers = new HttpHeaders();
             headers.set("Accept", "application/json");
@@ -93,10 +100,14 @@ public class EnhancedArtistService {
                     return artist;
                 }
             }
-        } catch (Exception e) {
+        } catch (HttpClientErrorException.NotFound e) {
+            System.out.println("Enhanced artist info not found for " + artistName);
+        } catch (RestClientException e) {
             System.out.println("Error fetching enhanced artist info for " + artistName + ": " + e.getMessage());
+            throw e;
         }
         
+        // Not found: TheAudioDB answers unknown artists with "artists": null
         return null;
     }
     
@@ -0,0 +1,341 @@
+package com.soundwrapped.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.entity.FeaturedSnapshot;
+import com.soundwrapped.repository.FeaturedSnapshotRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves Genre/Song/Artist of the Day and the Buzzing track from precomputed,
+ * persisted daily snapshots.
+ * <p>
+ * An hourly job computes today's picks if they are missing or incomplete and,
+ * from {@code lead-hour} on, tomorrow's picks as well, so the day boundary is
+ * crossed with the next snapshot already in memory. Each computed day is
+ * stored in {@code featured_snapshots} and then published by swapping one
+ * reference to an immutable map of days; reads only look that map up and
+ * never call upstream services. If today's picks are not available yet (first
+ * start), the most recent earlier day is served while they are computed in
+ * the background.
+ * </p>
+ */
+@Service
+public class FeaturedContentService {
+
+    public enum Section { GENRE, SONG, ARTIST, BUZZING }
+
+    /** One day's picks; every nested map and list is unmodifiable. */
+    public record FeaturedDay(LocalDate date, Map<Section, Map<String, Object>> sections, LocalDateTime computedAt) {}
+
+    private static final TypeReference<Map<Section, Map<String, Object>>> SECTIONS_TYPE =
+            new TypeReference<Map<Section, Map<String, Object>>>() {};
+
+    private final SoundWrappedService soundWrappedService;
+    private final FeaturedSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final Executor taskExecutor;
+
+    private final AtomicReference<NavigableMap<LocalDate, FeaturedDay>> published =
+            new AtomicReference<NavigableMap<LocalDate, FeaturedDay>>(Collections.emptyNavigableMap());
+    // Serialises computations; reads never take it
+    private final ReentrantLock computeLock = new ReentrantLock();
+    private final AtomicBoolean backgroundPending = new AtomicBoolean(false);
+    // Sections forced since the background run last picked them up
+    private final Set<Section> pendingForced = ConcurrentHashMap.newKeySet();
+
+    @Value("${soundwrapped.featured.lead-hour:20}")
+    private int leadHour = 20;
+
+    public FeaturedContentService(
+            SoundWrappedService soundWrappedService,
+            FeaturedSnapshotRepository snapshotRepository,
+            ObjectMapper objectMapper,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.soundWrappedService = soundWrappedService;
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Today's content for a section, or an empty map if nothing was ever computed.
+     */
+    public Map<String, Object> get(Section section) {
+        LocalDate today = LocalDate.now();
+        Map.Entry<LocalDate, FeaturedDay> entry = published.get().floorEntry(today);
+
+        if (entry == null || !entry.getKey().equals(today))
+            computeInBackground(today, EnumSet.noneOf(Section.class));
+
+        if (entry == null)
+            return Map.of();
+
+        return entry.getValue().sections().getOrDefault(section, Map.of());
+    }
+
+    /**
+     * Recomputes the given sections of today's picks in the background and
+     * publishes them when done; the current picks are served until then.
+     * If a background run is already under way, the sections are recomputed
+     * by that run or by one it starts when it finishes.
+     */
+    public void refreshInBackground(Set<Section> sections) {
+        computeInBackground(LocalDate.now(), sections);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            LocalDate today = LocalDate.now();
+            List<FeaturedSnapshot> stored = new ArrayList<FeaturedSnapshot>();
+            snapshotRepository.findFirstByFeatureDateLessThanEqualOrderByFeatureDateDesc(today).ifPresent(stored::add);
+            stored.addAll(snapshotRepository.findByFeatureDateGreaterThanEqualOrderByFeatureDate(today.plusDays(1)));
+
+            for (FeaturedSnapshot snapshot : stored)
+                publish(toFeaturedDay(snapshot));
+
+            System.out.println("[Featured] Loaded " + stored.size() + " stored day(s): " + published.get().keySet());
+        }
+
+        catch (Exception e) {
+            System.err.println("[Featured] ⚠️ Could not load stored featured content: " + e.getMessage());
+        }
+
+        computeInBackground(LocalDate.now(), EnumSet.noneOf(Section.class));
+    }
+
+    /**
+     * Fills in today's missing or incomplete sections and, late in the day, tomorrow's.
+     */
+    @Scheduled(cron = "${soundwrapped.featured.precompute-cron:0 5 * * * *}")
+    public void precompute() {
+        LocalDateTime now = LocalDateTime.now();
+        ensure(now.toLocalDate(), EnumSet.noneOf(Section.class));
+
+        if (now.getHour() >= leadHour)
+            ensure(now.toLocalDate().plusDays(1), EnumSet.noneOf(Section.class));
+    }
+
+    /**
+     * Published days, for monitoring.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<String, Object>();
+
+        published.get().forEach((date, day) -> {
+            Map<String, Object> entry = new LinkedHashMap<String, Object>();
+            entry.put("computedAt", String.valueOf(day.computedAt()));
+            entry.put("incomplete", incompleteSections(day.sections()));
+            status.put(date.toString(), entry);
+        });
+
+        return status;
+    }
+
+    private void computeInBackground(LocalDate day, Set<Section> forced) {
+        pendingForced.addAll(forced);
+
+        if (!backgroundPending.compareAndSet(false, true))
+            return;
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    ensure(day, drainForced());
+                }
+
+                finally {
+                    backgroundPending.set(false);
+                }
+
+                // Sections forced after this run took its set
+                if (!pendingForced.isEmpty())
+                    computeInBackground(LocalDate.now(), EnumSet.noneOf(Section.class));
+            });
+        }
+
+        catch (Exception e) {
+            // Executor saturated; forced sections stay pending for the next read or refresh
+            backgroundPending.set(false);
+        }
+    }
+
+    private Set<Section> drainForced() {
+        Set<Section> drained = EnumSet.noneOf(Section.class);
+
+        for (Section section : Section.values()) {
+            if (pendingForced.remove(section))
+                drained.add(section);
+        }
+
+        return drained;
+    }
+
+    /**
+     * Computes the sections of {@code day} that are forced, missing or
+     * incomplete, keeping every other section as stored. A recomputed section
+     * that comes back empty does not replace an earlier result.
+     */
+    void ensure(LocalDate day, Set<Section> forced) {
+        computeLock.lock();
+
+        try {
+            FeaturedDay existing = published.get().get(day);
+
+            if (existing == null)
+                existing = snapshotRepository.findByFeatureDate(day).map(this::toFeaturedDay).orElse(null);
+
+            Map<Section, Map<String, Object>> sections = new LinkedHashMap<Section, Map<String, Object>>();
+
+            if (existing != null)
+                sections.putAll(existing.sections());
+
+            Set<Section> toCompute = EnumSet.copyOf(incompleteSections(sections));
+            toCompute.addAll(forced);
+
+            if (toCompute.isEmpty()) {
+                if (existing != null && !published.get().containsKey(day))
+                    publish(existing);
+
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+
+            for (Section section : toCompute) {
+                try {
+                    Map<String, Object> content = compute(section, day);
+
+                    if (content != null && !content.isEmpty())
+                        sections.put(section, content);
+                }
+
+                catch (Exception e) {
+                    System.err.println("[Featured] ❌ Computing " + section + " for " + day + " failed: " + e.getMessage());
+                }
+            }
+
+            FeaturedSnapshot snapshot = snapshotRepository.findByFeatureDate(day).orElseGet(FeaturedSnapshot::new);
+            snapshot.setFeatureDate(day);
+            snapshot.setContentJson(objectMapper.writeValueAsString(sections));
+            publish(toFeaturedDay(snapshotRepository.save(snapshot)));
+
+            System.out.println("[Featured] ✅ Published " + toCompute + " for " + day + " in "
+                    + (System.currentTimeMillis() - start) + "ms; still incomplete: " + incompleteSections(sections));
+        }
+
+        catch (Exception e) {
+            System.err.println("[Featured] ❌ Precompute for " + day + " failed: " + e.getMessage());
+        }
+
+        finally {
+            computeLock.unlock();
+        }
+    }
+
+    private Map<String, Object> compute(Section section, LocalDate day) {
+        return switch (section) {
+            case GENRE -> soundWrappedService.computeFeaturedGenre(day);
+            case SONG -> soundWrappedService.computeFeaturedTrack(day);
+            case ARTIST -> soundWrappedService.computeFeaturedArtist(day);
+            case BUZZING -> soundWrappedService.computeBuzzingTrack(day);
+        };
+    }
+
+    /**
+     * Sections that are absent or came back without their essential content.
+     */
+    private static Set<Section> incompleteSections(Map<Section, Map<String, Object>> sections) {
+        Set<Section> incomplete = EnumSet.noneOf(Section.class);
+
+        for (Section section : Section.values()) {
+            Map<String, Object> content = sections.get(section);
+            boolean complete = content != null && !content.isEmpty() && switch (section) {
+                case GENRE -> content.get("tracks") instanceof Collection<?> tracks && !tracks.isEmpty();
+                case ARTIST -> content.get("description") instanceof String description && !description.isBlank();
+                case SONG, BUZZING -> true;
+            };
+
+            if (!complete)
+                incomplete.add(section);
+        }
+
+        return incomplete;
+    }
+
+    private void publish(FeaturedDay day) {
+        LocalDate oldestKept = LocalDate.now().minusDays(1);
+
+        published.updateAndGet(current -> {
+            NavigableMap<LocalDate, FeaturedDay> next = new TreeMap<LocalDate, FeaturedDay>(current);
+            next.put(day.date(), day);
+
+            // Keep yesterday as a fallback but drop anything older, unless it is all there is
+            while (next.size() > 1 && next.firstKey().isBefore(oldestKept))
+                next.pollFirstEntry();
+
+            return Collections.unmodifiableNavigableMap(next);
+        });
+    }
+
+    private FeaturedDay toFeaturedDay(FeaturedSnapshot snapshot) {
+        try {
+            Map<Section, Map<String, Object>> sections = objectMapper.readValue(snapshot.getContentJson(), SECTIONS_TYPE);
+            Map<Section, Map<String, Object>> frozen = new LinkedHashMap<Section, Map<String, Object>>();
+
+            sections.forEach((section, content) -> frozen.put(section, freezeMap(content)));
+
+            return new FeaturedDay(snapshot.getFeatureDate(), Collections.unmodifiableMap(frozen), snapshot.getComputedAt());
+        }
+
+        catch (Exception e) {
+            throw new IllegalStateException("Corrupt featured snapshot for " + snapshot.getFeatureDate() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> freezeMap(Map<String, Object> map) {
+        Map<String, Object> copy = new LinkedHashMap<String, Object>();
+        map.forEach((key, value) -> copy.put(key, freeze(value)));
+
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map)
+            return freezeMap((Map<String, Object>) map);
+
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<Object>(list.size());
+            list.forEach(item -> copy.add(freeze(item)));
+
+            return Collections.unmodifiableList(copy);
+        }
+
+        return value;
+    }
+}
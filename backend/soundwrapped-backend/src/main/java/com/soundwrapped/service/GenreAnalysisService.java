@@ -1,5 +1,6 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.model.SoundCloudTrack;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -23,24 +24,37 @@ public class GenreAnalysisService {
      * @return Set of unique genres/tags found in the track
      */
     public Set<String> extractGenresFromTrack(Map<String, Object> track) {
+        return extractGenres(
+            track.get("genre") instanceof String genre ? genre : null,
+            track.get("genre_family") instanceof String genreFamily ? genreFamily : null,
+            track.get("tag_list") instanceof String tagList ? tagList : null);
+    }
+
+    /**
+     * Extract genres from a typed track.
+     * 
+     * @param track Decoded SoundCloud track
+     * @return Set of unique genres/tags found in the track
+     */
+    public Set<String> extractGenresFromTrack(SoundCloudTrack track) {
+        return extractGenres(track.genre(), track.genreFamily(), track.tagList());
+    }
+
+    private Set<String> extractGenres(String genre, String genreFamily, String tagList) {
         Set<String> genres = new HashSet<String>();
         
         // Extract main genre
-        Object genreObj = track.get("genre");
-        if (genreObj instanceof String && !((String) genreObj).isBlank()) {
-            genres.add(normalizeGenre((String) genreObj));
+        if (genre != null && !genre.isBlank()) {
+            genres.add(normalizeGenre(genre));
         }
         
         // Extract genre_family
-        Object genreFamilyObj = track.get("genre_family");
-        if (genreFamilyObj instanceof String && !((String) genreFamilyObj).isBlank()) {
-            genres.add(normalizeGenre((String) genreFamilyObj));
+        if (genreFamily != null && !genreFamily.isBlank()) {
+            genres.add(normalizeGenre(genreFamily));
         }
         
         // Extract tags from tag_list
-        Object tagListObj = track.get("tag_list");
-        if (tagListObj instanceof String && !((String) tagListObj).isBlank()) {
-            String tagList = (String) tagListObj;
+        if (tagList != null && !tagList.isBlank()) {
             // Split by comma and process each tag
             String[] tags = tagList.split(",");
             for (String tag : tags) {
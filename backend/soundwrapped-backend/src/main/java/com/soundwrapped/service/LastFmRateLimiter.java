@@ -0,0 +1,96 @@
+package com.soundwrapped.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Process-wide token bucket for Last.fm API calls.
+ * <p>
+ * Last.fm allows roughly 5 requests per second per API key, across all users.
+ * The bucket refills at {@code rate-per-second} and holds at most
+ * {@code burst} permits; {@link #acquire()} blocks the calling thread until a
+ * permit is available, so concurrent user syncs share one budget.
+ * </p>
+ */
+@Service
+public class LastFmRateLimiter {
+    private final double permitsPerNano;
+    private final double maxPermits;
+
+    private double availablePermits;
+    private long lastRefillNanos;
+    private long totalWaitNanos;
+
+    public LastFmRateLimiter(
+            @Value("${soundwrapped.lastfm.rate-per-second:5}") double permitsPerSecond,
+            @Value("${soundwrapped.lastfm.burst:5}") int burst) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxPermits = Math.max(1, burst);
+        this.availablePermits = maxPermits;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one permit, waiting for the bucket to refill if it is empty.
+     * <p>
+     * The reserved slot is always waited out, since {@code parkNanos} may
+     * return early (spuriously or on interrupt). An interrupt does not cut
+     * the wait short; it is re-asserted once the permit is granted.
+     * </p>
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+
+        if (waitNanos <= 0)
+            return;
+
+        long deadline = System.nanoTime() + waitNanos;
+        boolean interrupted = false;
+
+        try {
+            while (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+
+                // Clear the flag so the next park actually blocks instead of spinning
+                if (Thread.interrupted())
+                    interrupted = true;
+
+                waitNanos = deadline - System.nanoTime();
+            }
+        }
+
+        finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Total time callers have spent waiting for permits
+     */
+    public synchronized long getTotalWaitMs() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+    }
+
+    /**
+     * Claims the next permit and returns how long the caller must wait for it.
+     * Permits may go negative: each waiter reserves its own future slot.
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        availablePermits = Math.min(maxPermits, availablePermits + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        availablePermits -= 1;
+
+        if (availablePermits >= 0)
+            return 0;
+
+        long waitNanos = (long) Math.ceil(-availablePermits / permitsPerNano);
+        totalWaitNanos += waitNanos;
+
+        return waitNanos;
+    }
+}
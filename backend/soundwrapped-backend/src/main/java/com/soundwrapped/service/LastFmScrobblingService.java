@@ -1,13 +1,14 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.config.CacheRegion.TrackSearchKey;
 import com.soundwrapped.entity.LastFmToken;
 import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.model.LastFmRecentTracksPage;
 import com.soundwrapped.repository.LastFmTokenRepository;
 import com.soundwrapped.repository.UserActivityRepository;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
 
@@ -23,8 +24,10 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * <h3>Pipeline</h3>
  * <ol>
- *   <li>Poll {@code user.getRecentTracks} every ~15 min</li>
- *   <li>For each scrobble, try to map artist+title → SoundCloud track ID</li>
+ *   <li>Poll {@code user.getRecentTracks} every ~15 min ({@link LastFmSyncScheduler}),
+ *       walking every page since the user's {@code lastSyncAt} watermark</li>
+ *   <li>Map each artist+title → SoundCloud track ID via {@link TrackMatchIndex},
+ *       searching SoundCloud only for pairs the index has not seen</li>
  *   <li>Store the activity (even if SC match fails — keeps Last.fm metadata)</li>
  *   <li>Run analytics on the combined activity table</li>
  * </ol>
@@ -38,133 +41,252 @@ public class LastFmScrobblingService {
     private final UserActivityRepository userActivityRepository;
     private final SoundWrappedService soundWrappedService;
     private final RestTemplate restTemplate;
+    private final TrackMatchIndex trackMatchIndex;
+    private final ListeningRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
 
-    /**
-     * In-memory cache: "artist|title" → SoundCloud track ID (or empty string for miss).
-     * Prevents re-searching for the same track on every poll cycle.
-     */
-    private final Map<String, String> scTrackCache = new ConcurrentHashMap<>();
+    /** Last.fm's maximum page size for user.getRecentTracks. */
+    private static final int PAGE_SIZE = 200;
+
+    // Users with an import running, so a manual sync cannot walk the same cursor as the scheduler
+    private final Set<String> importing = ConcurrentHashMap.newKeySet();
 
-    /** Minimum millis between consecutive Last.fm API calls (≈ 5 req/sec max). */
-    private static final long RATE_LIMIT_MS = 220;
+    /** A scrobble parsed out of the Last.fm response. */
+    private record Scrobble(String artist, String title, LocalDateTime playedAt, TrackSearchKey matchKey) {}
 
     public LastFmScrobblingService(
             LastFmService lastFmService,
             LastFmTokenRepository lastFmTokenRepository,
             UserActivityRepository userActivityRepository,
             SoundWrappedService soundWrappedService,
-            RestTemplate restTemplate) {
+            RestTemplate restTemplate,
+            TrackMatchIndex trackMatchIndex,
+            ListeningRollupService rollupService,
+            TransactionTemplate transactionTemplate) {
         this.lastFmService = lastFmService;
         this.lastFmTokenRepository = lastFmTokenRepository;
         this.userActivityRepository = userActivityRepository;
         this.soundWrappedService = soundWrappedService;
         this.restTemplate = restTemplate;
+        this.trackMatchIndex = trackMatchIndex;
+        this.rollupService = rollupService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     // ────────────────────────────────────────
-    //  Scheduled sync
+    //  Per-user sync
     // ────────────────────────────────────────
 
     /**
-     * Sync recent scrobbles for every connected Last.fm account.
-     * Runs every 15 minutes.  Requests are staggered per-user so we
-     * stay well within Last.fm's ~5 req/sec rate limit.
+     * Import every scrobble since the user's {@code lastSyncAt}, page by page.
+     * Called from {@link LastFmSyncScheduler} and, via its async entry point,
+     * from the controller on initial connect / manual sync.
+     * <p>
+     * An import covers a fixed window {@code (lastSyncAt, importWindowEnd]}.
+     * Last.fm returns newest scrobbles first, so the importer walks backwards
+     * with {@code importCursor} as the {@code to} bound of the next page. Each
+     * page's activities and the advanced cursor commit in one transaction, so
+     * a crash or API failure resumes from the last committed page. When the
+     * oldest page is reached, {@code lastSyncAt} moves to the window end.
+     * </p>
+     *
+     * @return number of new activities stored
      */
-    @Scheduled(fixedRate = 900_000) // 15 minutes
-    @Transactional
-    public void syncAllUsersScrobbles() {
-        if (!lastFmService.isConfigured()) return;
-
-        List<LastFmToken> tokens = lastFmTokenRepository.findAll();
-        System.out.println("[LastFmScrobbling] Syncing scrobbles for " + tokens.size() + " user(s)");
-
-        for (LastFmToken token : tokens) {
-            try {
-                syncUserScrobbles(token);
-                Thread.sleep(RATE_LIMIT_MS); // stagger between users
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                return;
-            } catch (Exception e) {
-                System.err.println("[LastFmScrobbling] Error syncing user "
-                    + token.getSoundcloudUserId() + ": " + e.getMessage());
+    public int syncUserScrobbles(LastFmToken token) {
+        if (!importing.add(token.getSoundcloudUserId())) {
+            System.out.println("[LastFmScrobbling] Import already running for user " + token.getSoundcloudUserId());
+            return 0;
+        }
+
+        try {
+            return importScrobbles(token);
+        }
+
+        finally {
+            importing.remove(token.getSoundcloudUserId());
+        }
+    }
+
+    private int importScrobbles(LastFmToken token) {
+        String userId = token.getSoundcloudUserId();
+
+        if (token.getImportWindowEnd() == null) {
+            LocalDateTime windowEnd = LocalDateTime.now();
+            token.setImportWindowEnd(windowEnd);
+            token.setImportCursor(windowEnd);
+            lastFmTokenRepository.save(token);
+        }
+
+        else
+            System.out.println("[LastFmScrobbling] Resuming import for user " + userId
+                + " at " + token.getImportCursor());
+
+        long fromEpoch = toEpochSecond(token.getLastSyncAt());
+        long start = System.currentTimeMillis();
+        int synced = 0;
+        int pages = 0;
+
+        while (true) {
+            LastFmRecentTracksPage page = lastFmService.getRecentTracksPage(
+                token.getLastFmUsername(), fromEpoch, toEpochSecond(token.getImportCursor()), PAGE_SIZE);
+
+            if (page == null) {
+                // API failure: the committed cursor is kept and the next sync resumes here
+                System.err.println("[LastFmScrobbling] Import paused for user " + userId + " after " + pages + " page(s)");
+                break;
             }
+
+            // Paging is decided on the raw page: parsing drops now-playing and incomplete rows
+            List<Scrobble> scrobbles = parseScrobbles(page.tracks());
+            boolean lastPage = !page.hasMore(PAGE_SIZE);
+            LocalDateTime nextCursor = lastPage ? null : nextCursor(oldestPlayedAt(page.tracks()), token.getImportCursor());
+            Map<TrackSearchKey, String> scTrackIds = resolveSoundCloudTrackIds(scrobbles);
+
+            Integer written = transactionTemplate.execute(status -> {
+                int count = writeActivities(userId, scrobbles, scTrackIds);
+
+                if (lastPage) {
+                    token.setLastSyncAt(token.getImportWindowEnd());
+                    token.setImportWindowEnd(null);
+                    token.setImportCursor(null);
+                }
+
+                else
+                    token.setImportCursor(nextCursor);
+
+                lastFmTokenRepository.save(token);
+
+                return count;
+            });
+
+            synced += written != null ? written : 0;
+            pages++;
+
+            if (lastPage)
+                break;
         }
+
+        System.out.println("[LastFmScrobbling] ✅ Synced " + synced + " new track(s) in " + pages
+            + " page(s) for user " + userId + " (" + (System.currentTimeMillis() - start) + "ms)");
+
+        return synced;
     }
 
     /**
-     * Sync scrobbles for a single user.  Called from scheduler and also
-     * from the controller on initial connect / manual sync.
+     * The next page ends at the oldest scrobble of this one. The {@code to} bound
+     * is exclusive, so it is pushed one second later to pick up other scrobbles
+     * sharing that second (re-reads are removed by the duplicate guard), but it
+     * must always move backwards or the import would never finish.
      */
-    @Transactional
-    public void syncUserScrobbles(LastFmToken token) {
-        long fromEpoch = token.getLastSyncAt()
-            .atZone(ZoneId.systemDefault())
-            .toEpochSecond();
-
-        List<Map<String, Object>> tracks =
-            lastFmService.getRecentTracks(token.getLastFmUsername(), fromEpoch, 200);
-
-        if (tracks.isEmpty()) {
-            System.out.println("[LastFmScrobbling] No new scrobbles for user " + token.getSoundcloudUserId());
-            return;
-        }
+    private static LocalDateTime nextCursor(LocalDateTime oldest, LocalDateTime cursor) {
+        if (oldest == null)
+            oldest = cursor;
 
-        System.out.println("[LastFmScrobbling] Found " + tracks.size()
-            + " scrobble(s) for user " + token.getSoundcloudUserId());
+        LocalDateTime next = oldest.plusSeconds(1);
 
-        int synced = 0;
+        if (!next.isBefore(cursor))
+            next = oldest;
+
+        if (!next.isBefore(cursor))
+            next = cursor.minusSeconds(1);
+
+        return next;
+    }
+
+    /** Oldest completed scrobble on the raw page, whether or not it parsed, or null if none. */
+    private LocalDateTime oldestPlayedAt(List<Map<String, Object>> tracks) {
+        return tracks.stream()
+            .filter(raw -> !isNowPlaying(raw))
+            .map(this::extractScrobbleTimestamp)
+            .filter(Objects::nonNull)
+            .min(Long::compare)
+            .map(LastFmScrobblingService::toLocalDateTime)
+            .orElse(null);
+    }
+
+    private List<Scrobble> parseScrobbles(List<Map<String, Object>> tracks) {
+        List<Scrobble> scrobbles = new ArrayList<>();
         for (Map<String, Object> raw : tracks) {
-            try {
-                // Skip "now playing" entries (no date / @attr.nowplaying)
-                if (isNowPlaying(raw)) continue;
-
-                String artist = extractArtistName(raw);
-                String title  = extractString(raw, "name");
-                Long   epoch  = extractScrobbleTimestamp(raw);
-
-                if (artist == null || title == null || epoch == null) continue;
-
-                LocalDateTime playedAt = LocalDateTime.ofInstant(
-                    Instant.ofEpochSecond(epoch), ZoneId.systemDefault());
-
-                // Try to find SoundCloud track. Use artist|title as DB trackId for unmatched.
-                String scTrackId = findSoundCloudTrackId(artist, title);
-                String trackIdForDb = scTrackId != null ? scTrackId : (artist + "|" + title);
-
-                // Duplicate guard: exact user + track + type + timestamp
-                boolean exists = userActivityRepository
-                    .existsBySoundcloudUserIdAndTrackIdAndActivityTypeAndCreatedAt(
-                        token.getSoundcloudUserId(),
-                        trackIdForDb,
-                        UserActivity.ActivityType.PLAY,
-                        playedAt);
-
-                if (exists) continue;
-
-                UserActivity activity = new UserActivity();
-                activity.setSoundcloudUserId(token.getSoundcloudUserId());
-                activity.setTrackId(trackIdForDb);
-                activity.setActivityType(UserActivity.ActivityType.PLAY);
-                activity.setSource(UserActivity.ActivitySource.LASTFM);
-                activity.setPlayDurationMs(180_000L); // Last.fm doesn't expose duration
-                activity.setCreatedAt(playedAt);
-                activity.setLastFmArtist(artist);
-                activity.setLastFmTrack(title);
-                activity.setMatchedSoundCloudTrackId(scTrackId); // null if unmatched
-
-                userActivityRepository.save(activity);
-                synced++;
-            } catch (Exception e) {
-                System.err.println("[LastFmScrobbling] Error processing track: " + e.getMessage());
-            }
+            // Skip "now playing" entries (no date / @attr.nowplaying)
+            if (isNowPlaying(raw)) continue;
+
+            String artist = extractArtistName(raw);
+            String title  = extractString(raw, "name");
+            Long   epoch  = extractScrobbleTimestamp(raw);
+
+            if (artist == null || title == null || epoch == null) continue;
+
+            LocalDateTime playedAt = toLocalDateTime(epoch);
+            scrobbles.add(new Scrobble(artist, title, playedAt,
+                TrackSearchKey.of(normalize(artist), normalize(title))));
         }
 
-        token.setLastSyncAt(LocalDateTime.now());
-        lastFmTokenRepository.save(token);
+        return scrobbles;
+    }
 
-        System.out.println("[LastFmScrobbling] ✅ Synced " + synced
-            + " new track(s) for user " + token.getSoundcloudUserId());
+    /**
+     * Build the page's new activities and insert them in one JDBC batch.
+     * <p>
+     * Duplicates (same user + track + type + timestamp, e.g. from a resumed
+     * page or an overlapping cursor) are filtered against one prefetch of the
+     * existing activities in the page's time window, instead of an exists
+     * query per scrobble.
+     * </p>
+     */
+    private int writeActivities(String userId, List<Scrobble> scrobbles, Map<TrackSearchKey, String> scTrackIds) {
+        if (scrobbles.isEmpty()) return 0;
+
+        LocalDateTime windowStart = scrobbles.stream().map(Scrobble::playedAt).min(LocalDateTime::compareTo).get();
+        LocalDateTime windowEnd = scrobbles.stream().map(Scrobble::playedAt).max(LocalDateTime::compareTo).get();
+
+        Set<String> seen = new HashSet<>();
+        for (Object[] row : userActivityRepository.findTrackIdsAndTimestampsInWindow(
+                userId, UserActivity.ActivityType.PLAY, windowStart, windowEnd))
+            seen.add(dedupKey((String) row[0], (LocalDateTime) row[1]));
+
+        List<UserActivity> batch = new ArrayList<>();
+
+        for (Scrobble scrobble : scrobbles) {
+            // Use artist|title as DB trackId for unmatched.
+            String scTrackId = scTrackIds.get(scrobble.matchKey());
+            if (scTrackId != null && scTrackId.isEmpty()) scTrackId = null;
+            String trackIdForDb = scTrackId != null ? scTrackId : (scrobble.artist() + "|" + scrobble.title());
+
+            // Also catches repeats within the page itself
+            if (!seen.add(dedupKey(trackIdForDb, scrobble.playedAt()))) continue;
+
+            UserActivity activity = new UserActivity();
+            activity.setSoundcloudUserId(userId);
+            activity.setTrackId(trackIdForDb);
+            activity.setActivityType(UserActivity.ActivityType.PLAY);
+            activity.setSource(UserActivity.ActivitySource.LASTFM);
+            activity.setPlayDurationMs(180_000L); // Last.fm doesn't expose duration
+            activity.setCreatedAt(scrobble.playedAt());
+            activity.setLastFmArtist(scrobble.artist());
+            activity.setLastFmTrack(scrobble.title());
+            activity.setMatchedSoundCloudTrackId(scTrackId); // null if unmatched
+            batch.add(activity);
+        }
+
+        rollupService.apply(userActivityRepository.saveAllAndFlush(batch));
+
+        return batch.size();
+    }
+
+    private static String dedupKey(String trackId, LocalDateTime createdAt) {
+        return trackId + "@" + createdAt;
+    }
+
+    /**
+     * Scrobble times, the watermark and the cursor are all stored as local
+     * times in the system zone, matching {@link UserActivity#getCreatedAt()}.
+     */
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
     }
 
     // ────────────────────────────────────────
@@ -172,19 +294,45 @@ public class LastFmScrobblingService {
     // ────────────────────────────────────────
 
     /**
-     * Search SoundCloud for a track matching the given artist + title.
-     * Results are cached in-memory so repeated polls don't re-search.
-     * Uses fuzzy name normalization for comparison.
+     * Map every distinct artist + title in the batch to a SoundCloud track ID.
+     * Known pairs come from {@link TrackMatchIndex} in one bulk lookup; only
+     * the rest are searched on SoundCloud, and their outcome (match or miss)
+     * is recorded in the index.
      *
-     * @return SoundCloud track ID as a String, or null if no confident match
+     * @return Track ID, or {@link TrackMatchIndex#NO_MATCH}, per resolved key;
+     *         keys whose search failed are absent
      */
-    private String findSoundCloudTrackId(String artist, String title) {
-        String cacheKey = normalize(artist) + "|" + normalize(title);
-        if (scTrackCache.containsKey(cacheKey)) {
-            String cached = scTrackCache.get(cacheKey);
-            return cached.isEmpty() ? null : cached;
+    private Map<TrackSearchKey, String> resolveSoundCloudTrackIds(List<Scrobble> scrobbles) {
+        Map<TrackSearchKey, Scrobble> distinct = new LinkedHashMap<>();
+        for (Scrobble scrobble : scrobbles)
+            distinct.putIfAbsent(scrobble.matchKey(), scrobble);
+
+        Map<TrackSearchKey, String> resolved = new HashMap<>(trackMatchIndex.lookupAll(distinct.keySet()));
+        int searched = 0;
+
+        for (Map.Entry<TrackSearchKey, Scrobble> entry : distinct.entrySet()) {
+            if (resolved.containsKey(entry.getKey())) continue;
+
+            String id = searchSoundCloudTrackId(entry.getValue().artist(), entry.getValue().title());
+            searched++;
+
+            if (id == null) continue; // search failed, retry next poll
+
+            trackMatchIndex.record(entry.getKey(), id.isEmpty() ? null : id);
+            resolved.put(entry.getKey(), id);
         }
 
+        System.out.println("[LastFmScrobbling] Track matching: " + distinct.size() + " distinct, "
+            + (distinct.size() - searched) + " from index, " + searched + " searched");
+
+        return resolved;
+    }
+
+    /**
+     * @return Matching track ID, "" when the search completed without a match,
+     *         or null when the search itself failed and should be retried later
+     */
+    private String searchSoundCloudTrackId(String artist, String title) {
         try {
             String clientId = soundWrappedService.getClientId();
             if (clientId == null || clientId.isEmpty()) return null;
@@ -218,22 +366,18 @@ public class LastFmScrobblingService {
                     }
 
                     if (fuzzyMatch(artist, scArtist) && fuzzyMatch(title, scTitle)) {
-                        String id = String.valueOf(track.get("id"));
-                        scTrackCache.put(cacheKey, id);
-
-                        return id;
+                        return String.valueOf(track.get("id"));
                     }
                 }
             }
+
+            return ""; // negative cache: searched, no confident match
         }
 
         catch (Exception e) {
-            // Track may simply not exist on SoundCloud — that's fine
+            // Network or API error — don't cache, the next poll retries
+            return null;
         }
-
-        scTrackCache.put(cacheKey, ""); // negative cache
-
-        return null;
     }
 
     // ────────────────────────────────────────
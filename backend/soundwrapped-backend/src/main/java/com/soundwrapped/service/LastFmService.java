@@ -1,5 +1,6 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.model.LastFmRecentTracksPage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
@@ -25,6 +26,7 @@ import java.util.*;
 public class LastFmService {
 
     private final RestTemplate restTemplate;
+    private final LastFmRateLimiter rateLimiter;
 
     @Value("${lastfm.api-key:}")
     private String apiKey;
@@ -34,8 +36,9 @@ public class LastFmService {
 
     private static final String API_BASE = "https://ws.audioscrobbler.com/2.0";
 
-    public LastFmService(RestTemplate restTemplate) {
+    public LastFmService(RestTemplate restTemplate, LastFmRateLimiter rateLimiter) {
         this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
     }
 
     // ────────────────────────────────────────
@@ -150,34 +153,70 @@ public class LastFmService {
      * @return list of track maps, never null
      */
     public List<Map<String, Object>> getRecentTracks(String username, long fromTimestamp, int limit) {
+        LastFmRecentTracksPage page = getRecentTracksPage(username, fromTimestamp, null, limit);
+
+        return page != null ? page.tracks() : Collections.emptyList();
+    }
+
+    /**
+     * Fetch one page of a user's scrobbles in the window {@code (from, to)},
+     * newest first. Page through older scrobbles by moving {@code to} back to
+     * the oldest timestamp returned.
+     *
+     * @param username      Last.fm username
+     * @param fromTimestamp UNIX epoch seconds (exclusive lower bound)
+     * @param toTimestamp   UNIX epoch seconds (exclusive upper bound), or null for now
+     * @param limit         max tracks per page (max 200)
+     * @return the page's track maps (empty when the window has no scrobbles)
+     *         and page count, or null if the API call failed
+     */
+    public LastFmRecentTracksPage getRecentTracksPage(String username, long fromTimestamp, Long toTimestamp, int limit) {
         Map<String, String> params = new LinkedHashMap<>();
         params.put("method", "user.getRecentTracks");
         params.put("user", username);
         params.put("api_key", apiKey);
         params.put("from", String.valueOf(fromTimestamp));
+        if (toTimestamp != null) params.put("to", String.valueOf(toTimestamp));
         params.put("limit", String.valueOf(Math.min(limit, 200)));
         params.put("format", "json");
         // user.getRecentTracks is a public/read-only method — no api_sig needed
 
         Map<String, Object> body = doGet(params);
-        if (body == null) return Collections.emptyList();
+        if (body == null) return null;
 
         Map<String, Object> wrapper = safeMap(body.get("recenttracks"));
-        if (wrapper == null) return Collections.emptyList();
+        if (wrapper == null) return null;
 
+        int totalPages = parseInt(safeMap(wrapper.get("@attr")), "totalPages");
         Object trackObj = wrapper.get("track");
         if (trackObj instanceof List<?>) {
             @SuppressWarnings("unchecked")
             List<Map<String, Object>> tracks = (List<Map<String, Object>>) trackObj;
-            return tracks;
+            return new LastFmRecentTracksPage(tracks, totalPages);
         }
         // Last.fm returns a single object instead of a list when there is only 1 track
         if (trackObj instanceof Map) {
             @SuppressWarnings("unchecked")
             Map<String, Object> single = (Map<String, Object>) trackObj;
-            return Collections.singletonList(single);
+            return new LastFmRecentTracksPage(Collections.singletonList(single), totalPages);
+        }
+        return new LastFmRecentTracksPage(Collections.emptyList(), totalPages);
+    }
+
+    /** Last.fm sends numbers in {@code @attr} as strings; 0 when absent or malformed. */
+    private static int parseInt(Map<String, Object> map, String key) {
+        Object value = map != null ? map.get(key) : null;
+
+        if (value instanceof Number number)
+            return number.intValue();
+
+        try {
+            return value != null ? Integer.parseInt(String.valueOf(value)) : 0;
+        }
+
+        catch (NumberFormatException e) {
+            return 0;
         }
-        return Collections.emptyList();
     }
 
     // ────────────────────────────────────────
@@ -207,6 +246,9 @@ public class LastFmService {
     // ── private helpers ──
 
     private Map<String, Object> doGet(Map<String, String> params) {
+        // Shared budget across all concurrent callers
+        rateLimiter.acquire();
+
         try {
             UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(API_BASE);
             params.forEach(builder::queryParam);
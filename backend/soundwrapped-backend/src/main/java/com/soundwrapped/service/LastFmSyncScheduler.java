@@ -0,0 +1,175 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.entity.LastFmToken;
+import com.soundwrapped.repository.LastFmTokenRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically syncs recent scrobbles for every connected Last.fm account.
+ * <p>
+ * Users are synced concurrently, at most {@code concurrency} at a time, with
+ * the stalest {@code lastSyncAt} first. Each page of a user's import commits
+ * in its own transaction ({@link LastFmScrobblingService#syncUserScrobbles}),
+ * so a failure only pauses that user's import. Last.fm request rate is bounded globally by
+ * {@link LastFmRateLimiter} rather than by sleeping between users.
+ * </p>
+ */
+@Service
+public class LastFmSyncScheduler {
+    private final LastFmService lastFmService;
+    private final LastFmTokenRepository lastFmTokenRepository;
+    private final LastFmScrobblingService lastFmScrobblingService;
+    private final LastFmRateLimiter rateLimiter;
+    private final Executor taskExecutor;
+
+    @Value("${soundwrapped.lastfm.sync.concurrency:4}")
+    private int concurrency = 4;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastRunStats = Collections.emptyMap();
+
+    public LastFmSyncScheduler(
+            LastFmService lastFmService,
+            LastFmTokenRepository lastFmTokenRepository,
+            LastFmScrobblingService lastFmScrobblingService,
+            LastFmRateLimiter rateLimiter,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.lastFmService = lastFmService;
+        this.lastFmTokenRepository = lastFmTokenRepository;
+        this.lastFmScrobblingService = lastFmScrobblingService;
+        this.rateLimiter = rateLimiter;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Runs every 15 minutes. A run that is still going when the next one is
+     * due makes the next one a no-op instead of overlapping it.
+     */
+    @Scheduled(fixedRate = 900_000) // 15 minutes
+    public void syncAllUsersScrobbles() {
+        if (!lastFmService.isConfigured()) return;
+
+        if (!running.compareAndSet(false, true)) {
+            System.out.println("[LastFmSync] Previous run still in progress, skipping");
+            return;
+        }
+
+        try {
+            lastRunStats = runSync();
+        }
+
+        finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Starts one user's import on the task executor, e.g. right after they
+     * connect Last.fm, so the calling request does not wait for their history.
+     *
+     * @return Number of new activities stored once the import finishes
+     */
+    public CompletableFuture<Integer> syncUserAsync(LastFmToken token) {
+        return CompletableFuture.supplyAsync(() -> lastFmScrobblingService.syncUserScrobbles(token), taskExecutor);
+    }
+
+    /**
+     * @return Metrics from the most recent completed run (empty before the first run)
+     */
+    public Map<String, Object> getLastRunStats() {
+        return lastRunStats;
+    }
+
+    private Map<String, Object> runSync() {
+        List<LastFmToken> tokens = lastFmTokenRepository.findAllByOrderByLastSyncAtAsc();
+        long start = System.currentTimeMillis();
+        long rateLimitWaitBefore = rateLimiter.getTotalWaitMs();
+        LocalDateTime now = LocalDateTime.now();
+
+        long maxLagMinutes = 0;
+        long totalLagMinutes = 0;
+        for (LastFmToken token : tokens) {
+            long lag = Duration.between(token.getLastSyncAt(), now).toMinutes();
+            maxLagMinutes = Math.max(maxLagMinutes, lag);
+            totalLagMinutes += lag;
+        }
+
+        System.out.println("[LastFmSync] Syncing scrobbles for " + tokens.size() + " user(s), "
+            + concurrency + " at a time (max lag " + maxLagMinutes + " min)");
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger scrobbles = new AtomicInteger();
+        Semaphore slots = new Semaphore(Math.max(1, concurrency));
+        List<CompletableFuture<Void>> syncs = new ArrayList<>();
+
+        // Submit in staleness order; the semaphore keeps later users waiting for a free slot
+        for (LastFmToken token : tokens) {
+            try {
+                slots.acquire();
+            }
+
+            catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            try {
+                syncs.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        scrobbles.addAndGet(lastFmScrobblingService.syncUserScrobbles(token));
+                        succeeded.incrementAndGet();
+                    }
+
+                    catch (Exception e) {
+                        failed.incrementAndGet();
+                        System.err.println("[LastFmSync] Error syncing user "
+                            + token.getSoundcloudUserId() + ": " + e.getMessage());
+                    }
+
+                    finally {
+                        slots.release();
+                    }
+                }, taskExecutor));
+            }
+
+            catch (Exception e) {
+                // Executor rejected the task; this user is retried next run
+                slots.release();
+                failed.incrementAndGet();
+            }
+        }
+
+        CompletableFuture.allOf(syncs.toArray(new CompletableFuture<?>[0])).join();
+
+        long durationMs = Math.max(1, System.currentTimeMillis() - start);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("finishedAt", LocalDateTime.now().toString());
+        stats.put("users", tokens.size());
+        stats.put("succeeded", succeeded.get());
+        stats.put("failed", failed.get());
+        stats.put("scrobblesSynced", scrobbles.get());
+        stats.put("durationMs", durationMs);
+        stats.put("usersPerSecond", tokens.size() * 1000.0 / durationMs);
+        stats.put("scrobblesPerSecond", scrobbles.get() * 1000.0 / durationMs);
+        stats.put("maxLagMinutes", maxLagMinutes);
+        stats.put("avgLagMinutes", tokens.isEmpty() ? 0 : totalLagMinutes / tokens.size());
+        stats.put("rateLimitWaitMs", rateLimiter.getTotalWaitMs() - rateLimitWaitBefore);
+
+        System.out.println("[LastFmSync] ✅ Run finished: " + stats);
+
+        return stats;
+    }
+}
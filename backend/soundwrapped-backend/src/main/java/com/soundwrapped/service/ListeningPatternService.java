@@ -1,7 +1,6 @@
 package com.soundwrapped.service;
 
-import com.soundwrapped.entity.UserActivity;
-import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.entity.ListeningRollup;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
@@ -16,10 +15,10 @@ import java.util.*;
 @Service
 public class ListeningPatternService {
 
-    private final UserActivityRepository activityRepository;
+    private final ListeningRollupService rollupService;
 
-    public ListeningPatternService(UserActivityRepository activityRepository) {
-        this.activityRepository = activityRepository;
+    public ListeningPatternService(ListeningRollupService rollupService) {
+        this.rollupService = rollupService;
     }
 
     /**
@@ -31,18 +30,14 @@ public class ListeningPatternService {
     public Map<String, Object> analyzeListeningPatterns(String soundcloudUserId) {
         Map<String, Object> analysis = new HashMap<String, Object>();
         
-        // Get all play activities for current year
+        // Hourly rollups for the current year (at most 24 rows per active day)
         LocalDateTime yearStart = Year.now().atDay(1).atStartOfDay();
         LocalDateTime yearEnd = LocalDateTime.now();
         
-        List<UserActivity> playActivities = activityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
-            soundcloudUserId,
-            UserActivity.ActivityType.PLAY,
-            yearStart,
-            yearEnd
-        );
+        List<ListeningRollup> rollups = rollupService.getRollups(soundcloudUserId, yearStart, yearEnd);
+        long totalPlays = rollups.stream().mapToLong(ListeningRollup::getPlays).sum();
         
-        if (playActivities.isEmpty()) {
+        if (totalPlays == 0) {
             analysis.put("hasData", false);
             analysis.put("message", "Not enough listening data to analyze patterns");
             return analysis;
@@ -56,18 +51,23 @@ public class ListeningPatternService {
         Map<DayOfWeek, Integer> dayCounts = new HashMap<DayOfWeek, Integer>();
         Map<DayOfWeek, Long> dayListeningMs = new HashMap<DayOfWeek, Long>();
         
-        for (UserActivity activity : playActivities) {
-            LocalDateTime createdAt = activity.getCreatedAt();
-            int hour = createdAt.getHour();
-            DayOfWeek dayOfWeek = createdAt.getDayOfWeek();
-            long durationMs = activity.getPlayDurationMs() != null ? activity.getPlayDurationMs() : 0L;
+        for (ListeningRollup rollup : rollups) {
+            if (rollup.getPlays() == 0) {
+                continue;
+            }
+            
+            LocalDateTime bucketStart = rollup.getBucketStart();
+            int hour = bucketStart.getHour();
+            DayOfWeek dayOfWeek = bucketStart.getDayOfWeek();
+            int plays = (int) rollup.getPlays();
+            long durationMs = rollup.getListeningMs();
             
             // Count by hour
-            hourCounts.put(hour, hourCounts.getOrDefault(hour, 0) + 1);
+            hourCounts.put(hour, hourCounts.getOrDefault(hour, 0) + plays);
             hourListeningMs.put(hour, hourListeningMs.getOrDefault(hour, 0L) + durationMs);
             
             // Count by day of week
-            dayCounts.put(dayOfWeek, dayCounts.getOrDefault(dayOfWeek, 0) + 1);
+            dayCounts.put(dayOfWeek, dayCounts.getOrDefault(dayOfWeek, 0) + plays);
             dayListeningMs.put(dayOfWeek, dayListeningMs.getOrDefault(dayOfWeek, 0L) + durationMs);
         }
         
@@ -112,7 +112,7 @@ public class ListeningPatternService {
         }
         
         analysis.put("hasData", true);
-        analysis.put("totalPlays", playActivities.size());
+        analysis.put("totalPlays", (int) totalPlays);
         analysis.put("peakHour", peakHour);
         analysis.put("peakHourLabel", peakHour >= 0 ? formatHour(peakHour) : "N/A");
         analysis.put("peakDay", peakDay != null ? peakDay.name() : "N/A");
@@ -0,0 +1,199 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.entity.ListeningRollup;
+import com.soundwrapped.entity.MaintenanceMarker;
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.repository.ListeningRollupRepository;
+import com.soundwrapped.repository.MaintenanceMarkerRepository;
+import com.soundwrapped.repository.ListeningRollupRepository.RollupTotals;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Maintains and reads the hourly {@link ListeningRollup} aggregates.
+ * <p>
+ * Every writer of {@code user_activities} calls {@link #apply} with the rows
+ * it just flushed, inside the same transaction, so rollups commit or roll back
+ * with the activities. Counters are applied as {@code INSERT ... ON CONFLICT}
+ * deltas. {@link #backfill()} rebuilds rollups from the raw table; it runs
+ * once at startup, and a {@link MaintenanceMarker} records that it finished
+ * so later startups skip it even though {@link #apply} has written rows since.
+ * </p>
+ * <p>
+ * The backfill overwrites buckets while writers are live, so the two are
+ * ordered by an advisory lock: {@link #apply} holds it shared until its
+ * transaction ends, the backfill exclusively. Writes committed before the
+ * backfill are in its snapshot; writes that wait for it add their deltas on
+ * top of its totals.
+ * </p>
+ */
+@Service
+public class ListeningRollupService {
+
+    private static final String UPSERT_DELTA_SQL =
+        "INSERT INTO listening_rollups (soundcloud_user_id, bucket_start, plays, listening_ms, likes, reposts, shares) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+        + "ON CONFLICT (soundcloud_user_id, bucket_start) DO UPDATE SET "
+        + "plays = listening_rollups.plays + EXCLUDED.plays, "
+        + "listening_ms = listening_rollups.listening_ms + EXCLUDED.listening_ms, "
+        + "likes = listening_rollups.likes + EXCLUDED.likes, "
+        + "reposts = listening_rollups.reposts + EXCLUDED.reposts, "
+        + "shares = listening_rollups.shares + EXCLUDED.shares";
+
+    // Recomputes buckets from raw rows; overwrites so it can be re-run safely
+    private static final String BACKFILL_SQL =
+        "INSERT INTO listening_rollups (soundcloud_user_id, bucket_start, plays, listening_ms, likes, reposts, shares) "
+        + "SELECT soundcloud_user_id, date_trunc('hour', created_at), "
+        + "COUNT(*) FILTER (WHERE activity_type = 'PLAY'), "
+        + "COALESCE(SUM(play_duration_ms) FILTER (WHERE activity_type = 'PLAY'), 0), "
+        + "COUNT(*) FILTER (WHERE activity_type = 'LIKE'), "
+        + "COUNT(*) FILTER (WHERE activity_type = 'REPOST'), "
+        + "COUNT(*) FILTER (WHERE activity_type = 'SHARE') "
+        + "FROM user_activities GROUP BY soundcloud_user_id, date_trunc('hour', created_at) "
+        + "ON CONFLICT (soundcloud_user_id, bucket_start) DO UPDATE SET "
+        + "plays = EXCLUDED.plays, listening_ms = EXCLUDED.listening_ms, likes = EXCLUDED.likes, "
+        + "reposts = EXCLUDED.reposts, shares = EXCLUDED.shares";
+
+    static final String BACKFILL_MARKER = "listening_rollups_backfill";
+
+    private static final String BACKFILL_LOCK_KEY = "hashtext('" + BACKFILL_MARKER + "')";
+
+    private final ListeningRollupRepository rollupRepository;
+    private final MaintenanceMarkerRepository markerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+
+    @Value("${soundwrapped.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup = true;
+
+    /** Counter deltas for one (user, hour) bucket. */
+    private static final class Delta {
+        long plays, listeningMs, likes, reposts, shares;
+    }
+
+    private record BucketKey(String soundcloudUserId, LocalDateTime bucketStart) {}
+
+    public ListeningRollupService(
+            ListeningRollupRepository rollupRepository,
+            MaintenanceMarkerRepository markerRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.rollupRepository = rollupRepository;
+        this.markerRepository = markerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Folds newly inserted activities into their hourly buckets. Call inside
+     * the transaction that inserted them.
+     */
+    public void apply(Collection<UserActivity> activities) {
+        if (activities.isEmpty())
+            return;
+
+        Map<BucketKey, Delta> deltas = new LinkedHashMap<>();
+
+        for (UserActivity activity : activities) {
+            BucketKey key = new BucketKey(activity.getSoundcloudUserId(), bucketOf(activity.getCreatedAt()));
+            Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+
+            switch (activity.getActivityType()) {
+                case PLAY -> {
+                    delta.plays++;
+                    delta.listeningMs += activity.getPlayDurationMs() != null ? activity.getPlayDurationMs() : 0L;
+                }
+                case LIKE -> delta.likes++;
+                case REPOST -> delta.reposts++;
+                case SHARE -> delta.shares++;
+            }
+        }
+
+        List<Object[]> upserts = new ArrayList<>();
+
+        deltas.forEach((key, delta) -> upserts.add(new Object[] { key.soundcloudUserId(),
+            Timestamp.valueOf(key.bucketStart()), delta.plays, delta.listeningMs, delta.likes, delta.reposts, delta.shares }));
+
+        // Waits out a running backfill, and holds it off until these deltas commit
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock_shared(" + BACKFILL_LOCK_KEY + ")");
+        jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, upserts);
+    }
+
+    /**
+     * Rebuilds every bucket that has raw activity from {@code user_activities}.
+     * Call inside a transaction; concurrent {@link #apply} calls wait for it to end.
+     *
+     * @return number of rollup rows written
+     */
+    public int backfill() {
+        long start = System.currentTimeMillis();
+        // Taken before the INSERT's snapshot, so every delta already applied is also in the raw rows it reads
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + BACKFILL_LOCK_KEY + ")");
+        int rows = jdbcTemplate.update(BACKFILL_SQL);
+        System.out.println("[ListeningRollup] Backfilled " + rows + " bucket(s) in "
+            + (System.currentTimeMillis() - start) + "ms");
+
+        return rows;
+    }
+
+    /**
+     * Runs {@link #backfill()} unless a previous run recorded its marker. A
+     * failed backfill leaves no marker, so the next startup tries again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfNeeded() {
+        if (!backfillOnStartup)
+            return;
+
+        taskExecutor.execute(() -> {
+            try {
+                if (markerRepository.existsById(BACKFILL_MARKER))
+                    return;
+
+                // The marker commits with the rebuilt buckets, or neither does
+                transactionTemplate.executeWithoutResult(status -> {
+                    backfill();
+                    markerRepository.save(new MaintenanceMarker(BACKFILL_MARKER));
+                });
+            }
+
+            catch (Exception e) {
+                System.err.println("[ListeningRollup] ⚠️ Startup backfill failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Hourly rollup rows for a user whose bucket falls in the window.
+     */
+    public List<ListeningRollup> getRollups(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
+        return rollupRepository.findBySoundcloudUserIdAndBucketStartBetweenOrderByBucketStart(
+            soundcloudUserId, bucketOf(startDate), endDate);
+    }
+
+    /**
+     * Summed counters for a user. Windows are resolved to whole hours: an
+     * activity counts if its hour bucket starts within the window.
+     */
+    public RollupTotals getTotals(String soundcloudUserId, LocalDateTime startDate, LocalDateTime endDate) {
+        return rollupRepository.sumTotals(soundcloudUserId, bucketOf(startDate), endDate);
+    }
+
+    static LocalDateTime bucketOf(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+}
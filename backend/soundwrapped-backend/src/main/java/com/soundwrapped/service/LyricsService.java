@@ -2,8 +2,12 @@ package com.soundwrapped.service;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -22,13 +26,17 @@ public class LyricsService {
     
     /**
      * Fetches lyrics for a track using Lyrics.ovh API.
-     * Results are cached for 7 days since lyrics rarely change.
+     * Results are cached for 7 days since lyrics rarely change; a miss is
+     * remembered for the shorter negative TTL of the "lyrics" cache.
+     * Timeouts, rate limits and server errors are thrown instead, so they are
+     * never cached as a miss.
      * 
      * @param artist Artist name
      * @param title Track title
      * @return Lyrics text or null if not found
+     * @throws RestClientException if Lyrics.ovh could not answer
      */
-    @Cacheable(value = "lyrics", key = "#artist + '|' + #title", unless = "#result == null")
+    @Cacheable(value = "lyrics", key = "#artist + '|' + #title", sync = true)
     public String getLyrics(String artist, String title) {
         if (artist == null || artist.isEmpty() || title == null || title.isEmpty()) {
             return null;
@@ -41,8 +49,8 @@ public class LyricsService {
             
             // Lyrics.ovh API format: /v1/{artist}/{title}
             String url = LYRICS_API_BASE_URL + "/" + 
-                        java.net.URLEncoder.encode(cleanArtist, "UTF-8") + "/" + 
-                        java.net.URLEncoder.encode(cleanTitle, "UTF-8");
+                        URLEncoder.encode(cleanArtist, StandardCharsets.UTF_8) + "/" + 
+                        URLEncoder.encode(cleanTitle, StandardCharsets.UTF_8);
             
             HttpHeaders headers = new HttpHeaders();
             headers.set("Accept", "application/json");
@@ -63,17 +71,15 @@ public class LyricsService {
                     return cleanLyrics(lyrics);
                 }
             }
-        } catch (org.springframework.web.client.HttpClientErrorException e) {
+        } catch (HttpClientErrorException.NotFound e) {
             // 404 means lyrics not found - this is expected for many tracks
-            if (e.getStatusCode().value() == 404) {
-                System.out.println("Lyrics not found for: " + artist + " - " + title);
-            } else {
-                System.out.println("Error fetching lyrics: " + e.getStatusCode() + " - " + e.getMessage());
-            }
-        } catch (Exception e) {
-            System.out.println("Exception fetching lyrics for " + artist + " - " + title + ": " + e.getMessage());
+            System.out.println("Lyrics not found for: " + artist + " - " + title);
+        } catch (RestClientException e) {
+            System.out.println("Error fetching lyrics for " + artist + " - " + title + ": " + e.getMessage());
+            throw e;
         }
         
+        // Not found, or a response without lyrics
         return null;
     }
     
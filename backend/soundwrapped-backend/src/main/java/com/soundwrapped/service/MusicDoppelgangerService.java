@@ -1,9 +1,10 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.model.SoundCloudTrack;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for finding Music Doppelgänger (taste twin) from followed users.
@@ -15,6 +16,9 @@ import java.util.stream.Collectors;
 @Service
 public class MusicDoppelgangerService {
 
+    // Each comparison costs an API call plus a 200ms pause
+    private static final int MAX_FOLLOWINGS_COMPARED = 500;
+
     private final SoundWrappedService soundWrappedService;
     private final GenreAnalysisService genreAnalysisService;
 
@@ -37,11 +41,8 @@ public class MusicDoppelgangerService {
     public Map<String, Object> findMusicDoppelganger() {
         try {
             // Get current user's data
-            List<Map<String, Object>> userTracks = soundWrappedService.getUserTracks();
-            Set<String> userTrackIds = userTracks.stream()
-                .map(track -> String.valueOf(track.getOrDefault("id", "")))
-                .filter(id -> !id.isEmpty() && !id.equals("null"))
-                .collect(Collectors.toSet());
+            List<SoundCloudTrack> userTracks = soundWrappedService.getUserTrackRecords();
+            Set<String> userTrackIds = extractTrackIds(userTracks);
             
             Set<String> userArtists = extractArtists(userTracks);
             Set<String> userGenres = extractGenres(userTracks);
@@ -50,70 +51,69 @@ public class MusicDoppelgangerService {
                 return createNoDataResponse("Not enough tracks to compare taste");
             }
             
-            // Get followed users
-            List<Map<String, Object>> followings = soundWrappedService.getUserFollowings();
-            
-            if (followings.isEmpty()) {
-                return createNoDataResponse("You're not following anyone yet");
-            }
-            
-            // Compare with each followed user
+            // Compare with each followed user as their pages arrive
             List<Map<String, Object>> similarityScores = new ArrayList<Map<String, Object>>();
+            int followingsSeen = 0;
             
-            for (Map<String, Object> following : followings) {
-                try {
-                    String followingId = String.valueOf(following.getOrDefault("id", ""));
-                    String followingUsername = (String) following.getOrDefault("username", "Unknown");
+            try (Stream<Map<String, Object>> followings = soundWrappedService.streamUserFollowings()) {
+                for (Map<String, Object> following : (Iterable<Map<String, Object>>) followings.limit(MAX_FOLLOWINGS_COMPARED)::iterator) {
+                    followingsSeen++;
+
+                    try {
+                        String followingId = String.valueOf(following.getOrDefault("id", ""));
+                        String followingUsername = (String) following.getOrDefault("username", "Unknown");
                     
-                    if (followingId.isEmpty() || followingId.equals("null")) {
-                        continue;
-                    }
+                        if (followingId.isEmpty() || followingId.equals("null")) {
+                            continue;
+                        }
                     
-                    // Try to get their tracks (may fail if private or API limitations)
-                    List<Map<String, Object>> followingTracks = getUserTracks(followingId);
+                        // Try to get their tracks (may fail if private or API limitations)
+                        List<SoundCloudTrack> followingTracks = getUserTracks(followingId);
                     
-                    if (followingTracks.isEmpty()) {
-                        // Skip if we can't get their tracks
-                        continue;
-                    }
+                        if (followingTracks.isEmpty()) {
+                            // Skip if we can't get their tracks
+                            continue;
+                        }
                     
-                    Set<String> followingTrackIds = followingTracks.stream()
-                        .map(track -> String.valueOf(track.getOrDefault("id", "")))
-                        .filter(id -> !id.isEmpty() && !id.equals("null"))
-                        .collect(Collectors.toSet());
+                        Set<String> followingTrackIds = extractTrackIds(followingTracks);
                     
-                    Set<String> followingArtists = extractArtists(followingTracks);
-                    Set<String> followingGenres = extractGenres(followingTracks);
+                        Set<String> followingArtists = extractArtists(followingTracks);
+                        Set<String> followingGenres = extractGenres(followingTracks);
                     
-                    // Calculate similarity
-                    double similarity = calculateSimilarity(
-                        userTrackIds, userArtists, userGenres,
-                        followingTrackIds, followingArtists, followingGenres
-                    );
+                        // Calculate similarity
+                        double similarity = calculateSimilarity(
+                            userTrackIds, userArtists, userGenres,
+                            followingTrackIds, followingArtists, followingGenres
+                        );
                     
-                    if (similarity > 0) {
-                        Map<String, Object> score = new HashMap<String, Object>();
-                        score.put("userId", followingId);
-                        score.put("username", followingUsername);
-                        score.put("fullName", following.getOrDefault("full_name", followingUsername));
-                        score.put("avatarUrl", following.getOrDefault("avatar_url", ""));
-                        score.put("similarity", similarity);
-                        score.put("sharedTracks", countShared(userTrackIds, followingTrackIds));
-                        score.put("sharedArtists", countShared(userArtists, followingArtists));
-                        score.put("sharedGenres", countShared(userGenres, followingGenres));
-                        similarityScores.add(score);
-                    }
+                        if (similarity > 0) {
+                            Map<String, Object> score = new HashMap<String, Object>();
+                            score.put("userId", followingId);
+                            score.put("username", followingUsername);
+                            score.put("fullName", following.getOrDefault("full_name", followingUsername));
+                            score.put("avatarUrl", following.getOrDefault("avatar_url", ""));
+                            score.put("similarity", similarity);
+                            score.put("sharedTracks", countShared(userTrackIds, followingTrackIds));
+                            score.put("sharedArtists", countShared(userArtists, followingArtists));
+                            score.put("sharedGenres", countShared(userGenres, followingGenres));
+                            similarityScores.add(score);
+                        }
                     
-                    // Add delay to avoid rate limiting
-                    Thread.sleep(200);
+                        // Add delay to avoid rate limiting
+                        Thread.sleep(200);
                     
-                } catch (Exception e) {
-                    // Skip this user if we can't get their data
-                    System.out.println("Error processing user " + following.get("username") + ": " + e.getMessage());
-                    continue;
+                    } catch (Exception e) {
+                        // Skip this user if we can't get their data
+                        System.out.println("Error processing user " + following.get("username") + ": " + e.getMessage());
+                        continue;
+                    }
                 }
             }
             
+            if (followingsSeen == 0) {
+                return createNoDataResponse("You're not following anyone yet");
+            }
+            
             if (similarityScores.isEmpty()) {
                 return createNoDataResponse("Could not compare taste with followed users (may be due to privacy settings)");
             }
@@ -155,52 +155,45 @@ public class MusicDoppelgangerService {
     /**
      * Get tracks for a specific user (may fail due to API limitations)
      */
-    private List<Map<String, Object>> getUserTracks(String userId) {
+    private List<SoundCloudTrack> getUserTracks(String userId) {
         try {
             // Try to get their uploaded tracks first
             String url = "https://api.soundcloud.com/users/" + userId + "/tracks?linked_partitioning=true&limit=50";
-            Map<String, Object> response = soundWrappedService.makeGetRequestWithRefresh(url);
-            
-            // Handle paginated response
-            Object collection = response.get("collection");
-            if (collection instanceof List<?>) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> tracks = (List<Map<String, Object>>) collection;
-                return tracks;
-            }
-            return new ArrayList<Map<String, Object>>();
+            return SoundCloudClient.await(soundWrappedService.getPageWithRefreshAsync(url, SoundCloudTrack.class)).collection();
         } catch (Exception e) {
             // If that fails, try to get their favorites (may be private)
             try {
                 String url = "https://api.soundcloud.com/users/" + userId + "/favorites?linked_partitioning=true&limit=50";
-                Map<String, Object> response = soundWrappedService.makeGetRequestWithRefresh(url);
-                
-                Object collection = response.get("collection");
-                if (collection instanceof List<?>) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> tracks = (List<Map<String, Object>>) collection;
-                    return tracks;
-                }
-                return new ArrayList<Map<String, Object>>();
+                return SoundCloudClient.await(soundWrappedService.getPageWithRefreshAsync(url, SoundCloudTrack.class)).collection();
             } catch (Exception e2) {
                 // Both failed - user's tracks/favorites may be private
-                return new ArrayList<Map<String, Object>>();
+                return new ArrayList<SoundCloudTrack>();
             }
         }
     }
 
+    /**
+     * Extract track ids from tracks
+     */
+    private Set<String> extractTrackIds(List<SoundCloudTrack> tracks) {
+        Set<String> ids = new HashSet<String>();
+        for (SoundCloudTrack track : tracks) {
+            if (track.id() != null) {
+                ids.add(String.valueOf(track.id()));
+            }
+        }
+        return ids;
+    }
+
     /**
      * Extract artist names from tracks
      */
-    private Set<String> extractArtists(List<Map<String, Object>> tracks) {
+    private Set<String> extractArtists(List<SoundCloudTrack> tracks) {
         Set<String> artists = new HashSet<String>();
-        for (Map<String, Object> track : tracks) {
-            Object userObj = track.get("user");
-            if (userObj instanceof Map<?, ?>) {
-                Object usernameObj = ((Map<?, ?>) userObj).get("username");
-                if (usernameObj instanceof String) {
-                    artists.add(((String) usernameObj).toLowerCase());
-                }
+        for (SoundCloudTrack track : tracks) {
+            String artist = track.artistName();
+            if (artist != null) {
+                artists.add(artist.toLowerCase());
             }
         }
         return artists;
@@ -209,9 +202,9 @@ public class MusicDoppelgangerService {
     /**
      * Extract genres from tracks
      */
-    private Set<String> extractGenres(List<Map<String, Object>> tracks) {
+    private Set<String> extractGenres(List<SoundCloudTrack> tracks) {
         Set<String> allGenres = new HashSet<String>();
-        for (Map<String, Object> track : tracks) {
+        for (SoundCloudTrack track : tracks) {
             Set<String> trackGenres = genreAnalysisService.extractGenresFromTrack(track);
             allGenres.addAll(trackGenres);
         }
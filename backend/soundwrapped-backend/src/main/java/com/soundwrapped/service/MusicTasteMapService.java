@@ -1,5 +1,6 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.model.SoundCloudTrack;
 import com.soundwrapped.repository.UserLocationRepository;
 import org.springframework.stereotype.Service;
 import java.util.*;
@@ -29,7 +30,7 @@ public class MusicTasteMapService {
     public List<Map<String, Object>> getMusicTasteMap() {
         try {
             // Get current user's profile
-            Map<String, Object> userProfile = soundWrappedService.getUserProfile();
+            Map<String, Object> userProfile = soundWrappedService.getCachedUserProfile();
             String currentUserId = String.valueOf(userProfile.getOrDefault("id", ""));
             
             if (currentUserId.isEmpty() || currentUserId.equals("null")) {
@@ -37,7 +38,7 @@ public class MusicTasteMapService {
             }
             
             // Get current user's tracks and genres for similarity calculation
-            List<Map<String, Object>> userTracks = soundWrappedService.getUserTracks();
+            List<SoundCloudTrack> userTracks = soundWrappedService.getUserTrackRecords();
             Set<String> userGenres = extractGenres(userTracks);
             
             // Get all users with location data, grouped by city
@@ -93,7 +94,7 @@ public class MusicTasteMapService {
                     
                     try {
                         // Get this user's tracks (API call)
-                        List<Map<String, Object>> userTracksInCity = getUserTracksById(userId);
+                        List<SoundCloudTrack> userTracksInCity = getUserTracksById(userId);
                         apiCallCount++;
                         
                         if (userTracksInCity.isEmpty()) {
@@ -168,12 +169,11 @@ public class MusicTasteMapService {
         }
     }
     
-    private Set<String> extractGenres(List<Map<String, Object>> tracks) {
+    private Set<String> extractGenres(List<SoundCloudTrack> tracks) {
         Set<String> genres = new HashSet<String>();
-        for (Map<String, Object> track : tracks) {
-            Object genreObj = track.get("genre");
-            if (genreObj != null && !genreObj.toString().isEmpty()) {
-                genres.add(genreObj.toString());
+        for (SoundCloudTrack track : tracks) {
+            if (track.genre() != null && !track.genre().isEmpty()) {
+                genres.add(track.genre());
             }
         }
         return genres;
@@ -193,37 +193,20 @@ public class MusicTasteMapService {
         return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
     }
     
-    private List<Map<String, Object>> getUserTracksById(String userId) {
+    private List<SoundCloudTrack> getUserTracksById(String userId) {
         try {
             // Try to get their uploaded tracks first
             String url = "https://api.soundcloud.com/users/" + userId + "/tracks?linked_partitioning=true&limit=50";
-            Map<String, Object> response = soundWrappedService.makeGetRequestWithRefresh(url);
-            
-            // Handle paginated response
-            Object collection = response.get("collection");
-            if (collection instanceof List<?>) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> tracks = (List<Map<String, Object>>) collection;
-                return tracks;
-            }
-            return new ArrayList<Map<String, Object>>();
+            return SoundCloudClient.await(soundWrappedService.getPageWithRefreshAsync(url, SoundCloudTrack.class)).collection();
         } catch (Exception e) {
             // If that fails, try to get their favorites (may be private)
             try {
                 String url = "https://api.soundcloud.com/users/" + userId + "/favorites?linked_partitioning=true&limit=50";
-                Map<String, Object> response = soundWrappedService.makeGetRequestWithRefresh(url);
-                
-                Object collection = response.get("collection");
-                if (collection instanceof List<?>) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> tracks = (List<Map<String, Object>>) collection;
-                    return tracks;
-                }
-                return new ArrayList<Map<String, Object>>();
+                return SoundCloudClient.await(soundWrappedService.getPageWithRefreshAsync(url, SoundCloudTrack.class)).collection();
             } catch (Exception e2) {
                 // Both failed - user's tracks/favorites may be private
-                return new ArrayList<Map<String, Object>>();
+                return new ArrayList<SoundCloudTrack>();
             }
         }
     }
-}
\ No newline at end of file
+}
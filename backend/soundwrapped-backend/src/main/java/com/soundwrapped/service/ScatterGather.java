@@ -0,0 +1,113 @@
+package com.soundwrapped.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Runs one asynchronous call per input with a bounded number in flight and
+ * gathers whatever succeeded.
+ * <p>
+ * At most {@code maxInFlight} calls run at once. A call keeps its slot until
+ * the future it returned completes, even after its {@code callTimeout} has
+ * passed, because a {@link CompletableFuture} cannot stop the work behind it;
+ * only then is the next pending call started. The whole gather stops at
+ * {@code deadline}: calls not yet started are skipped, and calls still running
+ * are left to finish with their results ignored. Failed, timed-out and skipped
+ * calls are simply missing from the result, so callers always get a (possibly
+ * partial) list in input order.
+ * </p>
+ */
+public final class ScatterGather {
+	private ScatterGather() {}
+
+	public static <I, R> List<R> gather(List<I> inputs, int maxInFlight, Duration callTimeout, Duration deadline,
+			Function<I, CompletableFuture<R>> call) {
+		int size = inputs.size();
+		AtomicReferenceArray<R> results = new AtomicReferenceArray<R>(size);
+		AtomicInteger nextIndex = new AtomicInteger();
+		AtomicInteger finished = new AtomicInteger();
+		AtomicBoolean stopped = new AtomicBoolean(false);
+		Semaphore slots = new Semaphore(maxInFlight);
+		CompletableFuture<Void> allDone = new CompletableFuture<Void>();
+
+		if (size == 0)
+			return new ArrayList<R>();
+
+		Runnable[] launchNext = new Runnable[1];
+		launchNext[0] = () -> {
+			while (!stopped.get() && nextIndex.get() < size && slots.tryAcquire()) {
+				int index = nextIndex.getAndIncrement();
+
+				if (index >= size || stopped.get()) {
+					slots.release();
+
+					return;
+				}
+
+				CompletableFuture<R> task;
+
+				try {
+					task = call.apply(inputs.get(index));
+				}
+
+				catch (Exception e) {
+					task = CompletableFuture.failedFuture(e);
+				}
+
+				// The slot is freed only when the call itself ends, not when its timeout fires
+				task.whenComplete((result, error) -> {
+					slots.release();
+					launchNext[0].run();
+				});
+
+				// orTimeout completes the future it is called on, so time out a copy
+				task.copy().orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+					if (error == null && result != null)
+						results.set(index, result);
+
+					if (finished.incrementAndGet() == size)
+						allDone.complete(null);
+				});
+			}
+		};
+
+		launchNext[0].run();
+
+		try {
+			allDone.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		catch (TimeoutException e) {
+			stopped.set(true);
+		}
+
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stopped.set(true);
+		}
+
+		catch (Exception e) {
+			// allDone never completes exceptionally
+		}
+
+		List<R> gathered = new ArrayList<R>(size);
+
+		for (int i = 0; i < size; i++) {
+			R result = results.get(i);
+
+			if (result != null)
+				gathered.add(result);
+		}
+
+		return gathered;
+	}
+}
@@ -1,10 +1,15 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.exception.ApiRequestException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -20,6 +25,8 @@ public class SimilarArtistsService {
     private String lastFmApiKey;
     
     private static final String LASTFM_API_BASE_URL = "https://ws.audioscrobbler.com/2.0";
+    // Last.fm error code for "The artist you supplied could not be found"
+    private static final int LASTFM_INVALID_PARAMETERS = 6;
     
     public SimilarArtistsService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -27,13 +34,18 @@ public class SimilarArtistsService {
     
     /**
      * Fetches similar artists for a given artist using Last.fm API.
-     * Results are cached for 12 hours since similar artists don't change frequently.
+     * Results are cached for 12 hours since similar artists don't change frequently,
+     * and refreshed in the background; empty results use the shorter negative TTL.
+     * Failed requests and Last.fm errors other than an unknown artist are
+     * thrown rather than cached as empty.
      * 
      * @param artistName Artist name to find similar artists for
      * @param limit Maximum number of similar artists to return (default: 10)
      * @return List of similar artists with names and match scores, or empty list if not found
+     * @throws RestClientException if Last.fm could not answer
+     * @throws ApiRequestException if Last.fm answered with an error other than an unknown artist
      */
-    @Cacheable(value = "similarArtists", key = "#artistName.toLowerCase() + '|' + #limit", unless = "#result == null || #result.isEmpty()")
+    @Cacheable(value = "similarArtists", key = "#artistName.toLowerCase() + '|' + #limit", sync = true)
     public List<Map<String, Object>> getSimilarArtists(String artistName, int limit) {
         if (artistName == null || artistName.isEmpty() || lastFmApiKey == null || lastFmApiKey.isEmpty()) {
             return new ArrayList<Map<String, Object>>();
@@ -42,7 +54,7 @@ public class SimilarArtistsService {
         try {
             // Last.fm API: artist.getSimilar method
             String url = LASTFM_API_BASE_URL + "/?method=artist.getsimilar" +
-                        "&artist=" + java.net.URLEncoder.encode(artistName, "UTF-8") +
+                        "&artist=" + URLEncoder.encode(artistName, StandardCharsets.UTF_8) +
                         "&api_key=" + lastFmApiKey +
                         "&format=json" +
                         "&limit=" + limit;
@@ -59,6 +71,11 @@ public class SimilarArtistsService {
             );
             
             Map<String, Object> body = response.getBody();
+
+            // Last.fm reports most failures (rate limit, service offline) as an error code in the body
+            if (body != null && body.get("error") instanceof Number code && code.intValue() != LASTFM_INVALID_PARAMETERS)
+                throw new ApiRequestException("Last.fm error " + code + " for " + artistName + ": " + body.get("message"));
+
             if (response.getStatusCode().is2xxSuccessful() && body != null) {
                 // Last.fm returns: { "similarartists": { "artist": [...] } }
                 @SuppressWarnings("unchecked")
@@ -118,12 +135,14 @@ public class SimilarArtistsService {
                     }
                 }
             }
-        } catch (org.springframework.web.client.HttpClientErrorException e) {
-            System.out.println("Last.fm API error for " + artistName + ": " + e.getStatusCode() + " - " + e.getMessage());
-        } catch (Exception e) {
+        } catch (HttpClientErrorException.NotFound e) {
+            System.out.println("Last.fm has no similar artists for " + artistName);
+        } catch (RestClientException e) {
             System.out.println("Error fetching similar artists for " + artistName + ": " + e.getMessage());
+            throw e;
         }
         
+        // Unknown artist or no similar artists listed
         return new ArrayList<Map<String, Object>>();
     }
     
@@ -0,0 +1,240 @@
+package com.soundwrapped.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.model.SoundCloudPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Non-blocking client for SoundCloud API GET requests.
+ * <p>
+ * Built on the shared, pooled JDK {@link HttpClient} so connections are kept
+ * alive and reused. {@code getAsync} never blocks the calling thread; the
+ * blocking variants exist for call sites that still return plain values.
+ * Only the {@code /profile} endpoint is served fully asynchronously today;
+ * the Wrapped, featured-content and analytics paths call the blocking
+ * variants and hold their request (or background) thread while waiting.
+ * Error statuses are surfaced as Spring's {@link HttpClientErrorException} /
+ * {@link HttpServerErrorException} and I/O failures as
+ * {@link ResourceAccessException}, so callers can handle them exactly as they
+ * did with RestTemplate. The typed variants decode straight from the response
+ * bytes into {@code com.soundwrapped.model} records, skipping the map tree.
+ * </p>
+ */
+@Component
+public class SoundCloudClient {
+	private static final String USER_AGENT = "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)";
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+	private static final TypeReference<List<Map<String, Object>>> LIST_TYPE = new TypeReference<List<Map<String, Object>>>() {};
+
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper;
+
+	@Value("${soundcloud.http.read-timeout-ms:10000}")
+	private long readTimeoutMs = 10000;
+
+	public SoundCloudClient(HttpClient httpClient, ObjectMapper objectMapper) {
+		this.httpClient = httpClient;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Sends an asynchronous GET request to the SoundCloud API.
+	 * A top-level JSON array is wrapped as {@code {"collection": [...]}} so
+	 * callers always receive a {@code Map}.
+	 *
+	 * @param url         SoundCloud API endpoint URL
+	 * @param accessToken OAuth2 access token, or {@code null} for unauthenticated calls
+	 * @return            Future completing with the response entity
+	 */
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> getForEntityAsync(String url, String accessToken) {
+		return sendAsync(url, accessToken).thenApply(this::toEntity);
+	}
+
+	/**
+	 * Sends an asynchronous GET request for one page of a collection and decodes
+	 * its items directly into {@code itemType}. A top-level JSON array is treated
+	 * as a single page without {@code next_href}.
+	 */
+	public <T> CompletableFuture<SoundCloudPage<T>> getPageAsync(String url, String accessToken, Class<T> itemType) {
+		return sendAsync(url, accessToken).thenApply(response -> {
+			checkStatus(response);
+			byte[] body = response.body() != null ? response.body() : new byte[0];
+
+			try {
+				if (startsWithArray(body)) {
+					JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, itemType);
+
+					return new SoundCloudPage<T>(objectMapper.readValue(body, listType), null);
+				}
+
+				if (body.length == 0)
+					return new SoundCloudPage<T>(null, null);
+
+				JavaType pageType = objectMapper.getTypeFactory().constructParametricType(SoundCloudPage.class, itemType);
+
+				return objectMapper.<SoundCloudPage<T>>readValue(body, pageType);
+			}
+
+			catch (IOException e) {
+				throw new ResourceAccessException("Failed to parse SoundCloud API response: " + e.getMessage(), e);
+			}
+		});
+	}
+
+	private CompletableFuture<HttpResponse<byte[]>> sendAsync(String url, String accessToken) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+				.timeout(Duration.ofMillis(readTimeoutMs))
+				.header("User-Agent", USER_AGENT)
+				.header("Accept", "application/json")
+				.GET();
+
+		if (accessToken != null)
+			builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+
+		return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+				.handle((response, error) -> {
+					if (error != null) {
+						Throwable cause = unwrap(error);
+						throw new ResourceAccessException("I/O error on GET request for \"" + url + "\": " + cause.getMessage(),
+								cause instanceof IOException io ? io : new IOException(cause));
+					}
+
+					return response;
+				});
+	}
+
+	/**
+	 * Sends an asynchronous GET request and completes with the response body only.
+	 */
+	public CompletableFuture<Map<String, Object>> getAsync(String url, String accessToken) {
+		return getForEntityAsync(url, accessToken).thenApply(response -> {
+			Map<String, Object> body = response.getBody();
+
+			return body != null ? body : Map.of();
+		});
+	}
+
+	/**
+	 * Blocking variant of {@link #getForEntityAsync(String, String)}.
+	 */
+	public ResponseEntity<Map<String, Object>> getForEntity(String url, String accessToken) {
+		return await(getForEntityAsync(url, accessToken));
+	}
+
+	/**
+	 * Blocking variant of {@link #getAsync(String, String)}.
+	 */
+	public Map<String, Object> get(String url, String accessToken) {
+		return await(getAsync(url, accessToken));
+	}
+
+	/**
+	 * Waits for a future produced by this client, rethrowing the original
+	 * unchecked exception rather than a {@link CompletionException}.
+	 */
+	public static <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.get();
+		}
+
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException("Interrupted while waiting for SoundCloud API response");
+		}
+
+		catch (ExecutionException ee) {
+			Throwable cause = unwrap(ee);
+
+			if (cause instanceof RuntimeException re)
+				throw re;
+
+			throw new ResourceAccessException("SoundCloud API request failed: " + cause.getMessage());
+		}
+	}
+
+	private ResponseEntity<Map<String, Object>> toEntity(HttpResponse<byte[]> response) {
+		HttpHeaders headers = checkStatus(response);
+		byte[] body = response.body() != null ? response.body() : new byte[0];
+
+		return new ResponseEntity<Map<String, Object>>(parseBody(body), headers, HttpStatusCode.valueOf(response.statusCode()));
+	}
+
+	private HttpHeaders checkStatus(HttpResponse<byte[]> response) {
+		HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+		HttpHeaders headers = new HttpHeaders();
+		response.headers().map().forEach(headers::addAll);
+		byte[] body = response.body() != null ? response.body() : new byte[0];
+
+		if (status.is4xxClientError())
+			throw HttpClientErrorException.create(status, String.valueOf(status.value()), headers, body, StandardCharsets.UTF_8);
+
+		if (status.is5xxServerError())
+			throw HttpServerErrorException.create(status, String.valueOf(status.value()), headers, body, StandardCharsets.UTF_8);
+
+		return headers;
+	}
+
+	private static boolean startsWithArray(byte[] body) {
+		for (byte b : body) {
+			if (!Character.isWhitespace(b))
+				return b == '[';
+		}
+
+		return false;
+	}
+
+	private Map<String, Object> parseBody(byte[] body) {
+		if (body.length == 0)
+			return null;
+
+		try {
+			JsonNode root = objectMapper.readTree(body);
+
+			if (root == null || root.isNull())
+				return null;
+
+			if (root.isArray()) {
+				Map<String, Object> wrapped = new HashMap<String, Object>();
+				wrapped.put("collection", objectMapper.convertValue(root, LIST_TYPE));
+
+				return wrapped;
+			}
+
+			return objectMapper.convertValue(root, MAP_TYPE);
+		}
+
+		catch (IOException e) {
+			throw new ResourceAccessException("Failed to parse SoundCloud API response: " + e.getMessage(), e);
+		}
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		Throwable cause = error;
+
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null)
+			cause = cause.getCause();
+
+		return cause;
+	}
+}
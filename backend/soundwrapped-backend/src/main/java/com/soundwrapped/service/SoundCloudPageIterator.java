@@ -0,0 +1,139 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.model.SoundCloudPage;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the items of a {@code linked_partitioning} SoundCloud collection
+ * page by page, following {@code next_href}.
+ * <p>
+ * As soon as a page arrives, the request for the following page is started so
+ * it downloads while the caller works through the current one. Only the current
+ * page and at most one page in flight are held in memory. Iteration stops at
+ * {@code maxPages}, or at the first failed page, keeping whatever was already
+ * returned. {@link #close()} stops iteration and drops the page being
+ * prefetched, so callers that stop early (e.g. {@code Stream.limit}) request
+ * no further pages. It does not abort that last request: completing its
+ * future does not interrupt the HTTP exchange, which finishes in the
+ * background and is discarded.
+ * </p>
+ *
+ * @param <T> Item type (raw {@code Map}s or a typed model record)
+ */
+public class SoundCloudPageIterator<T> implements Iterator<T>, AutoCloseable {
+	private final Function<String, CompletableFuture<SoundCloudPage<T>>> pageFetcher;
+	private final int maxPages;
+
+	private CompletableFuture<SoundCloudPage<T>> pendingPage;
+	private Iterator<T> currentItems;
+	private T nextItem;
+	private int pagesRequested;
+	private boolean closed;
+
+	public SoundCloudPageIterator(String firstPageUrl, int maxPages,
+			Function<String, CompletableFuture<SoundCloudPage<T>>> pageFetcher) {
+		this.pageFetcher = pageFetcher;
+		this.maxPages = maxPages;
+
+		if (firstPageUrl != null && maxPages > 0)
+			requestPage(firstPageUrl);
+	}
+
+	/**
+	 * Wraps a page iterator in a sequential stream. Close the stream (try-with-resources)
+	 * to stop following {@code next_href} when not consuming it to the end.
+	 */
+	public static <T> Stream<T> stream(String firstPageUrl, int maxPages,
+			Function<String, CompletableFuture<SoundCloudPage<T>>> pageFetcher) {
+		SoundCloudPageIterator<T> iterator = new SoundCloudPageIterator<T>(firstPageUrl, maxPages, pageFetcher);
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(iterator::close);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (nextItem == null && !closed) {
+			if (currentItems != null && currentItems.hasNext()) {
+				nextItem = currentItems.next();
+				continue;
+			}
+
+			if (pendingPage == null)
+				return false;
+
+			advancePage();
+		}
+
+		return nextItem != null;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		T item = nextItem;
+		nextItem = null;
+
+		return item;
+	}
+
+	/**
+	 * Stops iteration and discards the prefetched page. The request behind it
+	 * is left to finish on its own; only its result is dropped.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		currentItems = null;
+
+		if (pendingPage != null) {
+			pendingPage.cancel(false);
+			pendingPage = null;
+		}
+	}
+
+	private void advancePage() {
+		SoundCloudPage<T> page;
+
+		try {
+			page = SoundCloudClient.await(pendingPage);
+		}
+
+		catch (RuntimeException e) {
+			// Keep what has already been returned, like the old accumulate-then-return loop
+			System.out.println("[Pagination] Error fetching page " + pagesRequested + ": " + e.getMessage());
+			pendingPage = null;
+			currentItems = null;
+
+			return;
+		}
+
+		pendingPage = null;
+		String nextUrl = page.nextHref();
+
+		// Start downloading the next page before the caller consumes this one
+		if (nextUrl != null && !nextUrl.isBlank()) {
+			if (pagesRequested < maxPages)
+				requestPage(nextUrl);
+			else
+				System.out.println("[Pagination] ⚠️ Stopped after " + maxPages + " pages; more results were available");
+		}
+
+		currentItems = page.collection().iterator();
+	}
+
+	private void requestPage(String url) {
+		pagesRequested++;
+		pendingPage = pageFetcher.apply(url);
+	}
+}
@@ -1,8 +1,13 @@
 package com.soundwrapped.service;
 
+import com.soundwrapped.config.CacheRegion;
 import com.soundwrapped.exception.*;
 import com.soundwrapped.entity.Token;
+import com.soundwrapped.model.SoundCloudPage;
+import com.soundwrapped.model.SoundCloudTrack;
+import com.soundwrapped.repository.ListeningRollupRepository.RollupTotals;
 import com.soundwrapped.repository.UserActivityRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
@@ -13,13 +18,18 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import jakarta.annotation.PostConstruct;
+import java.util.stream.Stream;
 
 /**
  * Service for interacting with the SoundCloud API.
@@ -58,80 +68,90 @@ public class SoundWrappedService {
 
 	private final TokenStore tokenStore;
 	private final RestTemplate restTemplate;
+	private final SoundCloudClient soundCloudClient;
+	private final ClientCredentialsTokenManager appTokenManager;
 	private final GenreAnalysisService genreAnalysisService;
 	private final UserActivityRepository userActivityRepository;
 	private final ActivityTrackingService activityTrackingService;
 	private final LyricsService lyricsService;
 	private final EnhancedArtistService enhancedArtistService;
-	
-	// Daily cache for "Genre of the Day"
-	private static Map<String, Object> cachedGenreOfTheDay = null;
-	private static LocalDate cachedGenreDate = null;
-	
-	// Daily cache for "Song of the Day"
-	private static Map<String, Object> cachedSongOfTheDay = null;
-	private static LocalDate cachedSongDate = null;
-	
-	// Daily cache for "Artist of the Day"
-	private static Map<String, Object> cachedArtistOfTheDay = null;
-	private static LocalDate cachedArtistDate = null;
+	private final CacheAside cacheAside;
+	private final DescriptionStore descriptionStore;
+	private final Executor fanOutExecutor;
+
+	// Token-keyed cache of the authenticated user's /me profile, so hot paths
+	// that only need the user id do not call SoundCloud on every request
+	private record CachedProfile(String accessToken, Map<String, Object> profile, long fetchedAtMs) {}
+	private final AtomicReference<CachedProfile> cachedProfile = new AtomicReference<CachedProfile>();
+	private final AtomicBoolean profileRefreshInFlight = new AtomicBoolean(false);
+
+	// Single-flight user token refresh; non-null while a refresh POST is running
+	private final AtomicReference<CompletableFuture<String>> tokenRefreshInFlight = new AtomicReference<CompletableFuture<String>>();
+
+	// Most callers still collect whole collections, so this bounds their heap use as well
+	@Value("${soundwrapped.pagination.max-pages:10}")
+	private int maxPaginationPages = 10;
+
+	@Value("${soundwrapped.identity-cache.ttl-seconds:600}")
+	private long profileCacheTtlSeconds = 600;
+
+	// Same candidate pool as the old 3 x 50 page fetch per playlist
+	private static final int BUZZING_PAGE_SIZE = 50;
+	private static final int BUZZING_TRACKS_PER_PLAYLIST = 150;
+
+	@Value("${soundwrapped.buzzing.max-in-flight:6}")
+	private int buzzingMaxInFlight = 6;
+
+	@Value("${soundwrapped.buzzing.call-timeout-ms:15000}")
+	private long buzzingCallTimeoutMs = 15000;
+
+	@Value("${soundwrapped.buzzing.deadline-ms:30000}")
+	private long buzzingDeadlineMs = 30000;
+
+	// Bump whenever the artist/genre prompts change so stored descriptions are regenerated
+	private static final int DESCRIPTION_PROMPT_VERSION = 1;
+
+	private record ResearchSource(String label, Supplier<String> fetch) {}
+
+	@Value("${soundwrapped.descriptions.research-deadline-ms:8000}")
+	private long researchDeadlineMs = 8000;
 
 	public SoundWrappedService(
 			TokenStore tokenStore, 
 			RestTemplate restTemplate,
+			SoundCloudClient soundCloudClient,
+			ClientCredentialsTokenManager appTokenManager,
 			GenreAnalysisService genreAnalysisService,
 			UserActivityRepository userActivityRepository,
 			ActivityTrackingService activityTrackingService,
 			LyricsService lyricsService,
-			EnhancedArtistService enhancedArtistService) {
+			EnhancedArtistService enhancedArtistService,
+			CacheAside cacheAside,
+			DescriptionStore descriptionStore,
+			@Qualifier("fanOutExecutor") Executor fanOutExecutor) {
 		this.tokenStore = tokenStore;
 		this.restTemplate = restTemplate;
+		this.soundCloudClient = soundCloudClient;
+		this.appTokenManager = appTokenManager;
 		this.genreAnalysisService = genreAnalysisService;
 		this.userActivityRepository = userActivityRepository;
 		this.activityTrackingService = activityTrackingService;
 		this.lyricsService = lyricsService;
 		this.enhancedArtistService = enhancedArtistService;
+		this.cacheAside = cacheAside;
+		this.descriptionStore = descriptionStore;
+		this.fanOutExecutor = fanOutExecutor;
+		tokenStore.addTokenChangeListener(this::invalidateCachedProfile);
 	}
 	
-	/**
-	 * Clear caches on startup to ensure fresh data with tracks
-	 */
-	@PostConstruct
-	public void clearCachesOnStartup() {
-		System.out.println("Clearing daily caches on startup to ensure fresh data...");
-		cachedGenreOfTheDay = null;
-		cachedGenreDate = null;
-		cachedSongOfTheDay = null;
-		cachedSongDate = null;
-		cachedArtistOfTheDay = null;
-		cachedArtistDate = null;
-		cachedBuzzingTrack = null;
-		cachedBuzzingDate = null;
-	}
-
-	/**
-	 * Clear the daily cache for featured content.
-	 * This can be called via API endpoint to force regeneration of descriptions.
-	 */
-	public void clearFeaturedCache() {
-		System.out.println("========================================");
-		System.out.println("Manually clearing featured content cache...");
-		System.out.println("========================================");
-		cachedGenreOfTheDay = null;
-		cachedGenreDate = null;
-		cachedSongOfTheDay = null;
-		cachedSongDate = null;
-		cachedArtistOfTheDay = null;
-		cachedArtistDate = null;
-		cachedBuzzingTrack = null;
-		cachedBuzzingDate = null;
-		System.out.println("✓ Featured content cache cleared. Next requests will generate fresh descriptions with SerpAPI integration.");
-	}
-
 	public TokenStore getTokenStore() {
 		return tokenStore;
 	}
 
+	public Map<String, Object> getAppTokenStats() {
+		return appTokenManager.getStats();
+	}
+
 	public String getClientId() {
 		return clientId;
 	}
@@ -141,8 +161,8 @@ public class SoundWrappedService {
 	// =========================
 
 	/**
-	 * Send authenticated HTTP GET request (using Spring's RestTemplate utility)
-	 * to SoundCloud API.
+	 * Send authenticated HTTP GET request (using the non-blocking
+	 * {@link SoundCloudClient}) to SoundCloud API.
 	 * 
 	 * @param url         SoundCloud API endpoint URL
 	 * @param accessToken Valid OAuth2 access token
@@ -150,42 +170,12 @@ public class SoundWrappedService {
 	 * @throws            HttpClientErrorException if the request fails
 	 */
 	private Map<String, Object> makeGetRequest(String url, String accessToken) {
-		HttpHeaders headers = new HttpHeaders();
-		headers.setBearerAuth(accessToken);
-		headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-		headers.set("Accept", "application/json");
-		HttpEntity<String> request = new HttpEntity<String>(headers);
-		
 		try {
-		ResponseEntity<Map<String, Object>> response = restTemplate
-				.exchange(url, HttpMethod.GET, request, new ParameterizedTypeReference<Map<String, Object>>(){});
-
-		Map<String, Object> responseBody = response.getBody();
-		return responseBody != null ? responseBody : Map.of();
+			return soundCloudClient.get(url, accessToken);
 		} catch (org.springframework.web.client.ResourceAccessException e) {
 			// Handle timeout or connection issues
 			System.out.println("Request timeout or connection error for URL: " + url + " - " + e.getMessage());
 			throw new ApiRequestException("Request to SoundCloud API timed out or failed to connect: " + e.getMessage(), e);
-		} catch (Exception e) {
-			// If the response is not a Map (e.g., it's a List), handle it differently
-			try {
-				ResponseEntity<List<Map<String, Object>>> listResponse = restTemplate
-						.exchange(url, HttpMethod.GET, request, new ParameterizedTypeReference<List<Map<String, Object>>>(){});
-				
-				List<Map<String, Object>> listBody = listResponse.getBody();
-				if (listBody != null) {
-					Map<String, Object> result = new HashMap<String, Object>();
-					result.put("collection", listBody);
-					return result;
-				}
-			} catch (org.springframework.web.client.ResourceAccessException listException) {
-				System.out.println("Request timeout or connection error (List) for URL: " + url + " - " + listException.getMessage());
-				throw new ApiRequestException("Request to SoundCloud API timed out or failed to connect: " + listException.getMessage(), listException);
-			} catch (Exception listException) {
-				System.out.println("Failed to parse response as Map or List: " + e.getMessage());
-			}
-			
-			throw e;
 		}
 	}
 
@@ -202,7 +192,7 @@ public class SoundWrappedService {
 		}
 
 		try {
-			return makeGetRequest(url, tokenStore.getAccessToken());
+			return makeGetRequest(url, currentAccessToken);
 		}
 		catch (org.springframework.web.client.ResourceAccessException rae) {
 			// Handle timeouts and connection issues
@@ -211,10 +201,9 @@ public class SoundWrappedService {
 		catch (HttpClientErrorException htee) {
 			if (htee.getStatusCode() == HttpStatus.UNAUTHORIZED) {
 				try {
-					//Access token expired → refresh it
-					String newAccessToken = refreshAccessToken(tokenStore.getRefreshToken());
+					//Access token expired → refresh it (shared with any concurrent 401s)
+					String newAccessToken = SoundCloudClient.await(refreshAccessTokenSingleFlight(currentAccessToken));
 
-					//Optionally update stored access token in DB here
 					return makeGetRequest(url, newAccessToken);
 				}
 
@@ -235,6 +224,71 @@ public class SoundWrappedService {
 		}
 	}
 
+	/**
+	 * Non-blocking variant of {@link #makeGetRequestWithRefresh(String)}.
+	 * The calling thread is released immediately; on a 401 the token is
+	 * refreshed and the request retried once before the future completes.
+	 *
+	 * @param url SoundCloud API endpoint URL
+	 * @return    Future completing with the JSON response body
+	 */
+	public CompletableFuture<Map<String, Object>> makeGetRequestWithRefreshAsync(String url) {
+		return withTokenRefreshAsync(accessToken -> soundCloudClient.getAsync(url, accessToken));
+	}
+
+	/**
+	 * Fetches one page of a collection with auto-refresh on 401, decoding the
+	 * items directly into a {@code com.soundwrapped.model} record type.
+	 */
+	public <T> CompletableFuture<SoundCloudPage<T>> getPageWithRefreshAsync(String url, Class<T> itemType) {
+		return withTokenRefreshAsync(accessToken -> soundCloudClient.getPageAsync(url, accessToken, itemType));
+	}
+
+	/**
+	 * Runs a SoundCloud request with the current user token; on a 401 the token
+	 * is refreshed (single-flight) and the request retried once.
+	 */
+	private <R> CompletableFuture<R> withTokenRefreshAsync(java.util.function.Function<String, CompletableFuture<R>> request) {
+		String currentAccessToken = tokenStore.getAccessToken();
+
+		if (currentAccessToken == null) {
+			return CompletableFuture.failedFuture(
+					new ApiRequestException("No access token available. User must authenticate first."));
+		}
+
+		return request.apply(currentAccessToken)
+				.exceptionallyComposeAsync(error -> {
+					Throwable cause = error instanceof java.util.concurrent.CompletionException && error.getCause() != null
+							? error.getCause() : error;
+
+					if (cause instanceof HttpClientErrorException htee && htee.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+						return refreshAccessTokenSingleFlight(currentAccessToken)
+								.handle((newAccessToken, refreshError) -> {
+									if (refreshError != null) {
+										Throwable refreshCause = refreshError instanceof java.util.concurrent.CompletionException
+												&& refreshError.getCause() != null ? refreshError.getCause() : refreshError;
+
+										return CompletableFuture.<R>failedFuture(new ApiRequestException(
+												"Failed to refresh access token during GET request.", refreshCause));
+									}
+
+									return request.apply(newAccessToken);
+								})
+								.thenCompose(retry -> retry);
+					}
+
+					if (cause instanceof org.springframework.web.client.ResourceAccessException rae)
+						return CompletableFuture.failedFuture(new ApiRequestException(
+								"Request to SoundCloud API timed out or failed to connect: " + rae.getMessage(), rae));
+
+					if (cause instanceof ApiRequestException are)
+						return CompletableFuture.failedFuture(are);
+
+					return CompletableFuture.failedFuture(
+							new ApiRequestException("GET request failed: " + cause.getMessage(), cause));
+				}, fanOutExecutor);
+	}
+
 	// =========================
 	// OAuth Flows
 	// =========================
@@ -295,6 +349,53 @@ public class SoundWrappedService {
 		}
 	}
 
+	/**
+	 * Single-flight wrapper around {@link #refreshAccessToken(String)}.
+	 * <p>
+	 * At most one refresh POST runs at a time; every caller that arrives while
+	 * it is in flight receives the same future. A caller whose rejected token
+	 * has already been replaced in the {@link TokenStore} gets the current
+	 * token back without triggering another refresh.
+	 * </p>
+	 *
+	 * @param rejectedAccessToken Access token the caller saw fail or expire, or {@code null} to force a refresh
+	 * @return                    Future completing with the new access token, or failing with {@link TokenRefreshException}
+	 */
+	public CompletableFuture<String> refreshAccessTokenSingleFlight(String rejectedAccessToken) {
+		while (true) {
+			CompletableFuture<String> inFlight = tokenRefreshInFlight.get();
+
+			if (inFlight != null)
+				return inFlight;
+
+			if (rejectedAccessToken != null) {
+				String currentAccessToken = tokenStore.getAccessToken();
+
+				if (currentAccessToken != null && !currentAccessToken.equals(rejectedAccessToken))
+					return CompletableFuture.completedFuture(currentAccessToken);
+			}
+
+			CompletableFuture<String> refresh = new CompletableFuture<String>();
+
+			if (!tokenRefreshInFlight.compareAndSet(null, refresh))
+				continue;
+
+			try {
+				refresh.complete(refreshAccessToken(tokenStore.getRefreshToken()));
+			}
+
+			catch (RuntimeException e) {
+				refresh.completeExceptionally(e);
+			}
+
+			finally {
+				tokenRefreshInFlight.compareAndSet(refresh, null);
+			}
+
+			return refresh;
+		}
+	}
+
 	public Map<String, Object> exchangeAuthorizationCode(String code) {
 		if (code == null || code.isBlank()) {
 			throw new TokenExchangeException("Authorization code must not be empty.");
@@ -349,59 +450,61 @@ public class SoundWrappedService {
 	// =========================
 
 	/**
-	 * Fetches paginated results (with auto-refresh on 401).
-	 * Includes timeout protection and maximum page limit to prevent hanging.
+	 * Streams paginated results (with auto-refresh on 401), prefetching the
+	 * next page while the current one is consumed. Stops at
+	 * {@code soundwrapped.pagination.max-pages} or at the first failed page.
+	 * Close the stream (try-with-resources) when stopping early.
+	 *
+	 * @return Sequential {@code Stream} of collection items
+	 */
+	public Stream<Map<String, Object>> streamPaginatedResults(String url) {
+		return SoundCloudPageIterator.stream(url, maxPaginationPages,
+				pageUrl -> makeGetRequestWithRefreshAsync(pageUrl).thenApply(SoundCloudPage::fromResponse));
+	}
+
+	/**
+	 * Typed variant of {@link #streamPaginatedResults(String)}: items are decoded
+	 * straight into {@code itemType} (e.g. {@link SoundCloudTrack}) without
+	 * building a map per item.
+	 */
+	public <T> Stream<T> streamPaginatedResults(String url, Class<T> itemType) {
+		return SoundCloudPageIterator.stream(url, maxPaginationPages,
+				pageUrl -> getPageWithRefreshAsync(pageUrl, itemType));
+	}
+
+	/**
+	 * Fetches paginated results (with auto-refresh on 401) into a list.
+	 * Prefer {@link #streamPaginatedResults(String)} when the results can be folded incrementally.
 	 * 
 	 * @return JSON response body as a {@code List} of {@code Map}s
 	 */
 	private List<Map<String, Object>> fetchPaginatedResultsWithRefresh(String url) {
-		List<Map<String, Object>> paginatedResults = new ArrayList<Map<String, Object>>();
-		int maxPages = 10; // Limit pagination to prevent infinite loops
-		int pageCount = 0;
-
-		while (url != null && pageCount < maxPages) {
-			try {
-			Map<String, Object> response = makeGetRequestWithRefresh(url);
-			List<Map<String, Object>> pageResults = new ArrayList<Map<String, Object>>();
-				
-				// Handle different response structures
-			Object rawCollection = response.get("collection");
-				
-				// If no collection field, check if response is directly a list
-				if (rawCollection == null && response instanceof List<?>) {
-					rawCollection = response;
-				}
+		try (Stream<Map<String, Object>> results = streamPaginatedResults(url)) {
+			return results.collect(Collectors.toCollection(ArrayList::new));
+		}
+	}
 
-			if (rawCollection instanceof List<?>) {
-				for (Object item : (List<?>) rawCollection) {
-					if (item instanceof Map<?, ?> rawMap) {
-						Map<String, Object> safeMap = new HashMap<String, Object>();
+	/**
+	 * Keeps the {@code n} largest items of a stream by {@code order}, without
+	 * buffering the whole stream.
+	 *
+	 * @return Top items, largest first
+	 */
+	private static List<Map<String, Object>> topN(Stream<Map<String, Object>> items,
+			Comparator<Map<String, Object>> order, int n) {
+		PriorityQueue<Map<String, Object>> top = new PriorityQueue<Map<String, Object>>(n + 1, order);
 
-						for (Map.Entry<?, ?> entry : rawMap.entrySet()) {
-							if (entry.getKey() instanceof String) {
-								safeMap.put((String) entry.getKey(), entry.getValue());
-							}
-						}
+		items.forEach(item -> {
+			top.offer(item);
 
-						pageResults.add(safeMap);
-					}
-				}
-			}
+			if (top.size() > n)
+				top.poll();
+		});
 
-			if (!pageResults.isEmpty()) {
-				paginatedResults.addAll(pageResults);
-			}
+		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>(top);
+		result.sort(order.reversed());
 
-			url = (String) response.get("next_href");
-				pageCount++;
-			} catch (Exception e) {
-				// If pagination fails, return what we have so far
-				System.out.println("Error fetching paginated results at page " + pageCount + ": " + e.getMessage());
-				break;
-			}
-		}
-
-		return paginatedResults;
+		return result;
 	}
 
 	// =========================
@@ -556,6 +659,97 @@ public class SoundWrappedService {
 		}
 	}
 
+	/**
+	 * Returns the authenticated user's profile from a cache keyed by the
+	 * current access token, calling {@code /me} only on a miss. Entries are
+	 * dropped whenever {@link TokenStore#saveTokens} rotates tokens and are
+	 * refreshed in the background once they pass three quarters of their TTL,
+	 * so steady-state callers never wait on SoundCloud.
+	 *
+	 * @return Profile information as a {@code Map} (read-only when cached)
+	 */
+	public Map<String, Object> getCachedUserProfile() {
+		String accessToken = tokenStore.getAccessToken();
+		CachedProfile cached = cachedProfile.get();
+		long ttlMs = profileCacheTtlSeconds * 1000;
+
+		if (cached != null && accessToken != null && accessToken.equals(cached.accessToken())) {
+			long ageMs = System.currentTimeMillis() - cached.fetchedAtMs();
+
+			if (ageMs < ttlMs) {
+				if (ageMs > ttlMs * 3 / 4) {
+					refreshCachedProfileAsync();
+				}
+
+				return cached.profile();
+			}
+		}
+
+		return loadAndCacheProfile();
+	}
+
+	/**
+	 * Resolves the authenticated user's SoundCloud id via {@link #getCachedUserProfile()}.
+	 *
+	 * @return User id as a {@code String}, or {@code "unknown"} if unavailable
+	 */
+	public String getCurrentUserId() {
+		return String.valueOf(getCachedUserProfile().getOrDefault("id", "unknown"));
+	}
+
+	public void invalidateCachedProfile() {
+		cachedProfile.set(null);
+	}
+
+	private Map<String, Object> loadAndCacheProfile() {
+		Map<String, Object> profile = getUserProfile();
+
+		// Only cache real profiles; error placeholders have no id
+		if (profile != null && profile.get("id") != null) {
+			// Key by the token in effect after the call, which may have been refreshed
+			String accessToken = tokenStore.getAccessToken();
+
+			if (accessToken != null) {
+				Map<String, Object> snapshot = Collections.unmodifiableMap(new HashMap<String, Object>(profile));
+				cachedProfile.set(new CachedProfile(accessToken, snapshot, System.currentTimeMillis()));
+
+				return snapshot;
+			}
+		}
+
+		return profile;
+	}
+
+	private void refreshCachedProfileAsync() {
+		if (!profileRefreshInFlight.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			fanOutExecutor.execute(() -> {
+				try {
+					loadAndCacheProfile();
+				} catch (Exception e) {
+					System.out.println("Background profile refresh failed: " + e.getMessage());
+				} finally {
+					profileRefreshInFlight.set(false);
+				}
+			});
+		} catch (Exception e) {
+			profileRefreshInFlight.set(false);
+		}
+	}
+
+	/**
+	 * Non-blocking variant of {@link #getUserProfile()} for controllers that
+	 * return the future directly, so no servlet thread waits on SoundCloud.
+	 *
+	 * @return Future completing with the profile information
+	 */
+	public CompletableFuture<Map<String, Object>> getUserProfileAsync() {
+		return makeGetRequestWithRefreshAsync(soundCloudApiBaseUrl + "/me");
+	}
+
 	/**
      * Retrieves the user's liked tracks.
      * 
@@ -616,6 +810,28 @@ public class SoundWrappedService {
 		}
     }
 
+	/**
+	 * Streams the users that the authenticated user is following, page by page.
+	 * Close the stream when done.
+	 */
+	public Stream<Map<String, Object>> streamUserFollowings() {
+		return streamPaginatedResults(soundCloudApiBaseUrl + urlExtension("/me/followings", 50));
+	}
+
+	/**
+	 * Streams the user's followers, page by page. Close the stream when done.
+	 */
+	public Stream<Map<String, Object>> streamUserFollowers() {
+		return streamPaginatedResults(soundCloudApiBaseUrl + urlExtension("/me/followers", 50));
+	}
+
+	/**
+	 * Streams the user's playlists, page by page. Close the stream when done.
+	 */
+	public Stream<Map<String, Object>> streamUserPlaylists() {
+		return streamPaginatedResults(soundCloudApiBaseUrl + urlExtension("/me/playlists", 50));
+	}
+
 	/**
 	 * Get recent activity from SoundCloud (likes, uploads, follows).
 	 * Combines and sorts by timestamp (most recent first).
@@ -630,7 +846,7 @@ public class SoundWrappedService {
 		// Get user ID for querying tracked activities
 		String userId = "";
 		try {
-			Map<String, Object> profile = getUserProfile();
+			Map<String, Object> profile = getCachedUserProfile();
 			userId = String.valueOf(profile.getOrDefault("id", ""));
 		} catch (Exception e) {
 			System.err.println("Error getting user profile for recent activity: " + e.getMessage());
@@ -640,21 +856,16 @@ public class SoundWrappedService {
 		Map<String, java.time.LocalDateTime> trackedLikeTimestamps = new HashMap<String, java.time.LocalDateTime>();
 		if (!userId.isEmpty()) {
 			try {
-				List<com.soundwrapped.entity.UserActivity> likeActivities = 
-					userActivityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
+				// Most recent timestamp for each track, aggregated in the database
+				List<Object[]> latestLikes = 
+					userActivityRepository.findLatestTimestampPerTrack(
 						userId, 
 						com.soundwrapped.entity.UserActivity.ActivityType.LIKE,
 						java.time.LocalDateTime.now().minusYears(1), // Last year
 						java.time.LocalDateTime.now()
 					);
-				// Get most recent timestamp for each track
-				for (com.soundwrapped.entity.UserActivity activity : likeActivities) {
-					String trackId = activity.getTrackId();
-					java.time.LocalDateTime activityTime = activity.getCreatedAt();
-					trackedLikeTimestamps.putIfAbsent(trackId, activityTime);
-					if (activityTime.isAfter(trackedLikeTimestamps.get(trackId))) {
-						trackedLikeTimestamps.put(trackId, activityTime);
-					}
+				for (Object[] row : latestLikes) {
+					trackedLikeTimestamps.put((String) row[0], (java.time.LocalDateTime) row[1]);
 				}
 			} catch (Exception e) {
 				System.err.println("Error fetching tracked like activities: " + e.getMessage());
@@ -665,21 +876,16 @@ public class SoundWrappedService {
 		Map<String, java.time.LocalDateTime> trackedRepostTimestamps = new HashMap<String, java.time.LocalDateTime>();
 		if (!userId.isEmpty()) {
 			try {
-				List<com.soundwrapped.entity.UserActivity> repostActivities = 
-					userActivityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
+				// Most recent timestamp for each track, aggregated in the database
+				List<Object[]> latestReposts = 
+					userActivityRepository.findLatestTimestampPerTrack(
 						userId, 
 						com.soundwrapped.entity.UserActivity.ActivityType.REPOST,
 						java.time.LocalDateTime.now().minusYears(1), // Last year
 						java.time.LocalDateTime.now()
 					);
-				// Get most recent timestamp for each track
-				for (com.soundwrapped.entity.UserActivity activity : repostActivities) {
-					String trackId = activity.getTrackId();
-					java.time.LocalDateTime activityTime = activity.getCreatedAt();
-					trackedRepostTimestamps.putIfAbsent(trackId, activityTime);
-					if (activityTime.isAfter(trackedRepostTimestamps.get(trackId))) {
-						trackedRepostTimestamps.put(trackId, activityTime);
-					}
+				for (Object[] row : latestReposts) {
+					trackedRepostTimestamps.put((String) row[0], (java.time.LocalDateTime) row[1]);
 				}
 			} catch (Exception e) {
 				System.err.println("Error fetching tracked repost activities: " + e.getMessage());
@@ -728,9 +934,8 @@ public class SoundWrappedService {
 		try {
 			// Get recent uploads
 			String url = soundCloudApiBaseUrl + urlExtension("/me/tracks", 50);
-			List<Map<String, Object>> uploads = fetchPaginatedResultsWithRefresh(url);
-			if (uploads != null) {
-				for (Map<String, Object> upload : uploads) {
+			try (Stream<Map<String, Object>> uploads = streamPaginatedResults(url)) {
+				for (Map<String, Object> upload : (Iterable<Map<String, Object>>) uploads::iterator) {
 					if (upload != null) {
 						try {
 							Map<String, Object> activity = new HashMap<String, Object>();
@@ -753,9 +958,8 @@ public class SoundWrappedService {
 		
 		try {
 			// Get recent followings
-			List<Map<String, Object>> followings = getUserFollowings();
-			if (followings != null) {
-				for (Map<String, Object> following : followings) {
+			try (Stream<Map<String, Object>> followings = streamUserFollowings()) {
+				for (Map<String, Object> following : (Iterable<Map<String, Object>>) followings::iterator) {
 					if (following != null) {
 						try {
 							Map<String, Object> activity = new HashMap<String, Object>();
@@ -853,6 +1057,27 @@ public class SoundWrappedService {
 		}
 	}
 
+	/**
+	 * Typed variant of {@link #getUserTracks()}: uploaded tracks, or liked tracks
+	 * if the user has no uploads.
+	 *
+	 * @return {@code List} of {@link SoundCloudTrack}s
+	 */
+	public List<SoundCloudTrack> getUserTrackRecords() {
+		try (Stream<SoundCloudTrack> uploads = streamPaginatedResults(
+				soundCloudApiBaseUrl + urlExtension("/me/tracks", 50), SoundCloudTrack.class)) {
+			List<SoundCloudTrack> uploaded = uploads.toList();
+
+			if (!uploaded.isEmpty())
+				return uploaded;
+		}
+
+		try (Stream<SoundCloudTrack> likes = streamPaginatedResults(
+				soundCloudApiBaseUrl + urlExtension("/me/favorites", 50), SoundCloudTrack.class)) {
+			return likes.toList();
+		}
+	}
+
 	/**
 	 * Gets user's top tracks based on their tracked play activity in the database.
 	 * Play activity is tracked by the browser extension when users play tracks on SoundCloud.com.
@@ -868,8 +1093,9 @@ public class SoundWrappedService {
 			java.time.LocalDateTime startDate = java.time.LocalDateTime.of(2000, 1, 1, 0, 0);
 			java.time.LocalDateTime endDate = java.time.LocalDateTime.now();
 			
-			// Get most played tracks from database
-			List<Object[]> mostPlayed = userActivityRepository.getMostPlayedTracks(userId, startDate, endDate);
+			// Get the most played tracks from the database (top N only)
+			List<UserActivityRepository.TrackCount> mostPlayed = activityTrackingService.getTopTracks(
+				userId, com.soundwrapped.entity.UserActivity.ActivityType.PLAY, startDate, endDate, limit);
 			
 			if (mostPlayed.isEmpty()) {
 				// If no tracked plays, fall back to regular getUserTracks sorted by global playback_count
@@ -884,10 +1110,8 @@ public class SoundWrappedService {
 			
 			// Create a map of trackId -> userPlayCount
 			Map<String, Long> trackPlayCounts = new HashMap<String, Long>();
-			for (Object[] result : mostPlayed) {
-				String trackId = String.valueOf(result[0]);
-				Long playCount = ((Number) result[1]).longValue();
-				trackPlayCounts.put(trackId, playCount);
+			for (UserActivityRepository.TrackCount result : mostPlayed) {
+				trackPlayCounts.put(result.getTrackId(), result.getCount());
 			}
 			
 			// Fetch track details from SoundCloud API for each tracked track
@@ -956,7 +1180,7 @@ public class SoundWrappedService {
 					String refreshToken = token.getRefreshToken();
 					if (refreshToken != null && !refreshToken.isBlank()) {
 						System.out.println("Token expired, attempting to refresh...");
-						String newAccessToken = refreshAccessToken(refreshToken);
+						String newAccessToken = SoundCloudClient.await(refreshAccessTokenSingleFlight(token.getAccessToken()));
 						if (newAccessToken != null) {
 							return newAccessToken;
 						}
@@ -980,40 +1204,30 @@ public class SoundWrappedService {
 	 * @return Access token string, or null if unavailable
 	 */
 	private String getClientCredentialsToken() {
+		return appTokenManager.getToken();
+	}
+
+	/**
+	 * GET for the public endpoints, which may run on the app token. If
+	 * SoundCloud rejects the app token with a 401 before it expires (e.g. it
+	 * was revoked), the cached token is dropped and the request retried once
+	 * with a freshly issued one.
+	 */
+	private ResponseEntity<Map<String, Object>> getForEntityWithAppTokenRetry(String url, String accessToken) {
 		try {
-			System.out.println("Attempting to get client credentials token...");
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
+			return soundCloudClient.getForEntity(url, accessToken);
+		}
 
-			MultiValueMap<String, String> body = new LinkedMultiValueMap<String, String>();
-			body.add("grant_type", "client_credentials");
-			body.add("client_id", clientId);
-			body.add("client_secret", clientSecret);
+		catch (HttpClientErrorException htee) {
+			if (htee.getStatusCode() != HttpStatus.UNAUTHORIZED || !appTokenManager.invalidate(accessToken))
+				throw htee;
 
-			HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<MultiValueMap<String, String>>(body, headers);
-			ResponseEntity<Map<String, Object>> response = restTemplate
-					.exchange(TOKEN_URL, HttpMethod.POST, request, new ParameterizedTypeReference<Map<String, Object>>(){});
+			String freshToken = appTokenManager.getToken();
 
-			Map<String, Object> responseBody = response.getBody();
-			if (responseBody == null || !responseBody.containsKey("access_token")) {
-				System.err.println("Failed to get client credentials token. Response: " + responseBody);
-				System.err.println("Note: SoundCloud may not support client_credentials grant type. Falling back to null.");
-				return null;
-			}
+			if (freshToken == null || freshToken.equals(accessToken))
+				throw htee;
 
-			String accessToken = (String) responseBody.get("access_token");
-			System.out.println("Successfully obtained client credentials token (length: " + (accessToken != null ? accessToken.length() : 0) + ")");
-			return accessToken;
-		} catch (org.springframework.web.client.HttpClientErrorException e) {
-			System.err.println("HTTP error getting client credentials token: " + e.getStatusCode() + " - " + e.getMessage());
-			System.err.println("Response body: " + e.getResponseBodyAsString());
-			System.err.println("Note: SoundCloud may not support client_credentials grant type.");
-			return null;
-		} catch (Exception e) {
-			System.err.println("Error getting client credentials token: " + e.getMessage());
-			e.printStackTrace();
-			return null;
+			return soundCloudClient.getForEntity(url, freshToken);
 		}
 	}
 
@@ -1058,18 +1272,8 @@ public class SoundWrappedService {
 					String userPlaylistsUrl = soundCloudApiBaseUrl + "/users/" + username + "/playlists?limit=200&linked_partitioning=true";
 					System.out.println("Attempting to fetch playlists from user: " + userPlaylistsUrl);
 					
-					HttpHeaders headers = new HttpHeaders();
-					headers.setBearerAuth(accessToken);
-					headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-					headers.set("Accept", "application/json");
-					HttpEntity<String> request = new HttpEntity<String>(headers);
 					
-					ResponseEntity<Map<String, Object>> playlistsResponse = restTemplate.exchange(
-						userPlaylistsUrl,
-						HttpMethod.GET,
-						request,
-						new ParameterizedTypeReference<Map<String, Object>>(){}
-					);
+					ResponseEntity<Map<String, Object>> playlistsResponse = getForEntityWithAppTokenRetry(userPlaylistsUrl, accessToken);
 					
 					if (playlistsResponse.getStatusCode().is2xxSuccessful() && playlistsResponse.getBody() != null) {
 						Map<String, Object> playlistsBody = playlistsResponse.getBody();
@@ -1115,11 +1319,6 @@ public class SoundWrappedService {
 			// Fallback: Use /resolve endpoint to get playlist info
 			String resolveUrl = soundCloudApiBaseUrl + "/resolve?url=" + java.net.URLEncoder.encode(playlistUrl, "UTF-8");
 			
-			HttpHeaders headers = new HttpHeaders();
-			headers.setBearerAuth(accessToken);
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			headers.set("Accept", "application/json");
-			HttpEntity<String> request = new HttpEntity<String>(headers);
 			
 			// Resolve playlist
 			System.out.println("Attempting to resolve playlist: " + playlistUrl);
@@ -1128,12 +1327,7 @@ public class SoundWrappedService {
 			
 			ResponseEntity<Map<String, Object>> resolveResponse;
 			try {
-				resolveResponse = restTemplate.exchange(
-					resolveUrl,
-					HttpMethod.GET,
-					request,
-					new ParameterizedTypeReference<Map<String, Object>>(){}
-				);
+				resolveResponse = getForEntityWithAppTokenRetry(resolveUrl, accessToken);
 			} catch (org.springframework.web.client.HttpClientErrorException e) {
 				System.err.println("HTTP error resolving playlist " + playlistUrl + ": " + e.getStatusCode() + " - " + e.getMessage());
 				System.err.println("Response body: " + e.getResponseBodyAsString());
@@ -1202,11 +1396,6 @@ public class SoundWrappedService {
 			
 			System.out.println("Fetching tracks from playlist ID: " + playlistId);
 			
-			HttpHeaders headers = new HttpHeaders();
-			headers.setBearerAuth(accessToken);
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			headers.set("Accept", "application/json");
-			HttpEntity<String> request = new HttpEntity<String>(headers);
 			
 			// Fetch all tracks with pagination to ensure we get them in the correct order
 			int maxPages = 3; // Limit to prevent infinite loops, but get enough tracks
@@ -1215,12 +1404,7 @@ public class SoundWrappedService {
 			while (nextUrl != null && pageCount < maxPages) {
 				System.out.println("Fetching page " + (pageCount + 1) + " from: " + nextUrl);
 				
-				ResponseEntity<Map<String, Object>> tracksResponse = restTemplate.exchange(
-					nextUrl,
-					HttpMethod.GET,
-					request,
-					new ParameterizedTypeReference<Map<String, Object>>(){}
-				);
+				ResponseEntity<Map<String, Object>> tracksResponse = getForEntityWithAppTokenRetry(nextUrl, accessToken);
 				
 				System.out.println("Tracks API response status: " + tracksResponse.getStatusCode());
 				
@@ -1293,8 +1477,15 @@ public class SoundWrappedService {
 	 * @param limit Maximum number of tracks to return
 	 * @return List of popular/trending tracks from chart playlists
 	 */
-	@org.springframework.cache.annotation.Cacheable(value = "popularTracks", key = "#limit", unless = "#result == null || #result.isEmpty()")
 	public List<Map<String, Object>> getPopularTracks(int limit) {
+		// Cached programmatically: most callers are inside this class, where @Cacheable is bypassed.
+		// Every caller shares the cached list, so it is stored read-only
+		return cacheAside.get(CacheRegion.POPULAR_TRACKS, limit,
+			() -> loadPopularTracks(limit).stream().map(Collections::unmodifiableMap).toList(),
+			tracks -> !tracks.isEmpty());
+	}
+
+	private List<Map<String, Object>> loadPopularTracks(int limit) {
 		try {
 			// Use the playlist URN directly from the embed code: soundcloud:playlists:1714689261
 			// This is the US Top 50 charts playlist: https://soundcloud.com/music-charts-us/sets/all-music-genres
@@ -1352,21 +1543,11 @@ public class SoundWrappedService {
 				System.out.println("Original URN: " + playlistUrn);
 				System.out.println("Encoded URN: " + encodedUrn);
 				
-				HttpHeaders headers = new HttpHeaders();
-				headers.setBearerAuth(accessToken);
-				headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-				headers.set("Accept", "application/json");
-				HttpEntity<String> request = new HttpEntity<String>(headers);
 				
 				// First, get the playlist to verify it exists and get its tracks
 				ResponseEntity<Map<String, Object>> playlistResponse;
 				try {
-					playlistResponse = restTemplate.exchange(
-						playlistUrl,
-						HttpMethod.GET,
-						request,
-						new ParameterizedTypeReference<Map<String, Object>>(){}
-					);
+					playlistResponse = getForEntityWithAppTokenRetry(playlistUrl, accessToken);
 				} catch (org.springframework.web.client.HttpClientErrorException e) {
 					System.err.println("HTTP error fetching playlist: " + e.getStatusCode() + " - " + e.getMessage());
 					System.err.println("Response body: " + e.getResponseBodyAsString());
@@ -1456,19 +1637,9 @@ public class SoundWrappedService {
 			String url = soundCloudApiBaseUrl + "/tracks?limit=" + (limit * 3) + "&linked_partitioning=true";
 			System.out.println("Fallback URL: " + url);
 			
-			HttpHeaders headers = new HttpHeaders();
-			headers.setBearerAuth(accessToken);
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			headers.set("Accept", "application/json");
-			HttpEntity<String> request = new HttpEntity<String>(headers);
 			
 			// SoundCloud API returns paginated responses as objects with "collection" field, not direct arrays
-			ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-				url, 
-				HttpMethod.GET, 
-				request, 
-				new ParameterizedTypeReference<Map<String, Object>>(){}
-			);
+			ResponseEntity<Map<String, Object>> response = getForEntityWithAppTokenRetry(url, accessToken);
 			
 			System.out.println("Fallback response status: " + response.getStatusCode());
 			Map<String, Object> responseBody = response.getBody();
@@ -1511,28 +1682,23 @@ public class SoundWrappedService {
 		}
 	}
 
-	// Daily cache for "Buzzing" track
-	private static Map<String, Object> cachedBuzzingTrack = null;
-	private static LocalDate cachedBuzzingDate = null;
-
 	/**
-	 * Gets a daily "Buzzing" track from the buzzing-playlists SoundCloud profile.
+	 * Picks the "Buzzing" track for a day from the buzzing-playlists SoundCloud profile.
 	 * <p>
-	 * Fetches all playlists belonging to https://soundcloud.com/buzzing-playlists,
-	 * aggregates all tracks, then uses a 24-hour timeseed algorithm to pick one
-	 * random track that stays the same for the entire day.
+	 * Lists the playlists of https://soundcloud.com/buzzing-playlists and uses a
+	 * 24-hour timeseed to pick one track (up to 150 per playlist) that stays the
+	 * same for the entire day. The seeded index is resolved from each playlist's
+	 * {@code track_count}, so only the page holding the pick is fetched; if that
+	 * metadata is unusable, all playlists are fetched in parallel under a
+	 * deadline and the pick is made from whatever arrived. Always hits SoundCloud;
+	 * requests are served from {@link FeaturedContentService}.
 	 * </p>
 	 *
-	 * @return A track map with an added "buzzing_label" field, or empty map on failure
+	 * @param today Day the pick is for (seeds the selection)
+	 * @return      A track map with an added "buzzing_label" field, or empty map on failure
 	 */
-	public Map<String, Object> getBuzzingTrack() {
+	public Map<String, Object> computeBuzzingTrack(LocalDate today) {
 		try {
-			LocalDate today = LocalDate.now();
-			if (cachedBuzzingTrack != null && cachedBuzzingDate != null && cachedBuzzingDate.equals(today)) {
-				System.out.println("Returning cached Buzzing track for " + today);
-				return cachedBuzzingTrack;
-			}
-
 			String accessToken = getAccessTokenForRequest();
 			if (accessToken == null) {
 				System.err.println("[Buzzing] No access token available");
@@ -1543,16 +1709,8 @@ public class SoundWrappedService {
 			String userPlaylistsUrl = soundCloudApiBaseUrl
 				+ "/users/buzzing-playlists/playlists?limit=50&linked_partitioning=true";
 
-			HttpHeaders headers = new HttpHeaders();
-			headers.setBearerAuth(accessToken);
-			headers.set("User-Agent", "SoundWrapped/1.0");
-			headers.set("Accept", "application/json");
-			HttpEntity<String> request = new HttpEntity<>(headers);
 
-			ResponseEntity<Map<String, Object>> playlistsResponse = restTemplate.exchange(
-				userPlaylistsUrl, HttpMethod.GET, request,
-				new ParameterizedTypeReference<Map<String, Object>>() {}
-			);
+			ResponseEntity<Map<String, Object>> playlistsResponse = getForEntityWithAppTokenRetry(userPlaylistsUrl, accessToken);
 
 			if (!playlistsResponse.getStatusCode().is2xxSuccessful() || playlistsResponse.getBody() == null) {
 				System.err.println("[Buzzing] Failed to fetch buzzing-playlists user playlists");
@@ -1587,79 +1745,138 @@ public class SoundWrappedService {
 				return new HashMap<String, Object>();
 			}
 
-			System.out.println("[Buzzing] Found " + playlists.size() + " playlist(s), collecting tracks...");
+			// 24-hour timeseed: deterministic pick that changes daily
+			long seed = (long) today.getYear() * 10000 + today.getMonthValue() * 100 + today.getDayOfMonth();
+			Map<String, Object> picked = pickBuzzingTrackByTrackCount(playlists, seed, accessToken);
 
-			// Aggregate tracks from all playlists
-			List<Map<String, Object>> allTracks = new ArrayList<>();
-			for (Map<String, Object> playlist : playlists) {
-				Object idObj = playlist.get("id");
+			if (picked == null)
+				picked = pickBuzzingTrackFromAllPlaylists(playlists, seed, accessToken);
 
-				if (idObj == null)
-					continue;
+			if (picked == null)
+				return new HashMap<String, Object>();
 
-				String playlistId = String.valueOf(idObj);
+			picked.put("buzzing_label", "Artist to watch out for");
+			System.out.println("[Buzzing] Buzzing track for " + today + ": " + picked.get("title"));
 
-				try {
-					List<Map<String, Object>> tracks = getTracksFromPlaylistById(playlistId, accessToken);
-					allTracks.addAll(tracks);
-				}
+			return picked;
+		}
 
-				catch (Exception e) {
-					System.err.println("[Buzzing] Error fetching tracks from playlist " + playlistId + ": " + e.getMessage());
-				}
-			}
+		catch (Exception e) {
+			System.err.println("[Buzzing] Error: " + e.getMessage());
+			e.printStackTrace();
 
-			if (allTracks.isEmpty()) {
-				System.err.println("[Buzzing] No tracks found across all buzzing playlists");
+			return new HashMap<String, Object>();
+		}
+	}
 
-				return new HashMap<String, Object>();
+	/**
+	 * Resolves the seeded index against the playlists' {@code track_count}
+	 * metadata and fetches only the one page holding that track.
+	 *
+	 * @return The picked track, or {@code null} if the metadata is missing or
+	 *         does not match the playlist contents
+	 */
+	private Map<String, Object> pickBuzzingTrackByTrackCount(List<Map<String, Object>> playlists, long seed, String accessToken) {
+		List<Map<String, Object>> candidates = new ArrayList<Map<String, Object>>();
+		int total = 0;
+
+		for (Map<String, Object> playlist : playlists) {
+			if (playlist.get("id") == null)
+				continue;
+
+			if (!(playlist.get("track_count") instanceof Number trackCount))
+				return null;
+
+			candidates.add(playlist);
+			total += Math.min(trackCount.intValue(), BUZZING_TRACKS_PER_PLAYLIST);
+		}
+
+		if (total == 0)
+			return null;
+
+		int index = new Random(seed).nextInt(total);
+
+		for (Map<String, Object> playlist : candidates) {
+			int count = Math.min(((Number) playlist.get("track_count")).intValue(), BUZZING_TRACKS_PER_PLAYLIST);
+
+			if (index >= count) {
+				index -= count;
+				continue;
 			}
 
-			System.out.println("[Buzzing] Total tracks collected: " + allTracks.size());
+			int pageOffset = index / BUZZING_PAGE_SIZE * BUZZING_PAGE_SIZE;
+			String url = soundCloudApiBaseUrl + "/playlists/" + playlist.get("id") + "/tracks?limit=" + BUZZING_PAGE_SIZE
+				+ "&offset=" + pageOffset + "&linked_partitioning=true";
 
-			// 24-hour timeseed: deterministic pick that changes daily
-			long seed = (long) today.getYear() * 10000 + today.getMonthValue() * 100 + today.getDayOfMonth();
-			Random rng = new Random(seed);
-			int index = rng.nextInt(allTracks.size());
+			try {
+				Map<String, Object> body = getForEntityWithAppTokenRetry(url, accessToken).getBody();
+				@SuppressWarnings("unchecked")
+				List<Map<String, Object>> page = body != null ? (List<Map<String, Object>>) body.get("collection") : null;
+				int position = index - pageOffset;
 
-			Map<String, Object> picked = new HashMap<String, Object>(allTracks.get(index));
-			picked.put("buzzing_label", "Artist to watch out for");
-			System.out.println("[Buzzing] Today's buzzing track (#" + index + "): " + picked.get("title"));
+				if (page != null && position < page.size()) {
+					System.out.println("[Buzzing] Picked #" + position + " of page at offset " + pageOffset
+						+ " in playlist " + playlist.get("id") + " (" + total + " candidate tracks)");
 
-			cachedBuzzingTrack = picked;
-			cachedBuzzingDate = today;
+					return new HashMap<String, Object>(page.get(position));
+				}
 
-			return picked;
+				// Removed or private tracks make track_count overstate the playlist
+				System.err.println("[Buzzing] track_count of playlist " + playlist.get("id") + " does not match its tracks; aggregating instead");
+			}
+
+			catch (Exception e) {
+				System.err.println("[Buzzing] Error fetching page at offset " + pageOffset + " of playlist " + playlist.get("id") + ": " + e.getMessage());
+			}
+
+			return null;
 		}
 
-		catch (Exception e) {
-			System.err.println("[Buzzing] Error: " + e.getMessage());
-			e.printStackTrace();
+		return null;
+	}
 
-			return new HashMap<String, Object>();
+	/**
+	 * Fallback: fetches the tracks of all playlists with bounded parallelism and
+	 * picks from whatever arrived before the deadline.
+	 */
+	private Map<String, Object> pickBuzzingTrackFromAllPlaylists(List<Map<String, Object>> playlists, long seed, String accessToken) {
+		List<String> playlistIds = playlists.stream()
+			.map(playlist -> playlist.get("id"))
+			.filter(Objects::nonNull)
+			.map(String::valueOf)
+			.collect(Collectors.toList());
+
+		List<List<Map<String, Object>>> perPlaylist = ScatterGather.gather(playlistIds, buzzingMaxInFlight,
+			Duration.ofMillis(buzzingCallTimeoutMs), Duration.ofMillis(buzzingDeadlineMs),
+			playlistId -> CompletableFuture.supplyAsync(() -> getTracksFromPlaylistById(playlistId, accessToken), fanOutExecutor));
+
+		List<Map<String, Object>> allTracks = new ArrayList<Map<String, Object>>();
+		perPlaylist.forEach(allTracks::addAll);
+
+		if (allTracks.isEmpty()) {
+			System.err.println("[Buzzing] No tracks found across all buzzing playlists");
+
+			return null;
 		}
+
+		System.out.println("[Buzzing] Collected " + allTracks.size() + " tracks from " + perPlaylist.size()
+			+ "/" + playlistIds.size() + " playlist(s)");
+
+		return new HashMap<String, Object>(allTracks.get(new Random(seed).nextInt(allTracks.size())));
 	}
 
 	/**
-	 * Gets a featured track using an alternative algorithm to avoid overlap with Popular Now.
+	 * Picks the Song of the Day using an alternative algorithm to avoid overlap with Popular Now.
 	 * 
 	 * Strategy: Selects from discovery tracks (high engagement, rising tracks) or from
 	 * popular tracks positions 11-30 (avoiding top 10 which might overlap with Popular Now).
 	 * Does NOT use Genre of the Day tracks to avoid redundancy.
 	 * 
-	 * @return A featured track or empty map if none available
+	 * @param today Day the pick is for (seeds the selection)
+	 * @return      A featured track or empty map if none available
 	 */
-	public Map<String, Object> getFeaturedTrack() {
+	public Map<String, Object> computeFeaturedTrack(LocalDate today) {
 		try {
-			// Check if we have a cached track for today
-			LocalDate today = LocalDate.now();
-
-			if (cachedSongOfTheDay != null && cachedSongDate != null && cachedSongDate.equals(today)) {
-				System.out.println("Returning cached song of the day: " + cachedSongOfTheDay.get("title") + " (cached on " + cachedSongDate + ")");
-
-				return cachedSongOfTheDay;
-			}
-
 			// Primary Strategy: Discovery tracks (high engagement, rising tracks)
 			// These are tracks with good engagement metrics but not necessarily in top charts
 			System.out.println("Fetching Song of the Day from discovery tracks...");
@@ -1696,11 +1913,7 @@ public class SoundWrappedService {
 					// Continue without lyrics - not critical
 				}
 
-				// Cache the result for today
-				cachedSongOfTheDay = selectedTrack;
-				cachedSongDate = today;
-
-				System.out.println("Song of the day (from discovery): " + selectedTrack.get("title") + " (cached for " + today + ")");
+				System.out.println("Song of the day (from discovery): " + selectedTrack.get("title") + " (for " + today + ")");
 
 				return selectedTrack;
 			}
@@ -1738,10 +1951,7 @@ public class SoundWrappedService {
 						// Continue without lyrics - not critical
 					}
 					
-					cachedSongOfTheDay = selectedTrack;
-					cachedSongDate = today;
-					
-					System.out.println("Song of the day (from popular tracks 11-30): " + selectedTrack.get("title") + " (cached for " + today + ")");
+					System.out.println("Song of the day (from popular tracks 11-30): " + selectedTrack.get("title") + " (for " + today + ")");
 					return selectedTrack;
 				} else if (popularTracks.size() > 0) {
 					// If we don't have enough tracks for 11-30 range, use any available track
@@ -1768,10 +1978,7 @@ public class SoundWrappedService {
 						// Continue without lyrics - not critical
 					}
 					
-					cachedSongOfTheDay = selectedTrack;
-					cachedSongDate = today;
-					
-					System.out.println("Song of the day (from popular tracks, limited selection): " + selectedTrack.get("title") + " (cached for " + today + ")");
+					System.out.println("Song of the day (from popular tracks, limited selection): " + selectedTrack.get("title") + " (for " + today + ")");
 					return selectedTrack;
 				}
 			}
@@ -1803,21 +2010,11 @@ public class SoundWrappedService {
 			String url = soundCloudApiBaseUrl + "/tracks?limit=" + (limit * 5) + 
 				"&linked_partitioning=true";
 			
-			System.out.println("Fetching discovery tracks from: " + url);
-			
-			HttpHeaders headers = new HttpHeaders();
-			headers.setBearerAuth(accessToken);
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			headers.set("Accept", "application/json");
-			HttpEntity<String> request = new HttpEntity<String>(headers);
-			
-			ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-				url,
-				HttpMethod.GET,
-				request,
-				new ParameterizedTypeReference<Map<String, Object>>(){}
-			);
-			
+			System.out.println("Fetching discovery tracks from: " + url);
+			
+			
+			ResponseEntity<Map<String, Object>> response = getForEntityWithAppTokenRetry(url, accessToken);
+			
 			if (response.getStatusCode().is2xxSuccessful()) {
 				Map<String, Object> responseBody = response.getBody();
 				if (responseBody == null) {
@@ -1886,38 +2083,16 @@ public class SoundWrappedService {
 	}
 
 	/**
-	 * Gets a featured artist from trending/popular tracks.
-	 * Selects the artist with the highest trending score across their tracks.
+	 * Picks the Artist of the Day from trending/popular tracks.
+	 * Selects among the artists with the highest trending score across their tracks.
 	 * 
-	 * @return A featured artist or empty map if none available
+	 * @param today Day the pick is for (seeds the selection)
+	 * @return      A featured artist or empty map if none available
 	 */
-	public Map<String, Object> getFeaturedArtist(boolean forceRefresh) {
-		System.out.println("getFeaturedArtist() method called (forceRefresh: " + forceRefresh + ")");
+	public Map<String, Object> computeFeaturedArtist(LocalDate today) {
 		try {
-			// If force refresh is requested, clear cache first
-			if (forceRefresh) {
-				System.out.println("Force refresh requested - clearing artist cache");
-				cachedArtistOfTheDay = null;
-				cachedArtistDate = null;
-			}
-			
-			// Check if we have a cached artist for today
-			LocalDate today = LocalDate.now();
-			if (cachedArtistOfTheDay != null && cachedArtistDate != null && cachedArtistDate.equals(today)) {
-				// Check if cached description is empty - if so, regenerate
-				String cachedDescription = (String) cachedArtistOfTheDay.get("description");
-				if (cachedDescription == null || cachedDescription.trim().isEmpty()) {
-					System.out.println("Cached artist description is empty - forcing regeneration");
-					cachedArtistOfTheDay = null;
-					cachedArtistDate = null;
-				} else {
-					System.out.println("Returning cached artist of the day: " + cachedArtistOfTheDay.get("username") + " (cached on " + cachedArtistDate + ")");
-					return cachedArtistOfTheDay;
-				}
-			}
-			
 			List<Map<String, Object>> popularTracks = getPopularTracks(50);
-			System.out.println("getFeaturedArtist: Retrieved " + popularTracks.size() + " popular tracks");
+			System.out.println("computeFeaturedArtist: Retrieved " + popularTracks.size() + " popular tracks");
 			if (!popularTracks.isEmpty()) {
 				// Extract unique artists with their trending scores
 				Map<String, Map<String, Object>> artistMap = new HashMap<String, Map<String, Object>>();
@@ -2062,7 +2237,7 @@ public class SoundWrappedService {
 					
 					// Create result with artist, description, and tracks
 					Map<String, Object> result = new HashMap<String, Object>(selectedArtist);
-					// Only cache if we have a valid description - don't cache empty descriptions
+					// An empty description marks the pick as incomplete so the precompute job retries it
 					String finalDescription = artistDescription != null ? artistDescription : "";
 					result.put("description", finalDescription);
 					result.put("tracks", artistTracks);
@@ -2077,16 +2252,6 @@ public class SoundWrappedService {
 					System.out.println("  - Tracks: " + (artistTracks != null ? artistTracks.size() : 0));
 					System.out.println("========================================");
 					
-					// Only cache the result if we have a valid description
-					// This prevents caching empty descriptions that would block regeneration
-					if (!finalDescription.isEmpty()) {
-						cachedArtistOfTheDay = result;
-						cachedArtistDate = today;
-						System.out.println("✓ Cached artist of the day with valid description");
-					} else {
-						System.out.println("✗ Not caching artist - description is empty (will regenerate on next request)");
-					}
-					
 					@SuppressWarnings("unchecked")
 					List<Map<String, Object>> cachedTracks = (List<Map<String, Object>>) result.get("tracks");
 					System.out.println("Artist of the day: " + selectedArtist.get("username") + ", tracks in result: " + (cachedTracks != null ? cachedTracks.size() : 0));
@@ -2119,20 +2284,14 @@ public class SoundWrappedService {
 	}
 
 	/**
-	 * Gets a random featured genre and fetches popular tracks from that genre.
+	 * Picks the Genre of the Day and fetches popular tracks from that genre.
 	 * Uses SoundCloud's tag-based popular tracks endpoint.
 	 * 
-	 * @return Map containing genre name, description, and popular tracks from that genre
+	 * @param today Day the pick is for (seeds the selection)
+	 * @return      Map containing genre name, description, and popular tracks from that genre
 	 */
-	public Map<String, Object> getFeaturedGenreWithTracks() {
+	public Map<String, Object> computeFeaturedGenre(LocalDate today) {
 		try {
-			// Check if we have a cached genre for today
-			LocalDate today = LocalDate.now();
-			if (cachedGenreOfTheDay != null && cachedGenreDate != null && cachedGenreDate.equals(today)) {
-				System.out.println("Returning cached genre of the day: " + cachedGenreOfTheDay.get("genre") + " (cached on " + cachedGenreDate + ")");
-				return cachedGenreOfTheDay;
-			}
-			
 			// List of popular genres to choose from
 			List<String> popularGenres = Arrays.asList(
 				"wave", "hip hop", "pop", "house", "techno", "dubstep",
@@ -2167,11 +2326,7 @@ public class SoundWrappedService {
 				selectedGenre.substring(0, 1).toUpperCase() + selectedGenre.substring(1) + " is a diverse and evolving music genre with a rich history and dedicated fanbase.");
 			result.put("tracks", genreTracks);
 			
-			// Cache the result for today
-			cachedGenreOfTheDay = result;
-			cachedGenreDate = today;
-			
-			System.out.println("Featured genre of the day: " + selectedGenre + ", tracks: " + genreTracks.size() + " (cached for " + today + ")");
+			System.out.println("Featured genre of the day: " + selectedGenre + ", tracks: " + genreTracks.size() + " (for " + today + ")");
 			return result;
 		} catch (Exception e) {
 			System.err.println("Error fetching featured genre with tracks: " + e.getMessage());
@@ -2215,18 +2370,8 @@ public class SoundWrappedService {
 			String resolveUrl = soundCloudApiBaseUrl + "/resolve?url=" + java.net.URLEncoder.encode(tagUrl, "UTF-8");
 			System.out.println("Attempting to resolve tag URL: " + resolveUrl);
 			
-			HttpHeaders resolveHeaders = new HttpHeaders();
-			resolveHeaders.setBearerAuth(accessToken);
-			resolveHeaders.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			resolveHeaders.set("Accept", "application/json");
-			HttpEntity<String> resolveRequest = new HttpEntity<String>(resolveHeaders);
 			
-			ResponseEntity<Map<String, Object>> resolveResponse = restTemplate.exchange(
-				resolveUrl,
-				HttpMethod.GET,
-				resolveRequest,
-				new ParameterizedTypeReference<Map<String, Object>>(){}
-			);
+			ResponseEntity<Map<String, Object>> resolveResponse = getForEntityWithAppTokenRetry(resolveUrl, accessToken);
 			
 			if (resolveResponse.getStatusCode().is2xxSuccessful()) {
 				Map<String, Object> resolved = resolveResponse.getBody();
@@ -2256,19 +2401,9 @@ public class SoundWrappedService {
 		}
 			
 			try {
-				HttpHeaders headers = new HttpHeaders();
-				headers.setBearerAuth(accessToken);
-				headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-				headers.set("Accept", "application/json");
-				HttpEntity<String> request = new HttpEntity<String>(headers);
 				
 				// SoundCloud returns paginated responses as objects with "collection" field
-				ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-					url, 
-					HttpMethod.GET, 
-					request, 
-					new ParameterizedTypeReference<Map<String, Object>>(){}
-				);
+				ResponseEntity<Map<String, Object>> response = getForEntityWithAppTokenRetry(url, accessToken);
 				
 				System.out.println("Genre tag response status: " + response.getStatusCode());
 				
@@ -2637,33 +2772,8 @@ public class SoundWrappedService {
 		
 		System.out.println("  - Search term: " + searchTerm);
 		
-		// With SerpAPI, Wikipedia, and Google Knowledge Graph, we can try OpenAI for ANY artist
-		// SerpAPI can find information about most artists, even if they don't have Wikipedia entries
-		// or high follower counts. We'll let OpenAI decide if it can generate a description.
-		
-		// Optional: Check Wikipedia and Google KG for logging purposes (not required)
-		boolean hasWikipediaEntry = false;
-		boolean hasGoogleAboutSection = false;
-		
-		if (searchTerm != null) {
-			System.out.println("  - Checking Wikipedia entry for: " + searchTerm);
-			hasWikipediaEntry = checkWikipediaEntry(searchTerm);
-			System.out.println("  - Has Wikipedia entry: " + hasWikipediaEntry);
-			
-			System.out.println("  - Checking Google Knowledge Graph for: " + searchTerm);
-			hasGoogleAboutSection = checkGoogleKnowledgeGraph(searchTerm);
-			System.out.println("  - Has Google KG entry: " + hasGoogleAboutSection);
-		} else {
-			System.out.println("  - Skipping Wikipedia/Google KG checks (search term is null)");
-		}
-		
-		// Always try OpenAI - let it decide if it can generate a description
-		// SerpAPI will provide comprehensive web search results even for obscure artists
-		System.out.println("  ✓ Proceeding with OpenAI description generation for artist");
-		System.out.println("  - Followers: " + followersCount);
-		System.out.println("  - Has Wikipedia: " + hasWikipediaEntry);
-		System.out.println("  - Has Google KG: " + hasGoogleAboutSection);
-		System.out.println("  - Will use SerpAPI, Wikipedia, and Google KG for research");
+		// Wikipedia, Google KG and SerpAPI are researched inside getGroqDescription, so there
+		// is no separate existence check here; any artist with a search term gets a description
 		
 		// PRIORITY ORDER: Groq API (free, with Wikipedia/Google KG/SerpAPI research)
 		// We do NOT fall back to SoundCloud bio - Groq must generate the description
@@ -2702,52 +2812,6 @@ public class SoundWrappedService {
 		return null;
 	}
 	
-	/**
-	 * Checks if an artist has a Wikipedia entry using the Wikipedia API.
-	 * Uses the search API to find matching articles.
-	 * 
-	 * @param searchTerm The artist's name to search for
-	 * @return true if a Wikipedia entry exists, false otherwise
-	 */
-	private boolean checkWikipediaEntry(String searchTerm) {
-		System.out.println("    [checkWikipediaEntry] Checking for: " + searchTerm);
-		try {
-			// Wikipedia API endpoint for searching
-			String encodedSearch = java.net.URLEncoder.encode(searchTerm, "UTF-8");
-			String wikiUrl = "https://en.wikipedia.org/api/rest_v1/page/summary/" + encodedSearch;
-			System.out.println("    [checkWikipediaEntry] URL: " + wikiUrl);
-			
-			HttpHeaders headers = new HttpHeaders();
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://soundwrapped.com; contact@example.com)");
-			headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-			HttpEntity<String> request = new HttpEntity<String>(headers);
-			
-			ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-				wikiUrl,
-				HttpMethod.GET,
-				request,
-				new ParameterizedTypeReference<Map<String, Object>>() {}
-			);
-			
-			Map<String, Object> responseBody = response.getBody();
-			if (responseBody != null) {
-				// Check if the response indicates a valid page (not a disambiguation or missing page)
-				String type = (String) responseBody.get("type");
-				// "standard" means a regular article exists
-				// "disambiguation" means multiple pages exist (still counts as having an entry)
-				if ("standard".equals(type) || "disambiguation".equals(type)) {
-					return true;
-				}
-			}
-		} catch (Exception e) {
-			// If Wikipedia API call fails, silently return false
-			// This prevents API failures from blocking the description generation
-			System.out.println("Wikipedia check failed for '" + searchTerm + "': " + e.getMessage());
-		}
-		
-		return false;
-	}
-	
 	/**
 	 * Gets a description from Wikipedia for an artist.
 	 * Tries multiple name variations to find the correct Wikipedia page.
@@ -2918,72 +2982,6 @@ public class SoundWrappedService {
 		return text.trim();
 	}
 	
-	/**
-	 * Checks if an entity has a Google Knowledge Graph entry (About section).
-	 * Uses the Google Knowledge Graph Search API.
-	 * 
-	 * @param searchTerm The entity name to search for (artist name or genre name)
-	 * @return true if a Knowledge Graph entry exists with detailed description, false otherwise
-	 */
-	private boolean checkGoogleKnowledgeGraph(String searchTerm) {
-		System.out.println("    [checkGoogleKnowledgeGraph] Checking for: " + searchTerm);
-		try {
-			// Google Knowledge Graph Search API endpoint
-			String encodedQuery = java.net.URLEncoder.encode(searchTerm, "UTF-8");
-			String kgUrl = "https://kgsearch.googleapis.com/v1/entities:search" +
-				"?query=" + encodedQuery +
-				"&key=" + googleKnowledgeGraphApiKey +
-				"&limit=1" +
-				"&indent=true";
-			System.out.println("    [checkGoogleKnowledgeGraph] URL: " + kgUrl.replace(googleKnowledgeGraphApiKey, "***"));
-			
-			HttpHeaders headers = new HttpHeaders();
-			headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-			HttpEntity<String> request = new HttpEntity<String>(headers);
-			
-			ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-				kgUrl,
-				HttpMethod.GET,
-				request,
-				new ParameterizedTypeReference<Map<String, Object>>() {}
-			);
-			
-			Map<String, Object> responseBody = response.getBody();
-			if (responseBody != null) {
-				@SuppressWarnings("unchecked")
-				List<Map<String, Object>> itemList = (List<Map<String, Object>>) responseBody.get("itemListElement");
-				if (itemList != null && !itemList.isEmpty()) {
-					// Check if the first result has a detailed description (About section)
-					Map<String, Object> firstItem = itemList.get(0);
-					@SuppressWarnings("unchecked")
-					Map<String, Object> result = (Map<String, Object>) firstItem.get("result");
-					if (result != null) {
-						// Check for detailedDescription or description field
-						@SuppressWarnings("unchecked")
-						Map<String, Object> detailedDescription = (Map<String, Object>) result.get("detailedDescription");
-						if (detailedDescription != null) {
-							String articleBody = (String) detailedDescription.get("articleBody");
-							if (articleBody != null && articleBody.length() > 50) {
-								return true;
-							}
-						}
-						// Also check for description field
-						String description = (String) result.get("description");
-						if (description != null && description.length() > 50) {
-							return true;
-						}
-					}
-				}
-			}
-		} catch (Exception e) {
-			// If Google Knowledge Graph API call fails, silently return false
-			// This prevents API failures from blocking the description generation
-			System.out.println("Google Knowledge Graph check failed for '" + searchTerm + "': " + e.getMessage());
-		}
-		
-		return false;
-	}
-	
 	/**
 	 * Gets a description from Google Knowledge Graph for an entity (artist or genre).
 	 * 
@@ -3220,20 +3218,29 @@ public class SoundWrappedService {
 	 * Gets a description from Groq API (free tier) using research-first approach.
 	 * 
 	 * This method:
-	 * 1. First conducts research using Wikipedia, Google Knowledge Graph, and SerpAPI
-	 * 2. Collects all research results
+	 * 1. First conducts research using Wikipedia, Google Knowledge Graph, and SerpAPI concurrently
+	 * 2. Collects the research results that arrive within the research deadline
 	 * 3. Sends research results to Groq with a prompt to generate a description
 	 * 4. Returns the generated description
 	 * 
 	 * Groq is free to use and provides fast inference. This approach ensures we have
 	 * verified information before asking Groq to generate the description.
+	 * Finished descriptions are stored durably in {@link DescriptionStore} and
+	 * kept in the "groqDescriptions" cache in front of it.
 	 * 
 	 * @param entityName The name of the entity (artist or genre)
 	 * @param entityType The type of entity: "music genre" or "music artist"
 	 * @return Description from Groq, or null if not found or API call fails
 	 */
-	@org.springframework.cache.annotation.Cacheable(value = "groqDescriptions", key = "#entityName.toLowerCase() + '|' + #entityType.toLowerCase()", unless = "#result == null || #result.isEmpty()")
 	private String getGroqDescription(String entityName, String entityType) {
+		CacheRegion.DescriptionKey key = CacheRegion.DescriptionKey.of(entityName, entityType);
+
+		return cacheAside.get(CacheRegion.GROQ_DESCRIPTIONS, key,
+			() -> descriptionStore.getOrGenerate(key, DESCRIPTION_PROMPT_VERSION, () -> fetchGroqDescription(entityName, entityType)),
+			description -> !description.isEmpty());
+	}
+
+	private String fetchGroqDescription(String entityName, String entityType) {
 		// Force immediate output
 		System.out.flush();
 		System.err.flush();
@@ -3304,35 +3311,21 @@ public class SoundWrappedService {
 			String searchTerm = entityName + " " + entityType;
 			StringBuilder researchContext = new StringBuilder();
 			
-			// Get Wikipedia information
-			System.out.println("  - Searching Wikipedia...");
-			String wikiInfo = getWikipediaDescription(searchTerm);
-			if (wikiInfo != null && !wikiInfo.trim().isEmpty()) {
-				researchContext.append("Wikipedia Information:\n").append(wikiInfo).append("\n\n");
-				System.out.println("  ✓ Found Wikipedia information (length: " + wikiInfo.length() + " chars)");
-			} else {
-				System.out.println("  ✗ No Wikipedia information found");
-			}
-			
-			// Get Google Knowledge Graph information
-			System.out.println("  - Searching Google Knowledge Graph...");
-			String googleKGInfo = getGoogleKnowledgeGraphDescription(searchTerm);
-			if (googleKGInfo != null && !googleKGInfo.trim().isEmpty()) {
-				researchContext.append("Google Knowledge Graph Information:\n").append(googleKGInfo).append("\n\n");
-				System.out.println("  ✓ Found Google KG information (length: " + googleKGInfo.length() + " chars)");
-			} else {
-				System.out.println("  ✗ No Google Knowledge Graph information found");
-			}
-			
-			// Get SerpAPI web search information
-			System.out.println("  - Searching web via SerpAPI...");
-			String serpApiInfo = getSerpAPIDescription(searchTerm);
-			if (serpApiInfo != null && !serpApiInfo.trim().isEmpty()) {
-				researchContext.append("Web Search Information:\n").append(serpApiInfo).append("\n\n");
-				System.out.println("  ✓ Found SerpAPI information (length: " + serpApiInfo.length() + " chars)");
-			} else {
-				System.out.println("  ✗ No SerpAPI information found");
-			}
+			// Query all research sources at once and use whatever answered before the deadline
+			System.out.println("  - Searching Wikipedia, Google Knowledge Graph and the web (SerpAPI) concurrently...");
+			List<ResearchSource> sources = List.of(
+				new ResearchSource("Wikipedia Information", () -> getWikipediaDescription(searchTerm)),
+				new ResearchSource("Google Knowledge Graph Information", () -> getGoogleKnowledgeGraphDescription(searchTerm)),
+				new ResearchSource("Web Search Information", () -> getSerpAPIDescription(searchTerm)));
+			List<String> findings = ScatterGather.gather(sources, sources.size(),
+				Duration.ofMillis(researchDeadlineMs), Duration.ofMillis(researchDeadlineMs),
+				source -> CompletableFuture.supplyAsync(() -> {
+					String info = source.fetch().get();
+
+					return info != null && !info.trim().isEmpty() ? source.label() + ":\n" + info + "\n\n" : null;
+				}, fanOutExecutor));
+			findings.forEach(researchContext::append);
+			System.out.println("  - Research sources answered: " + findings.size() + "/" + sources.size());
 			
 			// Check if we have any research data
 			if (researchContext.length() == 0) {
@@ -3701,20 +3694,10 @@ public class SoundWrappedService {
 			String resolveUrl = soundCloudApiBaseUrl + "/resolve?url=" + java.net.URLEncoder.encode(popularTracksUrl, "UTF-8");
 			System.out.println("Resolving popular-tracks URL: " + popularTracksUrl);
 			
-			HttpHeaders resolveHeaders = new HttpHeaders();
-			resolveHeaders.setBearerAuth(accessToken);
-			resolveHeaders.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			resolveHeaders.set("Accept", "application/json");
-			HttpEntity<String> resolveRequest = new HttpEntity<String>(resolveHeaders);
 			
 			ResponseEntity<Map<String, Object>> resolveResponse;
 			try {
-				resolveResponse = restTemplate.exchange(
-					resolveUrl,
-					HttpMethod.GET,
-					resolveRequest,
-					new ParameterizedTypeReference<Map<String, Object>>(){}
-				);
+				resolveResponse = getForEntityWithAppTokenRetry(resolveUrl, accessToken);
 			} catch (org.springframework.web.client.HttpClientErrorException e) {
 				System.err.println("HTTP error resolving popular-tracks URL: " + e.getStatusCode() + " - " + e.getMessage());
 				System.err.println("Response body: " + e.getResponseBodyAsString());
@@ -3753,19 +3736,9 @@ public class SoundWrappedService {
 						String tracksUrl = soundCloudApiBaseUrl + "/playlists/" + playlistId + "/tracks?limit=" + limit + "&linked_partitioning=true";
 						System.out.println("Fetching tracks from playlist URL: " + tracksUrl);
 						
-						HttpHeaders headers = new HttpHeaders();
-						headers.setBearerAuth(accessToken);
-						headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-						headers.set("Accept", "application/json");
-						HttpEntity<String> request = new HttpEntity<String>(headers);
 						
 						// Try as paginated response with collection field
-						ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-							tracksUrl,
-							HttpMethod.GET,
-							request,
-							new ParameterizedTypeReference<Map<String, Object>>(){}
-						);
+						ResponseEntity<Map<String, Object>> response = getForEntityWithAppTokenRetry(tracksUrl, accessToken);
 						
 						System.out.println("Tracks API response status: " + response.getStatusCode());
 						
@@ -3825,20 +3798,10 @@ public class SoundWrappedService {
 			System.out.println("Fetching tracks from URL: " + tracksUrl);
 			System.out.println("Fetching " + fetchLimit + " tracks to find the most popular ones");
 			
-			HttpHeaders headers = new HttpHeaders();
-			headers.setBearerAuth(accessToken);
-			headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			headers.set("Accept", "application/json");
-			HttpEntity<String> request = new HttpEntity<String>(headers);
 			
 			ResponseEntity<Map<String, Object>> response;
 			try {
-				response = restTemplate.exchange(
-					tracksUrl,
-					HttpMethod.GET,
-					request,
-					new ParameterizedTypeReference<Map<String, Object>>(){}
-				);
+				response = getForEntityWithAppTokenRetry(tracksUrl, accessToken);
 				
 				System.out.println("Tracks API response status: " + response.getStatusCode());
 				
@@ -3917,20 +3880,10 @@ public class SoundWrappedService {
 			String resolveUrl = soundCloudApiBaseUrl + "/resolve?url=" + java.net.URLEncoder.encode(artistUrl, "UTF-8");
 			System.out.println("Fallback: Resolving artist profile URL: " + artistUrl);
 			
-			HttpHeaders resolveHeaders = new HttpHeaders();
-			resolveHeaders.setBearerAuth(accessToken);
-			resolveHeaders.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-			resolveHeaders.set("Accept", "application/json");
-			HttpEntity<String> resolveRequest = new HttpEntity<String>(resolveHeaders);
 			
 			ResponseEntity<Map<String, Object>> resolveResponse;
 			try {
-				resolveResponse = restTemplate.exchange(
-					resolveUrl,
-					HttpMethod.GET,
-					resolveRequest,
-					new ParameterizedTypeReference<Map<String, Object>>(){}
-				);
+				resolveResponse = getForEntityWithAppTokenRetry(resolveUrl, accessToken);
 			} catch (org.springframework.web.client.HttpClientErrorException e) {
 				System.err.println("Fallback: HTTP error resolving artist profile: " + e.getStatusCode() + " - " + e.getMessage());
 				System.err.println("Fallback: Response body: " + e.getResponseBodyAsString());
@@ -3966,20 +3919,10 @@ public class SoundWrappedService {
 						System.out.println("Fallback: Attempting Approach 1 - Fetching tracks from URL: " + tracksUrl);
 						System.out.println("Fallback: Fetching " + fetchLimit + " tracks to find the most popular ones (not just recent)");
 						
-						HttpHeaders headers = new HttpHeaders();
-						headers.setBearerAuth(accessToken);
-						headers.set("User-Agent", "SoundWrapped/1.0 (https://github.com/tazwarsikder/SoundWrapped)");
-						headers.set("Accept", "application/json");
-						HttpEntity<String> request = new HttpEntity<String>(headers);
 						
 						ResponseEntity<Map<String, Object>> response;
 						try {
-							response = restTemplate.exchange(
-								tracksUrl,
-								HttpMethod.GET,
-								request,
-								new ParameterizedTypeReference<Map<String, Object>>(){}
-							);
+							response = getForEntityWithAppTokenRetry(tracksUrl, accessToken);
 							
 							System.out.println("Fallback: Approach 1 - Tracks API response status: " + response.getStatusCode());
 							
@@ -4029,12 +3972,7 @@ public class SoundWrappedService {
 							String searchUrl = soundCloudApiBaseUrl + "/tracks?q=" + java.net.URLEncoder.encode(artistPermalink, "UTF-8") + "&limit=" + (limit * 5) + "&linked_partitioning=true";
 							System.out.println("Fallback: Approach 2 - Search URL: " + searchUrl);
 							
-							ResponseEntity<Map<String, Object>> searchResponse = restTemplate.exchange(
-								searchUrl,
-								HttpMethod.GET,
-								request,
-								new ParameterizedTypeReference<Map<String, Object>>(){}
-							);
+							ResponseEntity<Map<String, Object>> searchResponse = getForEntityWithAppTokenRetry(searchUrl, accessToken);
 							
 							System.out.println("Fallback: Approach 2 - Search response status: " + searchResponse.getStatusCode());
 							
@@ -4176,12 +4114,26 @@ public class SoundWrappedService {
 	 * @return             Map containing unformatted Wrapped statistics
 	 */
 	public Map<String, Object> getFullWrappedSummary() {
+		Map<String, Object> profile = loadWrappedProfile();
+		String soundcloudUserId = String.valueOf(profile.getOrDefault("id", ""));
+
 		Map<String, Object> wrapped = new HashMap<String, Object>();
-		
+		wrapped.putAll(computeWrappedProfileSection(profile));
+		wrapped.putAll(computeWrappedActivitySection(soundcloudUserId));
+		wrapped.putAll(computeWrappedLibrarySection(soundcloudUserId));
+
+		return wrapped;
+    }
+
+	/**
+	 * Loads the profile used by the Wrapped sections, falling back to an
+	 * all-zero profile if SoundCloud is unavailable.
+	 */
+	public Map<String, Object> loadWrappedProfile() {
 		// Get profile first (this is the most important and usually works)
 		Map<String, Object> profile = new HashMap<String, Object>();
 		try {
-			profile = getUserProfile();
+			profile = getCachedUserProfile();
 		} catch (Exception e) {
 			System.out.println("Failed to fetch profile in wrapped summary: " + e.getMessage());
 			// Use empty profile with defaults
@@ -4196,51 +4148,15 @@ public class SoundWrappedService {
 			profile.put("upload_seconds_left", 0);
 			profile.put("created_at", "2024/01/01 00:00:00 +0000");
 		}
-		
-		// Fetch likes, tracks, playlists, and followers in parallel using CompletableFuture
-		CompletableFuture<List<Map<String, Object>>> likesFuture = CompletableFuture.supplyAsync(() -> {
-			try {
-				return getUserLikes();
-			} catch (Exception e) {
-				System.out.println("Failed to fetch likes: " + e.getMessage());
-				return new ArrayList<Map<String, Object>>();
-			}
-		});
-
-		CompletableFuture<List<Map<String, Object>>> tracksFuture = CompletableFuture.supplyAsync(() -> {
-			try {
-				return getUserTracks();
-			} catch (Exception e) {
-				System.out.println("Failed to fetch tracks: " + e.getMessage());
-				return new ArrayList<Map<String, Object>>();
-			}
-		});
-
-		CompletableFuture<List<Map<String, Object>>> playlistsFuture = CompletableFuture.supplyAsync(() -> {
-			try {
-				return getUserPlaylists();
-			} catch (Exception e) {
-				System.out.println("Failed to fetch playlists: " + e.getMessage());
-				return new ArrayList<Map<String, Object>>();
-			}
-		});
 
-		CompletableFuture<List<Map<String, Object>>> followersFuture = CompletableFuture.supplyAsync(() -> {
-			try {
-				return getUserFollowers();
-			} catch (Exception e) {
-				System.out.println("Failed to fetch followers: " + e.getMessage());
-				return new ArrayList<Map<String, Object>>();
-			}
-		});
-
-		// Wait for all parallel fetches to complete
-		CompletableFuture.allOf(likesFuture, tracksFuture, playlistsFuture, followersFuture).join();
+		return profile;
+	}
 
-		List<Map<String, Object>> likes = likesFuture.join();
-		List<Map<String, Object>> tracks = tracksFuture.join();
-		List<Map<String, Object>> playlists = playlistsFuture.join();
-		List<Map<String, Object>> followers = followersFuture.join();
+	/**
+	 * Wrapped section derived only from the SoundCloud profile (counts, account age, fun facts).
+	 */
+	public Map<String, Object> computeWrappedProfileSection(Map<String, Object> profile) {
+		Map<String, Object> wrapped = new HashMap<String, Object>();
 
 		//Profile-level statistics
 		wrapped.put("username", profile.get("username"));
@@ -4259,20 +4175,38 @@ public class SoundWrappedService {
 			wrapped.put("accountAgeYears", calculateAccountAgeYears(createdAt));
 		}
 
+		int followerCount = (int) profile.getOrDefault("followers_count", 0);
+		wrapped.put("funFact", followerCount > 1000 ? "You're pretty famous! 🎉" : "Every star starts small 🥹");
+
+		int followingCount = (int) profile.getOrDefault("following", 0);
+		double followRatio = followingCount == 0 ? followerCount : ((double) followerCount / followingCount);
+
+		if (followingCount == 0 && followerCount > 0) {
+			wrapped.put("followRatioFact", "You have followers but aren’t following anyone — true influencer vibes! 😎");
+		}
+
+		else if (followRatio > 1.0) {
+			wrapped.put("followRatioFact", String.format("You have %.1f times more followers than people you follow!", followRatio));
+		}
+
+		return wrapped;
+	}
+
+	/**
+	 * Wrapped section derived from tracked activity in the database (listening time, likes).
+	 */
+	public Map<String, Object> computeWrappedActivitySection(String soundcloudUserId) {
+		Map<String, Object> wrapped = new HashMap<String, Object>();
+
 		// Calculate stats for the past year using tracked activity
-		String soundcloudUserId = String.valueOf(profile.getOrDefault("id", ""));
 		java.time.LocalDateTime now = java.time.LocalDateTime.now();
 		java.time.LocalDateTime oneYearAgo = now.minusYears(1);
 		
-		// Get tracked listening time for the past year (in milliseconds)
-		long totalListeningTimeMs = activityTrackingService.getTotalListeningTimeMs(
-			soundcloudUserId, oneYearAgo, now);
-		double totalListeningHours = totalListeningTimeMs / 1000.0 / 60.0 / 60.0;
+		// Listening time and likes for the past year, summed from the hourly rollups
+		RollupTotals totals = activityTrackingService.getTotals(soundcloudUserId, oneYearAgo, now);
+		double totalListeningHours = totals.getListeningMs() / 1000.0 / 60.0 / 60.0;
 		wrapped.put("totalListeningHours", totalListeningHours);
-		
-		// Get tracked likes for the past year
-		long likesGiven = activityTrackingService.getTotalLikes(soundcloudUserId, oneYearAgo, now);
-		wrapped.put("likesGiven", likesGiven);
+		wrapped.put("likesGiven", totals.getLikes());
 
 		// Calculate books based on actual listening time
 		// Assuming reading speed: 1 hour of listening = 1 hour of reading
@@ -4281,24 +4215,67 @@ public class SoundWrappedService {
 		int estimatedBooksRead = (int) (totalListeningHours / 6.0);
 		wrapped.put("booksYouCouldHaveRead", estimatedBooksRead);
 
-		int followerCount = (int) profile.getOrDefault("followers_count", 0);
-		wrapped.put("funFact", followerCount > 1000 ? "You're pretty famous! 🎉" : "Every star starts small 🥹");
+		return wrapped;
+	}
 
-		int followingCount = (int) profile.getOrDefault("following", 0);
-		double followRatio = followingCount == 0 ? followerCount : ((double) followerCount / followingCount);
+	/**
+	 * Wrapped section derived from the user's SoundCloud library (likes, tracks,
+	 * playlists, followers). This is the expensive part: it pages through the
+	 * collections and runs genre and persona analysis.
+	 */
+	public Map<String, Object> computeWrappedLibrarySection(String soundcloudUserId) {
+		Map<String, Object> wrapped = new HashMap<String, Object>();
 
-		if (followingCount == 0 && followerCount > 0) {
-			wrapped.put("followRatioFact", "You have followers but aren’t following anyone — true influencer vibes! 😎");
-		}
+		// Fetch likes, tracks, playlists, and followers in parallel on the managed task executor
+		CompletableFuture<List<Map<String, Object>>> likesFuture = CompletableFuture.supplyAsync(() -> {
+			try {
+				return getUserLikes();
+			} catch (Exception e) {
+				System.out.println("Failed to fetch likes: " + e.getMessage());
+				return new ArrayList<Map<String, Object>>();
+			}
+		}, fanOutExecutor);
 
-		else if (followRatio > 1.0) {
-			wrapped.put("followRatioFact", String.format("You have %.1f times more followers than people you follow!", followRatio));
-		}
+		CompletableFuture<List<Map<String, Object>>> tracksFuture = CompletableFuture.supplyAsync(() -> {
+			try {
+				return getUserTracks();
+			} catch (Exception e) {
+				System.out.println("Failed to fetch tracks: " + e.getMessage());
+				return new ArrayList<Map<String, Object>>();
+			}
+		}, fanOutExecutor);
+
+		// Playlists and followers are folded page by page; only the top 5 / newest are kept
+		CompletableFuture<List<Map<String, Object>>> playlistsFuture = CompletableFuture.supplyAsync(() -> {
+			try (Stream<Map<String, Object>> playlists = streamUserPlaylists()) {
+				return topN(playlists, Comparator.comparingLong(p -> ((Number) p.getOrDefault("likes_count", 0)).longValue()), 5);
+			} catch (Exception e) {
+				System.out.println("Failed to fetch playlists: " + e.getMessage());
+				return new ArrayList<Map<String, Object>>();
+			}
+		}, fanOutExecutor);
+
+		CompletableFuture<Optional<Map<String, Object>>> newestFollowerFuture = CompletableFuture.supplyAsync(() -> {
+			try (Stream<Map<String, Object>> followers = streamUserFollowers()) {
+				return followers
+						.filter(f -> f.get("created_at") instanceof String)
+						.max(Comparator.comparing(f -> (String) f.get("created_at")));
+			} catch (Exception e) {
+				System.out.println("Failed to fetch followers: " + e.getMessage());
+				return Optional.<Map<String, Object>>empty();
+			}
+		}, fanOutExecutor);
+
+		// Wait for all parallel fetches to complete
+		CompletableFuture.allOf(likesFuture, tracksFuture, playlistsFuture, newestFollowerFuture).join();
+
+		List<Map<String, Object>> likes = likesFuture.join();
+		List<Map<String, Object>> tracks = tracksFuture.join();
+		List<Map<String, Object>> topLikedPlaylists = playlistsFuture.join();
+		Optional<Map<String, Object>> newestFollower = newestFollowerFuture.join();
 
-		if (!followers.isEmpty()) {
-			followers.sort(Comparator.comparing(f -> (String) f.get("created_at")));
-			Map<String, Object> newestFollower = followers.get(followers.size() - 1);
-			String followerName = (String) newestFollower.getOrDefault("username", "");
+		if (newestFollower.isPresent()) {
+			String followerName = (String) newestFollower.get().getOrDefault("username", "");
 			wrapped.put("newestFollower", String.format("Your newest follower this year is @%s!", followerName));
 		}
 
@@ -4333,11 +4310,6 @@ public class SoundWrappedService {
 		wrapped.put("topTracks", topTracks);
 
 		//Top 5 liked playlists
-		List<Map<String, Object>> topLikedPlaylists = playlists.stream()
-				.sorted((a, b) -> Long.compare(
-						((Number) b.getOrDefault("likes_count", 0)).longValue(),
-						((Number) a.getOrDefault("likes_count", 0)).longValue()))
-				.limit(5).toList();
 		wrapped.put("topLikedPlaylists", topLikedPlaylists);
 
 		Map<String, Integer> artistCounts = countTopArtists(likes);
@@ -4401,7 +4373,7 @@ public class SoundWrappedService {
 		wrapped.put("musicAge", musicAge);
 
 		return wrapped;
-    }
+	}
 
 	/**
 	 * Calculates the percentage of listening time dedicated to "underground" artists
@@ -4623,8 +4595,8 @@ public class SoundWrappedService {
 			java.time.LocalDateTime oneYearAgo = java.time.LocalDateTime.now().minusYears(1);
 			java.time.LocalDateTime now = java.time.LocalDateTime.now();
 			
-			List<com.soundwrapped.entity.UserActivity> playActivities = 
-				userActivityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
+			List<Object[]> firstPlays = 
+				userActivityRepository.findFirstTimestampPerTrack(
 					userId, 
 					com.soundwrapped.entity.UserActivity.ActivityType.PLAY,
 					oneYearAgo,
@@ -4633,14 +4605,8 @@ public class SoundWrappedService {
 
 			// Create a map of trackId -> first play timestamp (earliest play)
 			Map<String, java.time.LocalDateTime> firstPlayTimestamps = new HashMap<String, java.time.LocalDateTime>();
-			for (com.soundwrapped.entity.UserActivity activity : playActivities) {
-				String trackId = activity.getTrackId();
-				java.time.LocalDateTime playTime = activity.getCreatedAt();
-				// Get existing timestamp or use current play time
-				java.time.LocalDateTime existingTime = firstPlayTimestamps.get(trackId);
-				if (existingTime == null || playTime.isBefore(existingTime)) {
-					firstPlayTimestamps.put(trackId, playTime);
-				}
+			for (Object[] row : firstPlays) {
+				firstPlayTimestamps.put((String) row[0], (java.time.LocalDateTime) row[1]);
 			}
 
 			// Calculate trendsetter score
@@ -4759,19 +4725,14 @@ public class SoundWrappedService {
 			java.time.LocalDateTime oneYearAgo = java.time.LocalDateTime.now().minusYears(1);
 			java.time.LocalDateTime now = java.time.LocalDateTime.now();
 			
-			List<com.soundwrapped.entity.UserActivity> repostActivities = 
-				userActivityRepository.findBySoundcloudUserIdAndActivityTypeAndCreatedAtBetween(
+			// Create a set of reposted track IDs
+			Set<String> repostedTrackIds = new HashSet<String>(
+				userActivityRepository.findDistinctTrackIds(
 					userId, 
 					com.soundwrapped.entity.UserActivity.ActivityType.REPOST,
 					oneYearAgo,
 					now
-				);
-
-			// Create a set of reposted track IDs
-			Set<String> repostedTrackIds = new HashSet<String>();
-			for (com.soundwrapped.entity.UserActivity activity : repostActivities) {
-				repostedTrackIds.add(activity.getTrackId());
-			}
+				));
 
 			if (repostedTrackIds.isEmpty()) {
 				result.put("repostedTracks", 0);
@@ -5069,8 +5030,18 @@ public class SoundWrappedService {
      * @return             Map containing user-friendly Wrapped summary
      */
 	public Map<String, Object> formattedWrappedSummary() {
+		return formatWrappedSummary(getFullWrappedSummary(), null);
+	}
+
+	/**
+	 * Formats an already computed raw summary (see {@link #formattedWrappedSummary()}).
+	 *
+	 * @param raw                Raw summary, as returned by {@link #getFullWrappedSummary()}
+	 * @param yearInReviewPoetry Previously generated poem to reuse, or {@code null} to generate one via Groq
+	 * @return                   Map containing user-friendly Wrapped summary
+	 */
+	public Map<String, Object> formatWrappedSummary(Map<String, Object> raw, String yearInReviewPoetry) {
 		try {
-		Map<String, Object> raw = getFullWrappedSummary();
 		Map<String, Object> wrapped = new LinkedHashMap<String, Object>();
 		Map<String, Object> profile = new LinkedHashMap<String, Object>();
 			profile.put("username", raw.getOrDefault("username", "Unknown"));
@@ -5156,7 +5127,9 @@ public class SoundWrappedService {
 		String username = (String) raw.getOrDefault("username", "Music Lover");
 		@SuppressWarnings("unchecked")
 		List<String> topGenres = (List<String>) raw.getOrDefault("topGenres", List.of());
-		String yearInReviewPoetry = generateYearInReviewPoetry(rankedTracks, topGenres, username);
+		if (yearInReviewPoetry == null) {
+			yearInReviewPoetry = generateYearInReviewPoetry(rankedTracks, topGenres, username);
+		}
 		wrapped.put("yearInReviewPoetry", yearInReviewPoetry);
 
 		// Phase 2: Add Trendsetter Score
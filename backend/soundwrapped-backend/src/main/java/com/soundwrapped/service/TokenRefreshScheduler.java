@@ -41,7 +41,8 @@ public class TokenRefreshScheduler {
 				String refreshToken = tokenStore.getRefreshToken();
 				if (refreshToken != null && !refreshToken.isBlank()) {
 					System.out.println("[TokenRefreshScheduler] 🔄 Proactively refreshing access token...");
-					soundWrappedService.refreshAccessToken(refreshToken);
+					// Same single-flight path as request-time refreshes, so they never race
+					SoundCloudClient.await(soundWrappedService.refreshAccessTokenSingleFlight(tokenStore.getAccessToken()));
 					System.out.println("[TokenRefreshScheduler] ✅ Token refreshed successfully");
 				} else {
 					System.out.println("[TokenRefreshScheduler] ⚠️ No refresh token available - user needs to re-authenticate");
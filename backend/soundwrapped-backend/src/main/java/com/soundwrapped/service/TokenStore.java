@@ -3,12 +3,36 @@ package com.soundwrapped.service;
 import com.soundwrapped.entity.Token;
 import com.soundwrapped.repository.TokenRepository;
 import org.springframework.stereotype.Service;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Holds the app's single SoundCloud token pair.
+ * <p>
+ * Reads are served from a volatile, write-through in-memory snapshot of the
+ * current {@link Token}; the database is only read on first use or after
+ * {@link #invalidate()}, and every {@code saveTokens} replaces the snapshot
+ * with the row it just wrote.
+ * </p>
+ */
 @Service
 public class TokenStore {
 	private final TokenRepository tokenRepository;
 
+	// null = not loaded yet; Optional.empty() = loaded, no token stored
+	private volatile Optional<Token> snapshot = null;
+
+	private final AtomicLong snapshotHits = new AtomicLong();
+	private final AtomicLong dbReads = new AtomicLong();
+	private final AtomicLong dbWrites = new AtomicLong();
+
+	// Notified after every token rotation so token-derived caches can be dropped
+	private final List<Runnable> tokenChangeListeners = new CopyOnWriteArrayList<Runnable>();
+
 	public TokenStore(TokenRepository tokenRepository) {
 		this.tokenRepository = tokenRepository;
 	}
@@ -17,7 +41,7 @@ public class TokenStore {
 		saveTokens(accessToken, refreshToken, null);
 	}
 
-	public void saveTokens(String accessToken, String refreshToken, Integer expiresInSeconds) {
+	public synchronized void saveTokens(String accessToken, String refreshToken, Integer expiresInSeconds) {
 		Token existing = tokenRepository.findByRefreshToken(refreshToken)
 				.or(() -> tokenRepository.findByAccessToken(accessToken))
 				.orElse(null);
@@ -33,30 +57,75 @@ public class TokenStore {
 				// Default: refresh after 10 hours
 				existing.setExpiresAt(java.time.LocalDateTime.now().plusHours(10));
 			}
-			tokenRepository.save(existing);
+			snapshot = Optional.of(tokenRepository.save(existing));
 		} else {
 			tokenRepository.deleteAll();
 			Token newToken = expiresInSeconds != null 
 				? new Token(accessToken, refreshToken, expiresInSeconds)
 				: new Token(accessToken, refreshToken);
-			tokenRepository.save(newToken);
+			snapshot = Optional.of(tokenRepository.save(newToken));
 		}
+
+		dbWrites.incrementAndGet();
+		notifyTokenChangeListeners();
 	}
 
-	public String getAccessToken() {
-		Optional<Token> token = tokenRepository.findAll().stream().findFirst();
+	public void addTokenChangeListener(Runnable listener) {
+		tokenChangeListeners.add(listener);
+	}
 
-		return token.map(Token::getAccessToken).orElse(null);
+	private void notifyTokenChangeListeners() {
+		for (Runnable listener : tokenChangeListeners) {
+			try {
+				listener.run();
+			} catch (Exception e) {
+				System.err.println("Token change listener failed: " + e.getMessage());
+			}
+		}
 	}
 
-	public String getRefreshToken() {
-		Optional<Token> token = tokenRepository.findAll().stream().findFirst();
+	public String getAccessToken() {
+		return getToken().map(Token::getAccessToken).orElse(null);
+	}
 
-		return token.map(Token::getRefreshToken).orElse(null);
+	public String getRefreshToken() {
+		return getToken().map(Token::getRefreshToken).orElse(null);
 	}
 
 	public Optional<Token> getToken() {
-		return tokenRepository.findAll().stream().findFirst();
+		Optional<Token> current = snapshot;
+
+		if (current != null) {
+			snapshotHits.incrementAndGet();
+			return current;
+		}
+
+		synchronized (this) {
+			if (snapshot == null) {
+				dbReads.incrementAndGet();
+				snapshot = tokenRepository.findAll().stream().findFirst();
+			}
+
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Drops the in-memory snapshot so the next read reloads from the database
+	 * (e.g. after tokens were changed outside this instance).
+	 */
+	public void invalidate() {
+		snapshot = null;
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("snapshotHits", snapshotHits.get());
+		stats.put("dbReads", dbReads.get());
+		stats.put("dbWrites", dbWrites.get());
+		stats.put("loaded", snapshot != null);
+
+		return stats;
 	}
 
 	public boolean hasValidToken() {
@@ -0,0 +1,177 @@
+package com.soundwrapped.service;
+
+import com.soundwrapped.config.CacheRegion;
+import com.soundwrapped.config.CacheRegion.TrackSearchKey;
+import com.soundwrapped.entity.TrackMatch;
+import com.soundwrapped.repository.TrackMatchRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent index of Last.fm (artist, title) → SoundCloud track id matches.
+ * <p>
+ * Matches live in the {@code track_matches} table so they survive restarts,
+ * with the bounded {@code soundcloudTrackSearch} cache as an in-memory front.
+ * Lookups take a whole scrobble batch: keys missing from the front are
+ * resolved with a single {@code IN} query. Negative entries (searched, no
+ * match) are honoured for {@code negative-ttl-hours} and then reported as
+ * unknown so the caller searches SoundCloud again.
+ * </p>
+ */
+@Service
+public class TrackMatchIndex {
+    /** Front-cache value for a known miss. */
+    public static final String NO_MATCH = "";
+
+    // Concurrent syncs may search the same key; the latest outcome wins without a unique-key error
+    private static final String UPSERT_SQL =
+        "INSERT INTO track_matches (match_key, soundcloud_track_id, checked_at) VALUES (?, ?, ?) "
+        + "ON CONFLICT (match_key) DO UPDATE SET "
+        + "soundcloud_track_id = EXCLUDED.soundcloud_track_id, checked_at = EXCLUDED.checked_at";
+
+    private final TrackMatchRepository trackMatchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheAside cacheAside;
+    private final Executor taskExecutor;
+
+    @Value("${soundwrapped.track-match.negative-ttl-hours:168}")
+    private long negativeTtlHours = 168;
+
+    @Value("${soundwrapped.track-match.warmup-size:2000}")
+    private int warmupSize = 2000;
+
+    private final AtomicLong frontHits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong unknown = new AtomicLong();
+
+    public TrackMatchIndex(
+            TrackMatchRepository trackMatchRepository,
+            JdbcTemplate jdbcTemplate,
+            CacheAside cacheAside,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.trackMatchRepository = trackMatchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheAside = cacheAside;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Resolves a batch of keys against the front cache, then the table.
+     *
+     * @param keys Normalized artist/title keys
+     * @return     Known keys mapped to a SoundCloud track id or {@link #NO_MATCH};
+     *             keys that need a live search are absent
+     */
+    public Map<TrackSearchKey, String> lookupAll(Collection<TrackSearchKey> keys) {
+        Map<TrackSearchKey, String> known = new HashMap<>();
+        Map<String, TrackSearchKey> missing = new HashMap<>();
+
+        for (TrackSearchKey key : keys) {
+            Optional<String> cached = cacheAside.getIfPresent(CacheRegion.SOUNDCLOUD_TRACK_SEARCH, key);
+
+            if (cached.isPresent()) {
+                known.put(key, cached.get());
+                frontHits.incrementAndGet();
+            }
+
+            else
+                missing.put(key.matchKey(), key);
+        }
+
+        if (missing.isEmpty())
+            return known;
+
+        LocalDateTime negativeCutoff = LocalDateTime.now().minusHours(negativeTtlHours);
+
+        for (TrackMatch match : trackMatchRepository.findByMatchKeyIn(missing.keySet())) {
+            TrackSearchKey key = missing.get(match.getMatchKey());
+
+            if (key == null)
+                continue;
+
+            if (!match.isNegative()) {
+                known.put(key, match.getSoundcloudTrackId());
+                cacheAside.put(CacheRegion.SOUNDCLOUD_TRACK_SEARCH, key, match.getSoundcloudTrackId());
+                storeHits.incrementAndGet();
+            }
+
+            // Negatives are not promoted to the front so they cannot outlive their TTL there
+            else if (match.getCheckedAt().isAfter(negativeCutoff)) {
+                known.put(key, NO_MATCH);
+                storeHits.incrementAndGet();
+            }
+        }
+
+        unknown.addAndGet(keys.size() - known.size());
+
+        return known;
+    }
+
+    /**
+     * Stores the outcome of a live SoundCloud search as a single upsert, so a
+     * concurrent sync recording the same key can never fail the caller.
+     *
+     * @param key               Normalized artist/title key
+     * @param soundcloudTrackId Matched track id, or {@code null} for no match
+     */
+    public void record(TrackSearchKey key, String soundcloudTrackId) {
+        cacheAside.put(CacheRegion.SOUNDCLOUD_TRACK_SEARCH, key, soundcloudTrackId != null ? soundcloudTrackId : NO_MATCH);
+        jdbcTemplate.update(UPSERT_SQL, key.matchKey(), soundcloudTrackId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Loads the most recent positive matches into the front cache once the
+     * application is up, off the startup thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupSize <= 0)
+            return;
+
+        taskExecutor.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                List<TrackMatch> recent = trackMatchRepository
+                    .findBySoundcloudTrackIdIsNotNullOrderByCheckedAtDesc(PageRequest.of(0, warmupSize));
+
+                for (TrackMatch match : recent) {
+                    int separator = match.getMatchKey().indexOf('|');
+
+                    if (separator < 0)
+                        continue;
+
+                    TrackSearchKey key = new TrackSearchKey(match.getMatchKey().substring(0, separator),
+                        match.getMatchKey().substring(separator + 1));
+                    cacheAside.put(CacheRegion.SOUNDCLOUD_TRACK_SEARCH, key, match.getSoundcloudTrackId());
+                }
+
+                System.out.println("[TrackMatchIndex] Warmed " + recent.size() + " match(es) in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            }
+
+            catch (Exception e) {
+                System.err.println("[TrackMatchIndex] Warm-up failed: " + e.getMessage());
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("frontHits", frontHits.get());
+        stats.put("storeHits", storeHits.get());
+        stats.put("unknown", unknown.get());
+
+        return stats;
+    }
+}
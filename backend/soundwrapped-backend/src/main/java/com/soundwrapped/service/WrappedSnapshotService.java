@@ -0,0 +1,259 @@
+package com.soundwrapped.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.entity.WrappedSnapshot;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.repository.WrappedSnapshotRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Serves the formatted "Wrapped" summary from a persisted per-user snapshot.
+ * <p>
+ * The first request for a user computes and stores the full summary. Later
+ * requests return the stored snapshot immediately and, if any section is
+ * stale, recompute just those sections in the background:
+ * <ul>
+ *   <li>profile - every {@code profile-ttl-minutes}, or when the profile counts change</li>
+ *   <li>activity - when a newer {@code user_activities} row exists for the user, or every {@code activity-ttl-minutes}</li>
+ *   <li>library - when the favorites/tracks/playlists/followers counts change, or every {@code library-ttl-hours}</li>
+ * </ul>
+ * The Groq "year in review" poem is only regenerated with the library section.
+ * </p>
+ */
+@Service
+public class WrappedSnapshotService {
+
+    enum Section { PROFILE, ACTIVITY, LIBRARY }
+
+    private static final TypeReference<Map<String, Map<String, Object>>> SECTIONS_TYPE =
+            new TypeReference<Map<String, Map<String, Object>>>() {};
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private final SoundWrappedService soundWrappedService;
+    private final WrappedSnapshotRepository snapshotRepository;
+    private final UserActivityRepository activityRepository;
+    private final ObjectMapper objectMapper;
+    private final Executor taskExecutor;
+
+    // Users with a background recompute in progress
+    private final Set<String> recomputing = ConcurrentHashMap.newKeySet();
+
+    @Value("${soundwrapped.wrapped-snapshot.profile-ttl-minutes:15}")
+    private long profileTtlMinutes = 15;
+
+    @Value("${soundwrapped.wrapped-snapshot.activity-ttl-minutes:5}")
+    private long activityTtlMinutes = 5;
+
+    @Value("${soundwrapped.wrapped-snapshot.library-ttl-hours:24}")
+    private long libraryTtlHours = 24;
+
+    public WrappedSnapshotService(
+            SoundWrappedService soundWrappedService,
+            WrappedSnapshotRepository snapshotRepository,
+            UserActivityRepository activityRepository,
+            ObjectMapper objectMapper,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.soundWrappedService = soundWrappedService;
+        this.snapshotRepository = snapshotRepository;
+        this.activityRepository = activityRepository;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Returns the formatted Wrapped summary for the current user.
+     *
+     * @param forceRefresh Recompute every section now instead of serving the snapshot
+     * @return             Map containing user-friendly Wrapped summary
+     */
+    public Map<String, Object> getWrapped(boolean forceRefresh) {
+        Map<String, Object> profile = soundWrappedService.loadWrappedProfile();
+        String userId = String.valueOf(profile.getOrDefault("id", ""));
+
+        // Without a stable user id there is nothing to key the snapshot on
+        if (userId.isEmpty() || "null".equals(userId))
+            return soundWrappedService.formattedWrappedSummary();
+
+        Optional<WrappedSnapshot> existing = snapshotRepository.findBySoundcloudUserId(userId);
+
+        if (forceRefresh || existing.isEmpty())
+            return recompute(userId, profile, EnumSet.allOf(Section.class));
+
+        WrappedSnapshot snapshot = existing.get();
+        Set<Section> stale = staleSections(snapshot, userId, profile);
+
+        if (!stale.isEmpty())
+            recomputeInBackground(userId, profile, stale);
+
+        return readMap(snapshot.getFormattedJson(), MAP_TYPE);
+    }
+
+    private Set<Section> staleSections(WrappedSnapshot snapshot, String userId, Map<String, Object> profile) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Section> stale = EnumSet.noneOf(Section.class);
+        boolean countsChanged = !profileCounts(profile).equals(snapshot.getLibraryWatermark());
+
+        if (countsChanged || isOlderThan(snapshot.getProfileComputedAt(), now.minusMinutes(profileTtlMinutes)))
+            stale.add(Section.PROFILE);
+
+        Long latestActivityId = activityRepository.findMaxIdBySoundcloudUserId(userId);
+
+        if ((latestActivityId != null && !latestActivityId.equals(snapshot.getActivityWatermark()))
+                || isOlderThan(snapshot.getActivityComputedAt(), now.minusMinutes(activityTtlMinutes)))
+            stale.add(Section.ACTIVITY);
+
+        if (countsChanged || isOlderThan(snapshot.getLibraryComputedAt(), now.minusHours(libraryTtlHours)))
+            stale.add(Section.LIBRARY);
+
+        return stale;
+    }
+
+    private void recomputeInBackground(String userId, Map<String, Object> profile, Set<Section> sections) {
+        if (!recomputing.add(userId))
+            return;
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    recompute(userId, profile, sections);
+                }
+
+                catch (Exception e) {
+                    System.err.println("[WrappedSnapshot] ❌ Background recompute of " + sections + " failed for user "
+                            + userId + ": " + e.getMessage());
+                }
+
+                finally {
+                    recomputing.remove(userId);
+                }
+            });
+        }
+
+        catch (Exception e) {
+            // Executor saturated; the stale snapshot is served and the next request retries
+            recomputing.remove(userId);
+        }
+    }
+
+    private Map<String, Object> recompute(String userId, Map<String, Object> profile, Set<Section> sections) {
+        long start = System.currentTimeMillis();
+        WrappedSnapshot snapshot = snapshotRepository.findBySoundcloudUserId(userId).orElseGet(WrappedSnapshot::new);
+        Map<String, Map<String, Object>> raw = snapshot.getRawJson() != null
+                ? readMap(snapshot.getRawJson(), SECTIONS_TYPE) : new HashMap<String, Map<String, Object>>();
+        LocalDateTime now = LocalDateTime.now();
+        String previousPoetry = null;
+
+        if (sections.contains(Section.PROFILE)) {
+            raw.put(Section.PROFILE.name(), soundWrappedService.computeWrappedProfileSection(profile));
+            snapshot.setProfileComputedAt(now);
+        }
+
+        if (sections.contains(Section.ACTIVITY)) {
+            // Read the watermark first so rows arriving during the computation trigger another pass
+            snapshot.setActivityWatermark(activityRepository.findMaxIdBySoundcloudUserId(userId));
+            raw.put(Section.ACTIVITY.name(), soundWrappedService.computeWrappedActivitySection(userId));
+            snapshot.setActivityComputedAt(now);
+        }
+
+        if (sections.contains(Section.LIBRARY)) {
+            Map<String, Object> library = soundWrappedService.computeWrappedLibrarySection(userId);
+
+            if (looksLikeFailedFetch(library, profile) && raw.containsKey(Section.LIBRARY.name())) {
+                // SoundCloud returned nothing although the profile says there is data; keep the old section
+                System.err.println("[WrappedSnapshot] ⚠️ Library fetch came back empty for user " + userId + "; keeping previous section");
+            }
+
+            else {
+                raw.put(Section.LIBRARY.name(), library);
+                snapshot.setLibraryComputedAt(now);
+                snapshot.setLibraryWatermark(profileCounts(profile));
+            }
+        }
+
+        if (!sections.contains(Section.LIBRARY) && snapshot.getFormattedJson() != null) {
+            Object poetry = readMap(snapshot.getFormattedJson(), MAP_TYPE).get("yearInReviewPoetry");
+            previousPoetry = poetry instanceof String p ? p : null;
+        }
+
+        Map<String, Object> merged = new HashMap<String, Object>();
+        raw.values().forEach(merged::putAll);
+        Map<String, Object> formatted = soundWrappedService.formatWrappedSummary(merged, previousPoetry);
+
+        snapshot.setSoundcloudUserId(userId);
+        snapshot.setRawJson(writeJson(raw));
+        snapshot.setFormattedJson(writeJson(formatted));
+
+        try {
+            snapshotRepository.save(snapshot);
+        }
+
+        catch (Exception e) {
+            // Still serve the fresh result; the next request will try to persist again
+            System.err.println("[WrappedSnapshot] ❌ Failed to persist snapshot for user " + userId + ": " + e.getMessage());
+        }
+
+        System.out.println("[WrappedSnapshot] Recomputed " + sections + " for user " + userId
+                + " in " + (System.currentTimeMillis() - start) + "ms");
+
+        return formatted;
+    }
+
+    /**
+     * Library watermark: SoundCloud does not expose a change cursor for
+     * favorites, so the profile counts stand in for one.
+     */
+    private static String profileCounts(Map<String, Object> profile) {
+        return profile.get("public_favorites_count") + "|" + profile.get("track_count") + "|"
+                + profile.get("playlist_count") + "|" + profile.get("followers_count") + "|"
+                + profile.get("followings_count");
+    }
+
+    private static boolean looksLikeFailedFetch(Map<String, Object> library, Map<String, Object> profile) {
+        boolean profileHasData = profile.get("public_favorites_count") instanceof Number favorites && favorites.longValue() > 0
+                || profile.get("track_count") instanceof Number tracks && tracks.longValue() > 0;
+        boolean sectionEmpty = isEmpty(library.get("topTracks")) && isEmpty(library.get("topLikedArtists"));
+
+        return profileHasData && sectionEmpty;
+    }
+
+    private static boolean isEmpty(Object value) {
+        return !(value instanceof Collection<?> collection) || collection.isEmpty();
+    }
+
+    private static boolean isOlderThan(LocalDateTime computedAt, LocalDateTime threshold) {
+        return computedAt == null || computedAt.isBefore(threshold);
+    }
+
+    private <T> T readMap(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        }
+
+        catch (Exception e) {
+            throw new IllegalStateException("Corrupt Wrapped snapshot JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        }
+
+        catch (Exception e) {
+            throw new IllegalStateException("Could not serialize Wrapped snapshot: " + e.getMessage(), e);
+        }
+    }
+}
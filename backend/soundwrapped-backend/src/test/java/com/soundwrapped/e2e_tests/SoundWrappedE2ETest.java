@@ -7,6 +7,8 @@ import com.soundwrapped.repository.TokenRepository;
 import com.soundwrapped.service.SoundWrappedService;
 import com.soundwrapped.service.TokenStore;
 import com.soundwrapped.service.GenreAnalysisService;
+import com.soundwrapped.service.DescriptionStore;
+import com.soundwrapped.repository.GeneratedDescriptionRepository;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
@@ -39,6 +41,15 @@ class SoundWrappedE2ETest {
 	@Autowired
 	private RestTemplate restTemplate;
 
+	@Autowired
+	private com.soundwrapped.service.SoundCloudClient soundCloudClient;
+
+	@Autowired
+	private com.soundwrapped.service.ClientCredentialsTokenManager appTokenManager;
+
+	@Autowired
+	private com.soundwrapped.service.CacheAside cacheAside;
+
 	@Autowired
 	private GenreAnalysisService genreAnalysisService;
 
@@ -65,6 +76,12 @@ class SoundWrappedE2ETest {
 			return Mockito.mock(RestTemplate.class);
 		}
 
+		@Bean
+		@Primary
+		com.soundwrapped.service.SoundCloudClient soundCloudClient() {
+			return Mockito.mock(com.soundwrapped.service.SoundCloudClient.class);
+		}
+
 		@Bean
 		@Primary
 		GenreAnalysisService genreAnalysisService() {
@@ -102,7 +119,9 @@ class SoundWrappedE2ETest {
 		tokenRepository.deleteAll();
 		
 		tokenStore = new TokenStore(tokenRepository);
-		soundWrappedService = new SoundWrappedService(tokenStore, restTemplate, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService);
+		soundWrappedService = new SoundWrappedService(tokenStore, restTemplate, soundCloudClient, appTokenManager, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService, cacheAside, new DescriptionStore(mock(GeneratedDescriptionRepository.class)), Runnable::run);
+		when(activityTrackingService.getTotals(any(), any(), any()))
+				.thenReturn(mock(com.soundwrapped.repository.ListeningRollupRepository.RollupTotals.class));
 
 		ReflectionTestUtils.setField(soundWrappedService, "soundCloudApiBaseUrl", "https://api.soundcloud.com");
 		ReflectionTestUtils.setField(soundWrappedService, "clientId", "dummyClientId");
@@ -138,11 +157,9 @@ class SoundWrappedE2ETest {
 		tokenStore.saveTokens(token.getAccessToken(), token.getRefreshToken());
 
 		Map<String, Object> fakeProfile = Map.of("username", "testuser");
-		ResponseEntity<Map<String, Object>> responseEntity = new ResponseEntity<Map<String, Object>>(fakeProfile, HttpStatus.OK);
 
-		when(restTemplate.exchange(contains("/me"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(responseEntity);
+		when(soundCloudClient.get(contains("/me"), anyString()))
+				.thenReturn(fakeProfile);
 
 		Map<String, Object> result = soundWrappedService.getUserProfile();
 		assertEquals("testuser", result.get("username"));
@@ -156,16 +173,14 @@ class SoundWrappedE2ETest {
 		tokenStore.saveTokens(token.getAccessToken(), token.getRefreshToken());
 
 		Map<String, Object> fakeProfile = Map.of("username", "refreshedUser");
-		ResponseEntity<Map<String, Object>> profileResponse = new ResponseEntity<Map<String, Object>>(fakeProfile, HttpStatus.OK);
 
 		String uniqueNewAccessToken = "newAccess_" + UUID.randomUUID();
 		Map<String, Object> newTokenResponse = Map.of("access_token", uniqueNewAccessToken, "refresh_token", uniqueRefreshToken);
 
 		// GET returns 401 first, then succeeds after refresh
-		when(restTemplate.exchange(contains("/me"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+		when(soundCloudClient.get(contains("/me"), anyString()))
 				.thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED))
-				.thenReturn(profileResponse);
+				.thenReturn(fakeProfile);
 
 		// POST to token endpoint
 		when(restTemplate.exchange(eq("https://api.soundcloud.com/oauth2/token"), eq(HttpMethod.POST),
@@ -194,25 +209,20 @@ class SoundWrappedE2ETest {
 				entry("created_at", "2013/03/23 14:58:27 +0000"));
 
 		// Mock all GET endpoints
-		when(restTemplate.exchange(contains("/me"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(profile, HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me"), anyString()))
+				.thenReturn(profile);
 
-		when(restTemplate.exchange(contains("/me/favorites"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/favorites"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
-		when(restTemplate.exchange(contains("/me/playlists"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/playlists"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
-		when(restTemplate.exchange(contains("/me/followers"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/followers"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
-		when(restTemplate.exchange(contains("/me/tracks"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/tracks"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
 		Map<String, Object> wrapped = soundWrappedService.getFullWrappedSummary();
 
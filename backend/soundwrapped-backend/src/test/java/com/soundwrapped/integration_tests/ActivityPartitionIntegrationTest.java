@@ -0,0 +1,74 @@
+package com.soundwrapped.integration_tests;
+
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.service.ActivityPartitionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the migration commits its own DDL and builds an
+ * index concurrently, which cannot run inside a test transaction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityPartitionIntegrationTest {
+	@Autowired
+	private ActivityPartitionService partitionService;
+
+	@Autowired
+	private UserActivityRepository activityRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void testMigrate_keepsHistoryInTheLegacyPartitionAndRoutesNewRowsToMonthlyPartitions() {
+		String userId = "partition_" + UUID.randomUUID();
+		activityRepository.saveAllAndFlush(List.of(
+				activity(userId, "old", LocalDateTime.of(2019, 1, 1, 12, 0)),
+				activity(userId, "recent", LocalDateTime.now().minusHours(1))));
+
+		assertTrue(partitionService.migrateToPartitionedTable());
+		assertFalse(partitionService.migrateToPartitionedTable());
+
+		assertEquals("p", jdbcTemplate.queryForObject(
+				"SELECT relkind::text FROM pg_class WHERE oid = 'user_activities'::regclass", String.class));
+		assertEquals("user_activities_legacy", partitionOf(userId, "old"));
+		assertEquals("user_activities_legacy", partitionOf(userId, "recent"));
+		assertNotNull(jdbcTemplate.queryForObject("SELECT to_regclass('user_activities_default')::text", String.class));
+
+		// Rows past the legacy bound go to the monthly partitions maintenance creates
+		partitionService.maintainPartitions();
+		YearMonth future = YearMonth.now().plusMonths(2);
+		activityRepository.saveAndFlush(activity(userId, "future", future.atDay(1).atTime(12, 0)));
+
+		assertEquals("user_activities_p" + future.format(DateTimeFormatter.ofPattern("yyyyMM")), partitionOf(userId, "future"));
+		assertEquals(3, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM user_activities WHERE soundcloud_user_id = ?", Integer.class, userId));
+	}
+
+	private String partitionOf(String userId, String trackId) {
+		return jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM user_activities WHERE soundcloud_user_id = ? AND track_id = ?",
+				String.class, userId, trackId);
+	}
+
+	private static UserActivity activity(String userId, String trackId, LocalDateTime createdAt) {
+		UserActivity activity = new UserActivity();
+		activity.setSoundcloudUserId(userId);
+		activity.setTrackId(trackId);
+		activity.setActivityType(UserActivity.ActivityType.PLAY);
+		activity.setCreatedAt(createdAt);
+		return activity;
+	}
+}
@@ -0,0 +1,52 @@
+package com.soundwrapped.integration_tests;
+
+import com.soundwrapped.entity.ListeningRollup;
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.service.ListeningRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ListeningRollupIntegrationTest {
+	private static final LocalDateTime HOUR = LocalDateTime.of(2025, 3, 14, 21, 0);
+
+	@Autowired
+	private ListeningRollupService rollupService;
+
+	@Test
+	void testApply_addsDeltasToAnExistingBucketOnConflict() {
+		String userId = "rollup_" + UUID.randomUUID();
+
+		rollupService.apply(List.of(
+				activity(userId, UserActivity.ActivityType.PLAY, HOUR.plusMinutes(5), 180_000L),
+				activity(userId, UserActivity.ActivityType.LIKE, HOUR.plusMinutes(6), null)));
+		rollupService.apply(List.of(
+				activity(userId, UserActivity.ActivityType.PLAY, HOUR.plusMinutes(40), 120_000L)));
+
+		List<ListeningRollup> rollups = rollupService.getRollups(userId, HOUR, HOUR.plusHours(1));
+		assertEquals(1, rollups.size());
+		assertEquals(2, rollups.get(0).getPlays());
+		assertEquals(300_000L, rollups.get(0).getListeningMs());
+		assertEquals(1, rollups.get(0).getLikes());
+		assertEquals(2, rollupService.getTotals(userId, HOUR, HOUR.plusHours(1)).getPlays());
+	}
+
+	private static UserActivity activity(String userId, UserActivity.ActivityType type, LocalDateTime createdAt, Long durationMs) {
+		UserActivity activity = new UserActivity();
+		activity.setSoundcloudUserId(userId);
+		activity.setTrackId("track-1");
+		activity.setActivityType(type);
+		activity.setPlayDurationMs(durationMs);
+		activity.setCreatedAt(createdAt);
+		return activity;
+	}
+}
@@ -6,6 +6,8 @@ import com.soundwrapped.service.GenreAnalysisService;
 import com.soundwrapped.entity.Token;
 import com.soundwrapped.exception.TokenRefreshException;
 import com.soundwrapped.repository.TokenRepository;
+import com.soundwrapped.service.DescriptionStore;
+import com.soundwrapped.repository.GeneratedDescriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -44,6 +46,15 @@ class SoundWrappedServiceIntegrationTest {
 	@Autowired
 	private RestTemplate restTemplate;
 
+	@Autowired
+	private com.soundwrapped.service.SoundCloudClient soundCloudClient;
+
+	@Autowired
+	private com.soundwrapped.service.ClientCredentialsTokenManager appTokenManager;
+
+	@Autowired
+	private com.soundwrapped.service.CacheAside cacheAside;
+
 	@Autowired
 	private GenreAnalysisService genreAnalysisService;
 
@@ -70,6 +81,12 @@ class SoundWrappedServiceIntegrationTest {
 			return Mockito.mock(RestTemplate.class);
 		}
 
+		@Bean
+		@Primary
+		com.soundwrapped.service.SoundCloudClient soundCloudClient() {
+			return Mockito.mock(com.soundwrapped.service.SoundCloudClient.class);
+		}
+
 		@Bean
 		@Primary
 		GenreAnalysisService genreAnalysisService() {
@@ -108,7 +125,9 @@ class SoundWrappedServiceIntegrationTest {
 		
 		MockitoAnnotations.openMocks(this);
 		tokenStore = new TokenStore(tokenRepository);
-		soundWrappedService = new SoundWrappedService(tokenStore, restTemplate, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService);
+		soundWrappedService = new SoundWrappedService(tokenStore, restTemplate, soundCloudClient, appTokenManager, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService, cacheAside, new DescriptionStore(mock(GeneratedDescriptionRepository.class)), Runnable::run);
+		when(activityTrackingService.getTotals(any(), any(), any()))
+				.thenReturn(mock(com.soundwrapped.repository.ListeningRollupRepository.RollupTotals.class));
 
 		// Inject dummy SoundCloud API values
 		ReflectionTestUtils.setField(soundWrappedService, "soundCloudApiBaseUrl", "https://api.soundcloud.com");
@@ -123,11 +142,9 @@ class SoundWrappedServiceIntegrationTest {
 		tokenStore.saveTokens(accessToken, refreshToken);
 
 		Map<String, Object> fakeProfile = Map.of("username", "testuser");
-		ResponseEntity<Map<String, Object>> responseEntity = new ResponseEntity<Map<String, Object>>(fakeProfile, HttpStatus.OK);
 
-		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(responseEntity);
+		when(soundCloudClient.get(anyString(), anyString()))
+				.thenReturn(fakeProfile);
 
 		Map<String, Object> result = soundWrappedService.getUserProfile();
 		assertEquals("testuser", result.get("username"));
@@ -152,10 +169,9 @@ class SoundWrappedServiceIntegrationTest {
 				HttpStatus.OK);
 
 		// GET returns 401 first, then succeeds after refresh
-		when(restTemplate.exchange(contains("/me"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+		when(soundCloudClient.get(contains("/me"), anyString()))
 				.thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(fakeProfile, HttpStatus.OK));
+				.thenReturn(fakeProfile);
 
 		// POST to token endpoint for refresh
 		when(restTemplate.exchange(eq("https://api.soundcloud.com/oauth2/token"), eq(HttpMethod.POST),
@@ -213,25 +229,20 @@ class SoundWrappedServiceIntegrationTest {
 				entry("created_at", "2013/03/23 14:58:27 +0000"));
 
 		// Mock all GET endpoints used by getFullWrappedSummary
-		when(restTemplate.exchange(contains("/me"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(profile, HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me"), anyString()))
+				.thenReturn(profile);
 
-		when(restTemplate.exchange(contains("/me/favorites"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/favorites"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
-		when(restTemplate.exchange(contains("/me/playlists"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/playlists"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
-		when(restTemplate.exchange(contains("/me/followers"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/followers"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
-		when(restTemplate.exchange(contains("/me/tracks"), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("collection", List.of()), HttpStatus.OK));
+		when(soundCloudClient.get(contains("/me/tracks"), anyString()))
+				.thenReturn(Map.of("collection", List.of()));
 
 		Map<String, Object> wrapped = soundWrappedService.getFullWrappedSummary();
 
@@ -0,0 +1,86 @@
+package com.soundwrapped.integration_tests;
+
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.repository.UserActivityRepository.ActivitySummary;
+import com.soundwrapped.repository.UserActivityRepository.TrackCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserActivityRepositoryIntegrationTest {
+	private static final LocalDateTime T0 = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+	@Autowired
+	private UserActivityRepository activityRepository;
+
+	@Test
+	void testGetActivitySummary_countsEveryTypeInOneRow() {
+		String userId = "summary_" + UUID.randomUUID();
+		activityRepository.saveAllAndFlush(List.of(
+				activity(userId, "a", UserActivity.ActivityType.PLAY, 1000L, T0),
+				activity(userId, "a", UserActivity.ActivityType.PLAY, 2000L, T0.plusMinutes(1)),
+				activity(userId, "b", UserActivity.ActivityType.PLAY, null, T0.plusMinutes(2)),
+				activity(userId, "a", UserActivity.ActivityType.LIKE, null, T0.plusMinutes(3)),
+				activity(userId, "c", UserActivity.ActivityType.SHARE, null, T0.plusMinutes(4)),
+				// Outside the window
+				activity(userId, "d", UserActivity.ActivityType.PLAY, 5000L, T0.plusDays(2))));
+
+		ActivitySummary summary = activityRepository.getActivitySummary(userId, T0, T0.plusDays(1));
+
+		assertEquals(3, summary.getPlays());
+		assertEquals(3000L, summary.getListeningMs());
+		assertEquals(1, summary.getLikes());
+		assertEquals(0, summary.getReposts());
+		assertEquals(1, summary.getShares());
+		assertEquals(2, summary.getDistinctTracks());
+
+		// A user with no activity still gets a row of zeros
+		ActivitySummary empty = activityRepository.getActivitySummary("nobody_" + UUID.randomUUID(), T0, T0.plusDays(1));
+		assertEquals(0, empty.getPlays());
+		assertEquals(0, empty.getDistinctTracks());
+	}
+
+	@Test
+	void testFindTopTracks_ordersByCountAndHonoursLimit() {
+		String userId = "top_" + UUID.randomUUID();
+		activityRepository.saveAllAndFlush(List.of(
+				activity(userId, "a", UserActivity.ActivityType.PLAY, 1000L, T0),
+				activity(userId, "b", UserActivity.ActivityType.PLAY, 1000L, T0.plusMinutes(1)),
+				activity(userId, "b", UserActivity.ActivityType.PLAY, 1000L, T0.plusMinutes(2)),
+				activity(userId, "c", UserActivity.ActivityType.PLAY, 1000L, T0.plusMinutes(3)),
+				activity(userId, "c", UserActivity.ActivityType.PLAY, 1000L, T0.plusMinutes(4)),
+				activity(userId, "c", UserActivity.ActivityType.PLAY, 1000L, T0.plusMinutes(5)),
+				activity(userId, "a", UserActivity.ActivityType.LIKE, null, T0.plusMinutes(6))));
+
+		List<TrackCount> top = activityRepository.findTopTracks(userId, UserActivity.ActivityType.PLAY,
+				T0, T0.plusDays(1), PageRequest.of(0, 2));
+
+		assertEquals(2, top.size());
+		assertEquals("c", top.get(0).getTrackId());
+		assertEquals(3, top.get(0).getCount());
+		assertEquals("b", top.get(1).getTrackId());
+		assertEquals(2, top.get(1).getCount());
+	}
+
+	private static UserActivity activity(String userId, String trackId, UserActivity.ActivityType type,
+			Long durationMs, LocalDateTime createdAt) {
+		UserActivity activity = new UserActivity();
+		activity.setSoundcloudUserId(userId);
+		activity.setTrackId(trackId);
+		activity.setActivityType(type);
+		activity.setPlayDurationMs(durationMs);
+		activity.setCreatedAt(createdAt);
+		return activity;
+	}
+}
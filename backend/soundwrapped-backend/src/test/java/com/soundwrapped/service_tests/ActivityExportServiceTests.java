@@ -0,0 +1,60 @@
+package com.soundwrapped.service_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.model.ActivityExportRow;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.service.ActivityExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ActivityExportServiceTests {
+	private static final LocalDateTime T0 = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+	@Mock
+	private UserActivityRepository activityRepository;
+
+	private ActivityExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		exportService = new ActivityExportService(activityRepository, mock(PlatformTransactionManager.class), new ObjectMapper());
+		ReflectionTestUtils.setField(exportService, "pageSize", 2);
+	}
+
+	@Test
+	void testExport_walksKeysetPagesAndWritesCsv() throws Exception {
+		when(activityRepository.streamExportPage(eq("42"), any(), anyLong(), eq(Limit.of(2))))
+				.thenReturn(Stream.of(row(1L, "a", T0), row(2L, "b, \"live\"", T0)))
+				.thenReturn(Stream.of(row(3L, "c", T0.plusMinutes(1))));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		assertEquals(3, exportService.export("42", ActivityExportService.Format.CSV, output));
+
+		// Second page starts strictly after the last (createdAt, id) of the first
+		verify(activityRepository).streamExportPage("42", T0, 2L, Limit.of(2));
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(4, lines.length);
+		assertEquals(ActivityExportRow.CSV_HEADER, lines[0]);
+		assertTrue(lines[2].startsWith("2,\"b, \"\"live\"\"\",PLAY,"));
+	}
+
+	private static ActivityExportRow row(long id, String trackId, LocalDateTime createdAt) {
+		return new ActivityExportRow(id, trackId, UserActivity.ActivityType.PLAY, 1000L,
+				UserActivity.ActivitySource.INAPP, null, null, null, createdAt);
+	}
+}
@@ -0,0 +1,97 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.exception.IngestionBusyException;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.service.ActivityIngestionService;
+import com.soundwrapped.service.ListeningRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ActivityIngestionServiceTests {
+	@Mock
+	private UserActivityRepository activityRepository;
+
+	@Mock
+	private ListeningRollupService rollupService;
+
+	private final List<Integer> batchSizes = new ArrayList<Integer>();
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		when(activityRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+			List<UserActivity> batch = invocation.getArgument(0);
+			batchSizes.add(batch.size());
+
+			return batch;
+		});
+	}
+
+	@Test
+	void testSubmit_rejectsWhenQueueIsFull() {
+		ActivityIngestionService ingestion = ingestion(2, 10);
+
+		ingestion.submitPlay("42", "a", 1000L);
+		ingestion.submitLike("42", "b");
+		assertThrows(IngestionBusyException.class, () -> ingestion.submitPlay("42", "c", 1000L));
+
+		assertEquals(2L, ingestion.getStats().get("accepted"));
+		assertEquals(1L, ingestion.getStats().get("rejected"));
+		verify(activityRepository, never()).saveAllAndFlush(anyList());
+	}
+
+	@Test
+	void testFlush_drainsQueueInBatchesAndUpdatesRollups() {
+		ActivityIngestionService ingestion = ingestion(10, 2);
+
+		for (String trackId : List.of("a", "b", "c", "d", "e"))
+			assertTrue(ingestion.submit(play(trackId)));
+
+		// The size trigger ran inline at 2 and 4 queued events; the remainder waits for the timed flush
+		assertEquals(List.of(2, 2), batchSizes);
+		assertEquals(1, ingestion.flush());
+		assertEquals(List.of(2, 2, 1), batchSizes);
+		verify(rollupService, times(3)).apply(anyList());
+		assertEquals(5L, ingestion.getStats().get("persisted"));
+	}
+
+	@Test
+	void testShutdown_drainsQueueAndStopsAccepting() {
+		ActivityIngestionService ingestion = ingestion(10, 50);
+		ingestion.submitPlay("42", "a", 1000L);
+		ingestion.submitPlay("42", "b", 1000L);
+
+		ingestion.shutdown();
+
+		assertEquals(List.of(2), batchSizes);
+		assertEquals(0, ingestion.getStats().get("queued"));
+		assertThrows(IngestionBusyException.class, () -> ingestion.submitLike("42", "c"));
+	}
+
+	private ActivityIngestionService ingestion(int queueCapacity, int batchSize) {
+		return new ActivityIngestionService(activityRepository, rollupService,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(JdbcTemplate.class),
+				Runnable::run, queueCapacity, batchSize);
+	}
+
+	private static UserActivity play(String trackId) {
+		UserActivity activity = new UserActivity();
+		activity.setSoundcloudUserId("42");
+		activity.setTrackId(trackId);
+		activity.setActivityType(UserActivity.ActivityType.PLAY);
+
+		return activity;
+	}
+}
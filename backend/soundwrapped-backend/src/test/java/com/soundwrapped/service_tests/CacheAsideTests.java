@@ -0,0 +1,110 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.config.CacheConfig;
+import com.soundwrapped.config.CacheRegion;
+import com.soundwrapped.service.CacheAside;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.core.env.StandardEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheAsideTests {
+	private CacheAside cacheAside;
+
+	@BeforeEach
+	void setUp() {
+		SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(Runnable::run, new StandardEnvironment());
+		cacheManager.afterPropertiesSet();
+		cacheAside = new CacheAside(cacheManager);
+	}
+
+	@Test
+	void testGet_loadsOnceAndReportsHitRate() {
+		AtomicInteger loads = new AtomicInteger();
+		CacheRegion.DescriptionKey key = CacheRegion.DescriptionKey.of("Techno", "music genre");
+
+		for (int i = 0; i < 3; i++) {
+			String description = cacheAside.get(CacheRegion.GROQ_DESCRIPTIONS, key,
+					() -> "Techno is " + loads.incrementAndGet(), value -> !value.isEmpty());
+			assertEquals("Techno is 1", description);
+		}
+
+		// Keys are normalised, so a differently cased lookup hits the same entry
+		assertTrue(cacheAside.getIfPresent(CacheRegion.GROQ_DESCRIPTIONS,
+				CacheRegion.DescriptionKey.of(" TECHNO ", "Music Genre")).isPresent());
+		assertEquals(1, loads.get());
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> stats = (Map<String, Object>) cacheAside.getStats().get("groqDescriptions");
+		assertEquals(3L, stats.get("hits"));
+		assertEquals(1L, stats.get("misses"));
+	}
+
+	@Test
+	void testGet_doesNotCacheRejectedValues() {
+		AtomicInteger loads = new AtomicInteger();
+
+		cacheAside.get(CacheRegion.SOUNDCLOUD_TRACK_SEARCH, CacheRegion.TrackSearchKey.of("artist", "title"),
+				() -> { loads.incrementAndGet(); return null; }, value -> true);
+		cacheAside.get(CacheRegion.GROQ_DESCRIPTIONS, CacheRegion.DescriptionKey.of("x", "music artist"),
+				() -> { loads.incrementAndGet(); return ""; }, value -> !value.isEmpty());
+
+		assertFalse(cacheAside.getIfPresent(CacheRegion.SOUNDCLOUD_TRACK_SEARCH,
+				CacheRegion.TrackSearchKey.of("artist", "title")).isPresent());
+		assertFalse(cacheAside.getIfPresent(CacheRegion.GROQ_DESCRIPTIONS,
+				CacheRegion.DescriptionKey.of("x", "music artist")).isPresent());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void testGet_concurrentMissesShareOneLoad() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		CacheRegion.DescriptionKey key = CacheRegion.DescriptionKey.of("House", "music genre");
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+
+			for (int i = 0; i < 4; i++)
+				results.add(pool.submit(() -> cacheAside.get(CacheRegion.GROQ_DESCRIPTIONS, key, () -> {
+					loads.incrementAndGet();
+					await(release);
+					return "House is a genre";
+				}, value -> !value.isEmpty())));
+
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<String> result : results)
+				assertEquals("House is a genre", result.get(5, TimeUnit.SECONDS));
+
+			assertEquals(1, loads.get());
+		}
+
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
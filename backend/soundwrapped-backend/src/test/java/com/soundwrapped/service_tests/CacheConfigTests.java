@@ -0,0 +1,109 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.env.MockEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTests {
+	@Test
+	void testNegativeResultsAreCachedAndNeverReplaceAGoodValueOnRefresh() throws Exception {
+		CacheManager cacheManager = cacheManager(new MockEnvironment()
+				.withProperty("soundwrapped.caches.enhancedArtists.refresh-after-write", "1ms"));
+		Cache lyrics = cacheManager.getCache("lyrics");
+		AtomicInteger loads = new AtomicInteger();
+
+		// Missing lyrics are remembered instead of re-fetched
+		assertNull(lyrics.get("artist|title", () -> { loads.incrementAndGet(); return null; }));
+		assertNull(lyrics.get("artist|title", () -> { loads.incrementAndGet(); return null; }));
+		assertEquals(1, loads.get());
+
+		// A refresh that comes back empty keeps the stale value
+		Cache enhancedArtists = cacheManager.getCache("enhancedArtists");
+		enhancedArtists.get("artist", () -> "info v1");
+		Thread.sleep(5);
+		assertEquals("info v1", enhancedArtists.get("artist", () -> null));
+		assertEquals("info v1", enhancedArtists.get("artist").get());
+	}
+
+	@Test
+	void testStaleEntriesAreServedWhileRefreshing() throws Exception {
+		List<Runnable> refreshes = new ArrayList<Runnable>();
+		SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(refreshes::add,
+				new MockEnvironment().withProperty("soundwrapped.caches.popularTracks.refresh-after-write", "1ms"));
+		cacheManager.afterPropertiesSet();
+		Cache popularTracks = cacheManager.getCache("popularTracks");
+
+		popularTracks.get(10, () -> List.of("old"));
+		Thread.sleep(5);
+
+		// The stale list is returned immediately and a single reload is queued
+		assertEquals(List.of("old"), popularTracks.get(10, () -> List.of("new")));
+		assertEquals(List.of("old"), popularTracks.get(10, () -> List.of("new")));
+		assertEquals(1, refreshes.size());
+
+		refreshes.get(0).run();
+		assertEquals(List.of("new"), popularTracks.get(10).get());
+	}
+
+	@Test
+	void testStaleCacheableEntriesAreRefreshedThroughTheProxy() throws Exception {
+		List<Runnable> refreshes = new ArrayList<Runnable>();
+		SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(refreshes::add,
+				new MockEnvironment().withProperty("soundwrapped.caches.popularTracks.refresh-after-write", "1ms"));
+
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			context.registerBean(CacheManager.class, () -> cacheManager);
+			context.register(CachingConfig.class, CountingLoader.class);
+			context.refresh();
+			CountingLoader loader = context.getBean(CountingLoader.class);
+
+			assertEquals("load 1", loader.load(10));
+			Thread.sleep(5);
+			assertEquals("load 1", loader.load(10));
+			assertEquals(1, refreshes.size());
+
+			// The refresh re-runs the method body from another thread via the stored invocation
+			Thread refresh = new Thread(refreshes.get(0));
+			refresh.start();
+			refresh.join();
+			assertEquals(2, loader.calls());
+			assertEquals("load 2", loader.load(10));
+		}
+	}
+
+	@Configuration
+	@EnableCaching
+	static class CachingConfig {}
+
+	static class CountingLoader {
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Cacheable(value = "popularTracks", sync = true)
+		public String load(int key) {
+			return "load " + calls.incrementAndGet();
+		}
+
+		public int calls() {
+			return calls.get();
+		}
+	}
+
+	private static CacheManager cacheManager(MockEnvironment environment) {
+		SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(Runnable::run, environment);
+		cacheManager.afterPropertiesSet();
+
+		return cacheManager;
+	}
+}
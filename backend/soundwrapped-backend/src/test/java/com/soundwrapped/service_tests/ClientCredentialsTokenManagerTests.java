@@ -0,0 +1,83 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.service.ClientCredentialsTokenManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClientCredentialsTokenManagerTests {
+	private static final String TOKEN_URL = "https://api.soundcloud.com/oauth2/token";
+
+	@Mock
+	private RestTemplate restTemplate;
+
+	private ClientCredentialsTokenManager appTokenManager;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		appTokenManager = new ClientCredentialsTokenManager(restTemplate, Runnable::run);
+		ReflectionTestUtils.setField(appTokenManager, "clientId", "testClientId");
+		ReflectionTestUtils.setField(appTokenManager, "clientSecret", "testClientSecret");
+	}
+
+	@Test
+	void testGetToken_reusesCachedTokenUntilExpiry() {
+		when(restTemplate.exchange(eq(TOKEN_URL), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+				.thenReturn(new ResponseEntity<Map<String, Object>>(
+						Map.of("access_token", "appToken", "expires_in", 3600), HttpStatus.OK));
+
+		assertEquals("appToken", appTokenManager.getToken());
+		assertEquals("appToken", appTokenManager.getToken());
+
+		verify(restTemplate, times(1)).exchange(eq(TOKEN_URL), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any());
+		assertEquals(1L, appTokenManager.getStats().get("hits"));
+		assertEquals(1L, appTokenManager.getStats().get("misses"));
+	}
+
+	@Test
+	void testGetToken_backsOffAfterFailure() {
+		when(restTemplate.exchange(eq(TOKEN_URL), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+				.thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+
+		assertNull(appTokenManager.getToken());
+		assertNull(appTokenManager.getToken());
+
+		verify(restTemplate, times(1)).exchange(eq(TOKEN_URL), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any());
+		assertEquals(1L, appTokenManager.getStats().get("fetchFailures"));
+	}
+
+	@Test
+	void testInvalidate_dropsRejectedAppTokenOnly() {
+		when(restTemplate.exchange(eq(TOKEN_URL), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+				.thenReturn(new ResponseEntity<Map<String, Object>>(
+						Map.of("access_token", "appToken", "expires_in", 3600), HttpStatus.OK))
+				.thenReturn(new ResponseEntity<Map<String, Object>>(
+						Map.of("access_token", "newAppToken", "expires_in", 3600), HttpStatus.OK));
+
+		assertEquals("appToken", appTokenManager.getToken());
+		assertFalse(appTokenManager.invalidate("userToken"));
+		assertEquals("appToken", appTokenManager.getToken());
+
+		// A second 401 with the same revoked token still asks for a retry
+		assertTrue(appTokenManager.invalidate("appToken"));
+		assertTrue(appTokenManager.invalidate("appToken"));
+		assertEquals("newAppToken", appTokenManager.getToken());
+	}
+}
@@ -0,0 +1,17 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.service.CsvFields;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvFieldsTests {
+	@Test
+	void testQuote_onlyQuotesFieldsThatNeedIt() {
+		assertEquals("", CsvFields.quote(null));
+		assertEquals("plain text", CsvFields.quote("plain text"));
+		assertEquals("\"b, \"\"live\"\"\"", CsvFields.quote("b, \"live\""));
+		assertEquals("\"line\nbreak\"", CsvFields.quote("line\nbreak"));
+		assertEquals("\"carriage\rreturn\"", CsvFields.quote("carriage\rreturn"));
+	}
+}
@@ -0,0 +1,63 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.config.CacheRegion.DescriptionKey;
+import com.soundwrapped.entity.GeneratedDescription;
+import com.soundwrapped.repository.GeneratedDescriptionRepository;
+import com.soundwrapped.service.DescriptionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DescriptionStoreTests {
+	private static final DescriptionKey KEY = DescriptionKey.of("Some Artist", "music artist");
+
+	@Mock
+	private GeneratedDescriptionRepository descriptionRepository;
+
+	private DescriptionStore descriptionStore;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		descriptionStore = new DescriptionStore(descriptionRepository);
+	}
+
+	@Test
+	void testGetOrGenerate_servesStoredDescriptionWithoutGenerating() {
+		when(descriptionRepository.findByEntityNameAndEntityTypeAndPromptVersion("some artist", "music artist", 1))
+				.thenReturn(Optional.of(row("Stored")));
+
+		assertEquals("Stored", descriptionStore.getOrGenerate(KEY, 1, () -> fail("should not generate")));
+		verify(descriptionRepository, never()).saveAndFlush(any());
+	}
+
+	@Test
+	void testGetOrGenerate_prefersTheRowAnotherInstanceStoredFirst() {
+		when(descriptionRepository.findByEntityNameAndEntityTypeAndPromptVersion("some artist", "music artist", 1))
+				.thenReturn(Optional.empty())
+				.thenReturn(Optional.of(row("Theirs")));
+		when(descriptionRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+		assertEquals("Theirs", descriptionStore.getOrGenerate(KEY, 1, () -> "Ours"));
+	}
+
+	@Test
+	void testGetOrGenerate_doesNotStoreFailedGenerations() {
+		assertNull(descriptionStore.getOrGenerate(KEY, 1, () -> null));
+		verify(descriptionRepository, never()).saveAndFlush(any());
+	}
+
+	private static GeneratedDescription row(String description) {
+		GeneratedDescription row = new GeneratedDescription();
+		row.setDescription(description);
+
+		return row;
+	}
+}
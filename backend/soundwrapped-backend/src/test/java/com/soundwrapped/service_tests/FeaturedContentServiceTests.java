@@ -0,0 +1,107 @@
+package com.soundwrapped.service_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.entity.FeaturedSnapshot;
+import com.soundwrapped.repository.FeaturedSnapshotRepository;
+import com.soundwrapped.service.FeaturedContentService;
+import com.soundwrapped.service.FeaturedContentService.Section;
+import com.soundwrapped.service.SoundWrappedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FeaturedContentServiceTests {
+	@Mock
+	private SoundWrappedService soundWrappedService;
+
+	@Mock
+	private FeaturedSnapshotRepository snapshotRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private FeaturedContentService featuredContentService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		featuredContentService = new FeaturedContentService(soundWrappedService, snapshotRepository, objectMapper, Runnable::run);
+		// Never precompute tomorrow in these tests
+		ReflectionTestUtils.setField(featuredContentService, "leadHour", 24);
+		when(snapshotRepository.save(any(FeaturedSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void testPrecompute_recomputesOnlyIncompleteSectionsAndPublishes() throws Exception {
+		LocalDate today = LocalDate.now();
+		FeaturedSnapshot stored = new FeaturedSnapshot();
+		stored.setFeatureDate(today);
+		stored.setContentJson(objectMapper.writeValueAsString(Map.of(
+				"SONG", Map.of("title", "Stored song"),
+				"GENRE", Map.of("genre", "house", "tracks", List.of(Map.of("id", 1))),
+				"ARTIST", Map.of("username", "someone", "description", ""))));
+		when(snapshotRepository.findByFeatureDate(today)).thenReturn(Optional.of(stored));
+		when(soundWrappedService.computeFeaturedArtist(today)).thenReturn(Map.of("username", "artist", "description", "Bio"));
+		when(soundWrappedService.computeBuzzingTrack(today)).thenReturn(Map.of("title", "Buzzing"));
+
+		featuredContentService.precompute();
+
+		verify(soundWrappedService, never()).computeFeaturedTrack(any());
+		verify(soundWrappedService, never()).computeFeaturedGenre(any());
+		ArgumentCaptor<FeaturedSnapshot> saved = ArgumentCaptor.forClass(FeaturedSnapshot.class);
+		verify(snapshotRepository).save(saved.capture());
+		assertTrue(saved.getValue().getContentJson().contains("Bio"));
+
+		// Reads are served from the published snapshot
+		assertEquals("Stored song", featuredContentService.get(Section.SONG).get("title"));
+		assertEquals("Bio", featuredContentService.get(Section.ARTIST).get("description"));
+		assertThrows(UnsupportedOperationException.class, () -> featuredContentService.get(Section.BUZZING).put("x", 1));
+		verify(snapshotRepository, times(1)).save(any());
+	}
+
+	@Test
+	void testRefreshInBackground_sectionsForcedDuringARunAreComputedAfterIt() throws Exception {
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		featuredContentService = new FeaturedContentService(soundWrappedService, snapshotRepository, objectMapper, tasks::add);
+		LocalDate today = LocalDate.now();
+		FeaturedSnapshot stored = new FeaturedSnapshot();
+		stored.setFeatureDate(today);
+		stored.setContentJson(objectMapper.writeValueAsString(Map.of(
+				"SONG", Map.of("title", "Stored song"),
+				"GENRE", Map.of("genre", "house", "tracks", List.of(Map.of("id", 1))),
+				"ARTIST", Map.of("username", "someone", "description", "Old bio"),
+				"BUZZING", Map.of("title", "Buzzing"))));
+		when(snapshotRepository.findByFeatureDate(today)).thenReturn(Optional.of(stored));
+		when(soundWrappedService.computeFeaturedArtist(today)).thenAnswer(invocation -> {
+			featuredContentService.refreshInBackground(EnumSet.of(Section.SONG));
+			return Map.of("username", "artist", "description", "New bio");
+		});
+		when(soundWrappedService.computeFeaturedTrack(today)).thenReturn(Map.of("title", "New song"));
+
+		featuredContentService.refreshInBackground(EnumSet.of(Section.ARTIST));
+		assertEquals(1, tasks.size());
+		tasks.get(0).run();
+
+		// The SONG request arrived mid-run, so a follow-up run was queued for it
+		assertEquals(2, tasks.size());
+		tasks.get(1).run();
+
+		verify(soundWrappedService, times(1)).computeFeaturedArtist(today);
+		verify(soundWrappedService, times(1)).computeFeaturedTrack(today);
+		verify(soundWrappedService, never()).computeFeaturedGenre(any());
+		assertEquals(2, tasks.size());
+		assertEquals("New song", featuredContentService.get(Section.SONG).get("title"));
+		assertEquals("New bio", featuredContentService.get(Section.ARTIST).get("description"));
+	}
+}
@@ -0,0 +1,23 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.service.LastFmRateLimiter;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LastFmRateLimiterTests {
+	@Test
+	void testAcquire_waitsOutReservationWhenInterruptedAndKeepsTheFlag() {
+		LastFmRateLimiter rateLimiter = new LastFmRateLimiter(10, 1);
+		rateLimiter.acquire();
+
+		Thread.currentThread().interrupt();
+		long start = System.nanoTime();
+		rateLimiter.acquire();
+		long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertTrue(Thread.interrupted(), "interrupt flag should be restored");
+		assertTrue(waitedMs >= 80, "waited only " + waitedMs + "ms");
+	}
+}
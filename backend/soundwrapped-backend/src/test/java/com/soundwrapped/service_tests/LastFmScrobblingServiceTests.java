@@ -0,0 +1,162 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.entity.LastFmToken;
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.model.LastFmRecentTracksPage;
+import com.soundwrapped.repository.LastFmTokenRepository;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.service.LastFmScrobblingService;
+import com.soundwrapped.service.ListeningRollupService;
+import com.soundwrapped.service.LastFmService;
+import com.soundwrapped.service.SoundWrappedService;
+import com.soundwrapped.service.TrackMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LastFmScrobblingServiceTests {
+	private static final long NEWEST_UTS = 1_700_000_000L;
+
+	@Mock
+	private LastFmService lastFmService;
+
+	@Mock
+	private LastFmTokenRepository lastFmTokenRepository;
+
+	@Mock
+	private UserActivityRepository userActivityRepository;
+
+	@Mock
+	private SoundWrappedService soundWrappedService;
+
+	@Mock
+	private TrackMatchIndex trackMatchIndex;
+
+	@Mock
+	private ListeningRollupService rollupService;
+
+	private LastFmScrobblingService scrobblingService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		scrobblingService = new LastFmScrobblingService(lastFmService, lastFmTokenRepository, userActivityRepository,
+				soundWrappedService, mock(RestTemplate.class), trackMatchIndex, rollupService,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		when(trackMatchIndex.lookupAll(anyCollection())).thenReturn(Map.of());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSyncUserScrobbles_walksAllPagesAndAdvancesWatermark() {
+		LastFmToken token = token();
+		when(lastFmService.getRecentTracksPage(eq("listener"), anyLong(), anyLong(), eq(200)))
+				.thenReturn(page(NEWEST_UTS, 200, 2), page(NEWEST_UTS - 200, 50, 1));
+
+		int synced = scrobblingService.syncUserScrobbles(token);
+
+		assertEquals(250, synced);
+		ArgumentCaptor<List<UserActivity>> batches = ArgumentCaptor.forClass(List.class);
+		verify(userActivityRepository, times(2)).saveAllAndFlush(batches.capture());
+		assertEquals(200, batches.getAllValues().get(0).size());
+		assertEquals(50, batches.getAllValues().get(1).size());
+		verify(rollupService, times(2)).apply(anyCollection());
+
+		// Second page ends just after the oldest scrobble of the first page
+		verify(lastFmService).getRecentTracksPage("listener", 0L, NEWEST_UTS - 199 + 1, 200);
+		assertNull(token.getImportCursor());
+		assertNull(token.getImportWindowEnd());
+		assertTrue(token.getLastSyncAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+	}
+
+	@Test
+	void testSyncUserScrobbles_keepsCursorWhenPageFails() {
+		LastFmToken token = token();
+		when(lastFmService.getRecentTracksPage(eq("listener"), anyLong(), anyLong(), eq(200)))
+				.thenReturn(page(NEWEST_UTS, 200, 2), (LastFmRecentTracksPage) null);
+
+		assertEquals(200, scrobblingService.syncUserScrobbles(token));
+
+		LocalDateTime expectedCursor = LocalDateTime.ofInstant(
+				java.time.Instant.ofEpochSecond(NEWEST_UTS - 199 + 1), ZoneId.systemDefault());
+		assertEquals(expectedCursor, token.getImportCursor());
+		assertNotNull(token.getImportWindowEnd());
+		assertEquals(LocalDateTime.ofInstant(java.time.Instant.EPOCH, ZoneId.systemDefault()), token.getLastSyncAt());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSyncUserScrobbles_skipsExistingActivitiesWithOneQueryPerPage() {
+		LastFmToken token = token();
+		List<Map<String, Object>> tracks = tracks(NEWEST_UTS, 3);
+		// Same scrobble reported twice on the page
+		tracks.add(tracks.get(0));
+		when(lastFmService.getRecentTracksPage(eq("listener"), anyLong(), anyLong(), eq(200)))
+				.thenReturn(new LastFmRecentTracksPage(tracks, 1));
+		LocalDateTime alreadyStored = LocalDateTime.ofInstant(
+				java.time.Instant.ofEpochSecond(NEWEST_UTS - 1), ZoneId.systemDefault());
+		when(userActivityRepository.findTrackIdsAndTimestampsInWindow(eq("42"), eq(UserActivity.ActivityType.PLAY), any(), any()))
+				.thenReturn(List.<Object[]>of(new Object[] { "Artist|Track " + (NEWEST_UTS - 1), alreadyStored }));
+
+		assertEquals(2, scrobblingService.syncUserScrobbles(token));
+
+		verify(userActivityRepository, times(1)).findTrackIdsAndTimestampsInWindow(any(), any(), any(), any());
+		ArgumentCaptor<List<UserActivity>> batch = ArgumentCaptor.forClass(List.class);
+		verify(userActivityRepository).saveAllAndFlush(batch.capture());
+		assertEquals(2, batch.getValue().size());
+	}
+
+	@Test
+	void testSyncUserScrobbles_fullPageWithNowPlayingRowIsNotTheLast() {
+		LastFmToken token = token();
+		List<Map<String, Object>> first = tracks(NEWEST_UTS, 199);
+		first.add(0, Map.of("name", "Live now", "artist", Map.of("#text", "Artist"),
+				"@attr", Map.of("nowplaying", "true")));
+		when(lastFmService.getRecentTracksPage(eq("listener"), anyLong(), anyLong(), eq(200)))
+				.thenReturn(new LastFmRecentTracksPage(first, 2), page(NEWEST_UTS - 199, 10, 1));
+
+		assertEquals(209, scrobblingService.syncUserScrobbles(token));
+
+		verify(lastFmService, times(2)).getRecentTracksPage(eq("listener"), anyLong(), anyLong(), eq(200));
+		verify(lastFmService).getRecentTracksPage("listener", 0L, NEWEST_UTS - 198 + 1, 200);
+		assertNull(token.getImportCursor());
+	}
+
+	private static LastFmToken token() {
+		LastFmToken token = new LastFmToken();
+		token.setSoundcloudUserId("42");
+		token.setLastFmUsername("listener");
+		token.setLastSyncAt(LocalDateTime.ofInstant(java.time.Instant.EPOCH, ZoneId.systemDefault()));
+
+		return token;
+	}
+
+	private static LastFmRecentTracksPage page(long newestUts, int count, int totalPages) {
+		return new LastFmRecentTracksPage(tracks(newestUts, count), totalPages);
+	}
+
+	/** {@code count} scrobbles one second apart, newest first. */
+	private static List<Map<String, Object>> tracks(long newestUts, int count) {
+		List<Map<String, Object>> tracks = new ArrayList<Map<String, Object>>();
+
+		for (int i = 0; i < count; i++)
+			tracks.add(Map.of("name", "Track " + (newestUts - i), "artist", Map.of("#text", "Artist"),
+					"date", Map.of("uts", String.valueOf(newestUts - i))));
+
+		return tracks;
+	}
+}
@@ -0,0 +1,87 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.entity.LastFmToken;
+import com.soundwrapped.repository.LastFmTokenRepository;
+import com.soundwrapped.service.LastFmRateLimiter;
+import com.soundwrapped.service.LastFmScrobblingService;
+import com.soundwrapped.service.LastFmService;
+import com.soundwrapped.service.LastFmSyncScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LastFmSyncSchedulerTests {
+	@Mock
+	private LastFmService lastFmService;
+
+	@Mock
+	private LastFmTokenRepository lastFmTokenRepository;
+
+	@Mock
+	private LastFmScrobblingService lastFmScrobblingService;
+
+	private LastFmSyncScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		scheduler = new LastFmSyncScheduler(lastFmService, lastFmTokenRepository, lastFmScrobblingService,
+				new LastFmRateLimiter(1000, 10), Runnable::run);
+		when(lastFmService.isConfigured()).thenReturn(true);
+	}
+
+	@Test
+	void testSyncAllUsers_isolatesFailuresAndReportsMetrics() {
+		LastFmToken stalest = token("1", LocalDateTime.now().minusHours(3));
+		LastFmToken failing = token("2", LocalDateTime.now().minusHours(2));
+		LastFmToken freshest = token("3", LocalDateTime.now().minusMinutes(10));
+		when(lastFmTokenRepository.findAllByOrderByLastSyncAtAsc()).thenReturn(List.of(stalest, failing, freshest));
+		when(lastFmScrobblingService.syncUserScrobbles(stalest)).thenReturn(4);
+		when(lastFmScrobblingService.syncUserScrobbles(failing)).thenThrow(new RuntimeException("Last.fm down"));
+		when(lastFmScrobblingService.syncUserScrobbles(freshest)).thenReturn(1);
+
+		scheduler.syncAllUsersScrobbles();
+
+		InOrder order = inOrder(lastFmScrobblingService);
+		order.verify(lastFmScrobblingService).syncUserScrobbles(stalest);
+		order.verify(lastFmScrobblingService).syncUserScrobbles(failing);
+		order.verify(lastFmScrobblingService).syncUserScrobbles(freshest);
+
+		Map<String, Object> stats = scheduler.getLastRunStats();
+		assertEquals(3, stats.get("users"));
+		assertEquals(2, stats.get("succeeded"));
+		assertEquals(1, stats.get("failed"));
+		assertEquals(5, stats.get("scrobblesSynced"));
+		assertTrue((Long) stats.get("maxLagMinutes") >= 179);
+	}
+
+	@Test
+	void testRateLimiter_spacesCallsBeyondBurst() {
+		LastFmRateLimiter limiter = new LastFmRateLimiter(20, 2);
+		long start = System.nanoTime();
+
+		for (int i = 0; i < 4; i++)
+			limiter.acquire();
+
+		// Two permits from the burst, then two more at 50ms each
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+		assertTrue(elapsedMs >= 90, "expected throttling, took " + elapsedMs + "ms");
+	}
+
+	private static LastFmToken token(String soundcloudUserId, LocalDateTime lastSyncAt) {
+		LastFmToken token = new LastFmToken();
+		token.setSoundcloudUserId(soundcloudUserId);
+		token.setLastFmUsername("user" + soundcloudUserId);
+		token.setLastSyncAt(lastSyncAt);
+
+		return token;
+	}
+}
@@ -0,0 +1,99 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.entity.MaintenanceMarker;
+import com.soundwrapped.entity.UserActivity;
+import com.soundwrapped.repository.ListeningRollupRepository;
+import com.soundwrapped.repository.MaintenanceMarkerRepository;
+import com.soundwrapped.service.ListeningRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ListeningRollupServiceTests {
+	@Mock
+	private ListeningRollupRepository rollupRepository;
+
+	@Mock
+	private MaintenanceMarkerRepository markerRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	private ListeningRollupService rollupService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		rollupService = new ListeningRollupService(rollupRepository, markerRepository, jdbcTemplate,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), Runnable::run);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testApply_foldsActivitiesIntoHourlyDeltas() {
+		LocalDateTime hour = LocalDateTime.of(2025, 3, 14, 21, 0);
+		rollupService.apply(List.of(
+				activity(UserActivity.ActivityType.PLAY, hour.plusMinutes(5), 180_000L),
+				activity(UserActivity.ActivityType.PLAY, hour.plusMinutes(50), 120_000L),
+				activity(UserActivity.ActivityType.LIKE, hour.plusMinutes(51), null),
+				activity(UserActivity.ActivityType.REPOST, hour.plusHours(1), null)));
+
+		ArgumentCaptor<List<Object[]>> upserts = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).execute(contains("pg_advisory_xact_lock_shared"));
+		verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), upserts.capture());
+		verifyNoMoreInteractions(jdbcTemplate);
+
+		assertEquals(2, upserts.getValue().size());
+		assertArrayEquals(new Object[] { "42", Timestamp.valueOf(hour), 2L, 300_000L, 1L, 0L, 0L },
+				upserts.getValue().get(0));
+		assertArrayEquals(new Object[] { "42", Timestamp.valueOf(hour.plusHours(1)), 0L, 0L, 0L, 1L, 0L },
+				upserts.getValue().get(1));
+	}
+
+	@Test
+	void testBackfillIfNeeded_runsOnceAndRecordsMarker() {
+		when(markerRepository.existsById("listening_rollups_backfill")).thenReturn(false, true);
+		when(jdbcTemplate.update(startsWith("INSERT"))).thenReturn(3);
+
+		rollupService.backfillIfNeeded();
+		rollupService.backfillIfNeeded();
+
+		verify(jdbcTemplate, times(1)).update(startsWith("INSERT"));
+		verify(jdbcTemplate, times(1)).execute(contains("pg_advisory_xact_lock("));
+		ArgumentCaptor<MaintenanceMarker> marker = ArgumentCaptor.forClass(MaintenanceMarker.class);
+		verify(markerRepository).save(marker.capture());
+		assertEquals("listening_rollups_backfill", marker.getValue().getName());
+	}
+
+	@Test
+	void testBackfillIfNeeded_leavesNoMarkerWhenBackfillFails() {
+		when(markerRepository.existsById("listening_rollups_backfill")).thenReturn(false);
+		when(jdbcTemplate.update(startsWith("INSERT"))).thenThrow(new IllegalStateException("connection reset"));
+
+		rollupService.backfillIfNeeded();
+
+		verify(markerRepository, never()).save(any());
+	}
+
+	private static UserActivity activity(UserActivity.ActivityType type, LocalDateTime createdAt, Long durationMs) {
+		UserActivity activity = new UserActivity();
+		activity.setSoundcloudUserId("42");
+		activity.setTrackId("track-1");
+		activity.setActivityType(type);
+		activity.setPlayDurationMs(durationMs);
+		activity.setCreatedAt(createdAt);
+		return activity;
+	}
+}
@@ -0,0 +1,58 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.service.LyricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LyricsServiceTests {
+	@Mock
+	private RestTemplate restTemplate;
+
+	private LyricsService lyricsService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		lyricsService = new LyricsService(restTemplate);
+	}
+
+	@Test
+	void testGetLyrics_returnsNullOnlyWhenTheLyricsAreNotFound() {
+		when(exchange()).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+		assertNull(lyricsService.getLyrics("Artist", "Title"));
+	}
+
+	@Test
+	void testGetLyrics_throwsOnTransientFailuresSoTheyAreNotCachedAsMissing() {
+		when(exchange())
+				.thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null))
+				.thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null))
+				.thenReturn(ResponseEntity.ok(Map.<String, Object>of("lyrics", "la la\r\nla")));
+
+		assertThrows(RestClientException.class, () -> lyricsService.getLyrics("Artist", "Title"));
+		assertThrows(RestClientException.class, () -> lyricsService.getLyrics("Artist", "Title"));
+		assertEquals("la la\nla", lyricsService.getLyrics("Artist", "Title"));
+	}
+
+	private ResponseEntity<Map<String, Object>> exchange() {
+		return restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+				any(ParameterizedTypeReference.class));
+	}
+}
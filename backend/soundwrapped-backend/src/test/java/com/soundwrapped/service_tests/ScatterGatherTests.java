@@ -0,0 +1,84 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.service.ScatterGather;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScatterGatherTests {
+	@Test
+	void testGather_boundsConcurrencyAndKeepsPartialResultsInOrder() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxSeen = new AtomicInteger();
+
+		List<Integer> results = ScatterGather.gather(List.of(1, 2, 3, 4, 5, 6), 2,
+				Duration.ofMillis(200), Duration.ofSeconds(5), input -> {
+					if (input == 3)
+						return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+
+					if (input == 5)
+						return new CompletableFuture<Integer>(); // never completes; hits the call timeout
+
+					return CompletableFuture.supplyAsync(() -> {
+						maxSeen.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+						sleep(20);
+						inFlight.decrementAndGet();
+
+						return input * 10;
+					});
+				});
+
+		assertEquals(List.of(10, 20, 40, 60), results);
+		assertTrue(maxSeen.get() <= 2);
+	}
+
+	@Test
+	void testGather_returnsWhatArrivedByTheDeadline() {
+		long start = System.currentTimeMillis();
+
+		List<Integer> results = ScatterGather.gather(List.of(1, 2), 2,
+				Duration.ofSeconds(10), Duration.ofMillis(200),
+				input -> input == 1 ? CompletableFuture.completedFuture(1) : new CompletableFuture<Integer>());
+
+		assertEquals(List.of(1), results);
+		assertTrue(System.currentTimeMillis() - start < 5000);
+	}
+
+	@Test
+	void testGather_aTimedOutCallKeepsItsSlotUntilItEnds() {
+		CompletableFuture<Integer> slow = new CompletableFuture<Integer>();
+		AtomicInteger secondStartedAfterSlowEnded = new AtomicInteger(-1);
+
+		List<Integer> results = ScatterGather.gather(List.of(1, 2), 1,
+				Duration.ofMillis(50), Duration.ofSeconds(5), input -> {
+					if (input == 2) {
+						secondStartedAfterSlowEnded.set(slow.isDone() ? 1 : 0);
+
+						return CompletableFuture.completedFuture(2);
+					}
+
+					// Times out after 50ms but only really ends at 300ms
+					CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS).execute(() -> slow.complete(1));
+
+					return slow;
+				});
+
+		assertEquals(List.of(2), results);
+		assertEquals(1, secondStartedAfterSlowEnded.get());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.exception.ApiRequestException;
+import com.soundwrapped.service.SimilarArtistsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SimilarArtistsServiceTests {
+	@Mock
+	private RestTemplate restTemplate;
+
+	private SimilarArtistsService similarArtistsService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		similarArtistsService = new SimilarArtistsService(restTemplate);
+		ReflectionTestUtils.setField(similarArtistsService, "lastFmApiKey", "test-key");
+	}
+
+	@Test
+	void testGetSimilarArtists_unknownArtistIsAnEmptyResult() {
+		when(exchange()).thenReturn(ResponseEntity.ok(Map.<String, Object>of(
+				"error", 6, "message", "The artist you supplied could not be found")));
+
+		assertEquals(List.of(), similarArtistsService.getSimilarArtists("Nobody", 10));
+	}
+
+	@Test
+	void testGetSimilarArtists_throwsOnRateLimitsAndTimeouts() {
+		when(exchange())
+				.thenReturn(ResponseEntity.ok(Map.<String, Object>of("error", 29, "message", "Rate limit exceeded")))
+				.thenThrow(new ResourceAccessException("Read timed out"));
+
+		assertThrows(ApiRequestException.class, () -> similarArtistsService.getSimilarArtists("Artist", 10));
+		assertThrows(ResourceAccessException.class, () -> similarArtistsService.getSimilarArtists("Artist", 10));
+	}
+
+	private ResponseEntity<Map<String, Object>> exchange() {
+		return restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+				any(ParameterizedTypeReference.class));
+	}
+}
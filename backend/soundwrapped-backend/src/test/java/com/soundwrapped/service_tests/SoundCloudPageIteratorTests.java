@@ -0,0 +1,100 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.model.SoundCloudPage;
+import com.soundwrapped.service.SoundCloudPageIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.model.SoundCloudTrack;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoundCloudPageIteratorTests {
+	private final List<String> requestedUrls = new ArrayList<String>();
+
+	private Function<String, CompletableFuture<SoundCloudPage<Map<String, Object>>>> pages(int pageCount) {
+		return url -> {
+			requestedUrls.add(url);
+			int page = Integer.parseInt(url.substring(url.lastIndexOf('=') + 1));
+			Map<String, Object> body = new HashMap<String, Object>();
+			body.put("collection", List.of(Map.of("id", page * 10), Map.of("id", page * 10 + 1)));
+
+			if (page + 1 < pageCount)
+				body.put("next_href", "https://api.soundcloud.com/me/favorites?page=" + (page + 1));
+
+			return CompletableFuture.completedFuture(SoundCloudPage.fromResponse(body));
+		};
+	}
+
+	@Test
+	void testStream_followsNextHrefAcrossPages() {
+		try (Stream<Map<String, Object>> items = SoundCloudPageIterator.stream(
+				"https://api.soundcloud.com/me/favorites?page=0", 10, pages(3))) {
+			List<Object> ids = items.map(item -> item.get("id")).collect(Collectors.toList());
+
+			assertEquals(List.of(0, 1, 10, 11, 20, 21), ids);
+		}
+	}
+
+	@Test
+	void testStream_stopsAtMaxPages() {
+		try (Stream<Map<String, Object>> items = SoundCloudPageIterator.stream(
+				"https://api.soundcloud.com/me/favorites?page=0", 2, pages(5))) {
+			assertEquals(4, items.count());
+		}
+
+		assertEquals(2, requestedUrls.size());
+	}
+
+	@Test
+	void testStream_earlyTerminationOnlyPrefetchesOnePageAhead() {
+		try (Stream<Map<String, Object>> items = SoundCloudPageIterator.stream(
+				"https://api.soundcloud.com/me/favorites?page=0", 10, pages(5))) {
+			assertEquals(1, items.limit(1).count());
+		}
+
+		// First page plus the prefetched second page, nothing more
+		assertEquals(2, requestedUrls.size());
+	}
+
+	@Test
+	void testStream_keepsItemsFetchedBeforeFailure() {
+		Function<String, CompletableFuture<SoundCloudPage<Map<String, Object>>>> fetcher = url -> url.endsWith("page=0")
+				? CompletableFuture.completedFuture(new SoundCloudPage<Map<String, Object>>(
+						List.of(Map.<String, Object>of("id", 1)), "https://api.soundcloud.com/me/favorites?page=1"))
+				: CompletableFuture.failedFuture(new ResourceAccessException("timeout"));
+
+		try (Stream<Map<String, Object>> items = SoundCloudPageIterator.stream(
+				"https://api.soundcloud.com/me/favorites?page=0", 10, fetcher)) {
+			assertEquals(1, items.count());
+		}
+	}
+
+	@Test
+	void testPageDecodesTypedTracks() throws Exception {
+		String json = "{\"collection\":[{\"id\":7,\"title\":\"Song\",\"duration\":1000,\"playback_count\":42,"
+				+ "\"favoritings_count\":3,\"created_at\":\"2013/03/23 14:58:27 +0000\",\"user\":{\"id\":1,\"username\":\"artist\"},"
+				+ "\"unused_field\":{\"nested\":true}}],\"next_href\":\"https://api.soundcloud.com/next\"}";
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		SoundCloudPage<SoundCloudTrack> page = objectMapper.readValue(json,
+				objectMapper.getTypeFactory().constructParametricType(SoundCloudPage.class, SoundCloudTrack.class));
+		SoundCloudTrack track = page.collection().get(0);
+
+		assertEquals("https://api.soundcloud.com/next", page.nextHref());
+		assertEquals(42L, track.playbackCount());
+		assertEquals(3L, track.likesCount());
+		assertEquals(0L, track.repostsCount());
+		assertEquals("artist", track.artistName());
+		assertEquals(Instant.parse("2013-03-23T14:58:27Z"), track.createdAt());
+	}
+}
@@ -2,22 +2,29 @@ package com.soundwrapped.service_tests;
 
 import com.soundwrapped.service.TokenStore;
 import com.soundwrapped.service.SoundWrappedService;
+import com.soundwrapped.service.SoundCloudClient;
 import com.soundwrapped.service.GenreAnalysisService;
 import com.soundwrapped.service.LyricsService;
 import com.soundwrapped.service.EnhancedArtistService;
+import com.soundwrapped.service.CacheAside;
 import com.soundwrapped.exception.*;
+import com.soundwrapped.service.DescriptionStore;
+import com.soundwrapped.repository.GeneratedDescriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +36,12 @@ class SoundWrappedServiceTests {
 	@Mock
 	private RestTemplate restTemplate;
 
+	@Mock
+	private SoundCloudClient soundCloudClient;
+
+	@Mock
+	private com.soundwrapped.service.ClientCredentialsTokenManager appTokenManager;
+
 	@Mock
 	private GenreAnalysisService genreAnalysisService;
 
@@ -51,8 +64,9 @@ class SoundWrappedServiceTests {
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
 		// Reset mocks to ensure clean state between tests
-		reset(tokenStore, restTemplate, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService);
-		soundWrappedService = new SoundWrappedService(tokenStore, restTemplate, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService);
+		reset(tokenStore, restTemplate, soundCloudClient, appTokenManager, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService);
+		soundWrappedService = new SoundWrappedService(tokenStore, restTemplate, soundCloudClient, appTokenManager, genreAnalysisService, userActivityRepository, activityTrackingService, lyricsService, enhancedArtistService,
+				new CacheAside(new ConcurrentMapCacheManager()), new DescriptionStore(mock(GeneratedDescriptionRepository.class)), Runnable::run);
 		// Inject a non-null base URL to avoid "null/me"
 		ReflectionTestUtils.setField(soundWrappedService, "soundCloudApiBaseUrl", "https://api.soundcloud.com");
 		ReflectionTestUtils.setField(soundWrappedService, "clientId", "testClientId");
@@ -71,10 +85,9 @@ class SoundWrappedServiceTests {
 		when(tokenStore.getRefreshToken()).thenReturn(refreshToken);
 
 		// Mock GET request to profileUrl
-		when(restTemplate.exchange(eq(profileUrl), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+		when(soundCloudClient.get(eq(profileUrl), anyString()))
 				.thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(Map.of("username", "testuser"), HttpStatus.OK));
+				.thenReturn(Map.of("username", "testuser"));
 
 		// POST to refresh token → return new access token
 		Map<String, Object> tokenResponse = Map.of("access_token", newAccessToken);
@@ -89,15 +102,48 @@ class SoundWrappedServiceTests {
 		// saveTokens is called with 3 parameters: accessToken, refreshToken, expiresInSeconds (can be null)
 		verify(tokenStore).saveTokens(eq(newAccessToken), eq(refreshToken), any());
 
-		// Optional: capture the GET request to check Authorization header
-		ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
-		verify(restTemplate, atLeastOnce()).exchange(eq(profileUrl), eq(HttpMethod.GET), captor.capture(),
+		// The retry must go out with the refreshed access token
+		verify(soundCloudClient).get(eq(profileUrl), eq(expiredToken));
+		verify(soundCloudClient).get(eq(profileUrl), eq(newAccessToken));
+	}
+
+	@Test
+	void testRefreshAccessTokenSingleFlight_coalescesConcurrentRefreshes() throws Exception {
+		String tokenUrl = "https://api.soundcloud.com/oauth2/token";
+		CountDownLatch refreshStarted = new CountDownLatch(1);
+		CountDownLatch releaseRefresh = new CountDownLatch(1);
+
+		when(tokenStore.getAccessToken()).thenReturn("expiredAccess");
+		when(tokenStore.getRefreshToken()).thenReturn("validRefresh");
+		when(restTemplate.exchange(eq(tokenUrl), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+				.thenAnswer(invocation -> {
+					refreshStarted.countDown();
+					releaseRefresh.await(5, TimeUnit.SECONDS);
+
+					return new ResponseEntity<Map<String, Object>>(Map.of("access_token", "newAccess"), HttpStatus.OK);
+				});
+
+		CompletableFuture<CompletableFuture<String>> leader = CompletableFuture
+				.supplyAsync(() -> soundWrappedService.refreshAccessTokenSingleFlight("expiredAccess"));
+		assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+
+		// Arrives while the first refresh is still in flight
+		CompletableFuture<String> follower = soundWrappedService.refreshAccessTokenSingleFlight("expiredAccess");
+		releaseRefresh.countDown();
+
+		assertEquals("newAccess", leader.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+		assertEquals("newAccess", follower.get(5, TimeUnit.SECONDS));
+		verify(restTemplate, times(1)).exchange(eq(tokenUrl), eq(HttpMethod.POST), ArgumentMatchers.<HttpEntity<?>>any(),
 				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any());
+	}
+
+	@Test
+	void testRefreshAccessTokenSingleFlight_skipsRefreshWhenTokenAlreadyReplaced() throws Exception {
+		when(tokenStore.getAccessToken()).thenReturn("freshAccess");
 
-		HttpEntity<?> capturedRequest = captor.getValue();
-		String authHeader = capturedRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-		assertNotNull(authHeader);
-		assertTrue(authHeader.contains("Bearer"));
+		assertEquals("freshAccess", soundWrappedService.refreshAccessTokenSingleFlight("expiredAccess").get());
+		verifyNoInteractions(restTemplate);
 	}
 
 	@Test
@@ -142,8 +188,7 @@ class SoundWrappedServiceTests {
 		when(tokenStore.getRefreshToken()).thenReturn(refreshToken);
 
 		// GET throws 401 (unauthorized)
-		when(restTemplate.exchange(eq(profileUrl), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
+		when(soundCloudClient.get(eq(profileUrl), anyString()))
 				.thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
 
 		// POST refresh token fails (returns 400 Bad Request)
@@ -167,13 +212,42 @@ class SoundWrappedServiceTests {
 		when(tokenStore.getAccessToken()).thenReturn(accessToken);
 
 		Map<String, Object> profile = Map.of("username", "user1");
-		when(restTemplate.exchange(eq(profileUrl), eq(HttpMethod.GET), ArgumentMatchers.<HttpEntity<?>>any(),
-				ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-				.thenReturn(new ResponseEntity<Map<String, Object>>(profile, HttpStatus.OK));
+		when(soundCloudClient.get(eq(profileUrl), anyString()))
+				.thenReturn(profile);
 
 		Map<String, Object> result = soundWrappedService.getUserProfile();
 
 		assertEquals("user1", result.get("username"));
 		verify(tokenStore, never()).saveTokens(anyString(), anyString());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testGetCachedUserProfile_reusesProfileForSameToken() {
+		String accessToken = "validAccess";
+		String profileUrl = "https://api.soundcloud.com/me";
+
+		when(tokenStore.getAccessToken()).thenReturn(accessToken);
+		when(soundCloudClient.get(eq(profileUrl), anyString()))
+				.thenReturn(Map.of("id", 42, "username", "user1"));
+
+		assertEquals("42", soundWrappedService.getCurrentUserId());
+		assertEquals("42", soundWrappedService.getCurrentUserId());
+
+		verify(soundCloudClient, times(1)).get(eq(profileUrl), anyString());
+	}
+
+	@Test
+	void testGetCachedUserProfile_refetchesAfterInvalidate() {
+		String profileUrl = "https://api.soundcloud.com/me";
+
+		when(tokenStore.getAccessToken()).thenReturn("validAccess");
+		when(soundCloudClient.get(eq(profileUrl), anyString()))
+				.thenReturn(Map.of("id", 42, "username", "user1"));
+
+		soundWrappedService.getCachedUserProfile();
+		soundWrappedService.invalidateCachedProfile();
+		soundWrappedService.getCachedUserProfile();
+
+		verify(soundCloudClient, times(2)).get(eq(profileUrl), anyString());
+	}
+}
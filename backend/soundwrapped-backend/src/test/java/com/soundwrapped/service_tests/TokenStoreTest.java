@@ -37,4 +37,17 @@ class TokenStoreTest {
 		assertEquals(uniqueAccessToken, tokenStore.getAccessToken());
 		assertEquals(uniqueRefreshToken, tokenStore.getRefreshToken());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testReadsServedFromSnapshotAfterSave() {
+		String uniqueAccessToken = "dummy-access_" + UUID.randomUUID();
+		String uniqueRefreshToken = "dummy-refresh_" + UUID.randomUUID();
+
+		tokenStore.saveTokens(uniqueAccessToken, uniqueRefreshToken);
+		long dbReadsBefore = (Long) tokenStore.getStats().get("dbReads");
+
+		assertEquals(uniqueAccessToken, tokenStore.getAccessToken());
+		assertEquals(uniqueRefreshToken, tokenStore.getRefreshToken());
+		assertEquals(dbReadsBefore, tokenStore.getStats().get("dbReads"));
+	}
+}
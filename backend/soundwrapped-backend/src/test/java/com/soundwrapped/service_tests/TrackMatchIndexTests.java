@@ -0,0 +1,85 @@
+package com.soundwrapped.service_tests;
+
+import com.soundwrapped.config.CacheConfig;
+import com.soundwrapped.config.CacheRegion.TrackSearchKey;
+import com.soundwrapped.entity.TrackMatch;
+import com.soundwrapped.repository.TrackMatchRepository;
+import com.soundwrapped.service.CacheAside;
+import com.soundwrapped.service.TrackMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrackMatchIndexTests {
+	@Mock
+	private TrackMatchRepository trackMatchRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	private TrackMatchIndex trackMatchIndex;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(Runnable::run, new StandardEnvironment());
+		cacheManager.afterPropertiesSet();
+		trackMatchIndex = new TrackMatchIndex(trackMatchRepository, jdbcTemplate, new CacheAside(cacheManager), Runnable::run);
+	}
+
+	@Test
+	void testLookupAll_resolvesBatchWithOneQueryAndHonoursNegativeTtl() {
+		TrackSearchKey matched = TrackSearchKey.of("artist", "song");
+		TrackSearchKey recentMiss = TrackSearchKey.of("artist", "rare b side");
+		TrackSearchKey expiredMiss = TrackSearchKey.of("artist", "old miss");
+		TrackSearchKey neverSeen = TrackSearchKey.of("someone", "else");
+
+		when(trackMatchRepository.findByMatchKeyIn(anyCollection())).thenReturn(List.of(
+				match(matched, "123", LocalDateTime.now().minusDays(30)),
+				match(recentMiss, null, LocalDateTime.now().minusHours(1)),
+				match(expiredMiss, null, LocalDateTime.now().minusDays(30))));
+
+		Map<TrackSearchKey, String> known = trackMatchIndex.lookupAll(List.of(matched, recentMiss, expiredMiss, neverSeen));
+
+		assertEquals("123", known.get(matched));
+		assertEquals(TrackMatchIndex.NO_MATCH, known.get(recentMiss));
+		assertFalse(known.containsKey(expiredMiss));
+		assertFalse(known.containsKey(neverSeen));
+		verify(trackMatchRepository, times(1)).findByMatchKeyIn(anyCollection());
+
+		// The positive match is now served from the in-memory front without touching the table
+		assertEquals("123", trackMatchIndex.lookupAll(List.of(matched)).get(matched));
+		verify(trackMatchRepository, times(1)).findByMatchKeyIn(anyCollection());
+	}
+
+	@Test
+	void testRecord_upsertsSoAConcurrentRecordOfTheSameKeyCannotFail() {
+		TrackSearchKey key = TrackSearchKey.of("artist", "song");
+
+		trackMatchIndex.record(key, null);
+
+		verify(jdbcTemplate).update(contains("ON CONFLICT (match_key) DO UPDATE"), eq(key.matchKey()), isNull(), any());
+		assertEquals(TrackMatchIndex.NO_MATCH, trackMatchIndex.lookupAll(List.of(key)).get(key));
+		verifyNoInteractions(trackMatchRepository);
+	}
+
+	private static TrackMatch match(TrackSearchKey key, String soundcloudTrackId, LocalDateTime checkedAt) {
+		TrackMatch match = new TrackMatch();
+		match.setMatchKey(key.matchKey());
+		match.setSoundcloudTrackId(soundcloudTrackId);
+		match.setCheckedAt(checkedAt);
+
+		return match;
+	}
+}
@@ -0,0 +1,109 @@
+package com.soundwrapped.service_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundwrapped.entity.WrappedSnapshot;
+import com.soundwrapped.repository.UserActivityRepository;
+import com.soundwrapped.repository.WrappedSnapshotRepository;
+import com.soundwrapped.service.SoundWrappedService;
+import com.soundwrapped.service.WrappedSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WrappedSnapshotServiceTests {
+	@Mock
+	private SoundWrappedService soundWrappedService;
+
+	@Mock
+	private WrappedSnapshotRepository snapshotRepository;
+
+	@Mock
+	private UserActivityRepository activityRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<String, Object> profile = Map.of("id", 42, "username", "tester",
+			"public_favorites_count", 3, "track_count", 1, "playlist_count", 0,
+			"followers_count", 5, "followings_count", 2);
+
+	private WrappedSnapshotService wrappedSnapshotService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		wrappedSnapshotService = new WrappedSnapshotService(soundWrappedService, snapshotRepository,
+				activityRepository, objectMapper, Runnable::run);
+		when(soundWrappedService.loadWrappedProfile()).thenReturn(profile);
+		when(activityRepository.findMaxIdBySoundcloudUserId("42")).thenReturn(100L);
+	}
+
+	@Test
+	void testGetWrapped_computesAndPersistsWhenNoSnapshot() {
+		when(snapshotRepository.findBySoundcloudUserId("42")).thenReturn(Optional.empty());
+		when(soundWrappedService.computeWrappedProfileSection(profile)).thenReturn(Map.of("username", "tester"));
+		when(soundWrappedService.computeWrappedActivitySection("42")).thenReturn(Map.of("likesGiven", 7));
+		when(soundWrappedService.computeWrappedLibrarySection("42")).thenReturn(Map.of("topTracks", java.util.List.of(Map.of("id", 1))));
+		when(soundWrappedService.formatWrappedSummary(anyMap(), isNull())).thenReturn(Map.of("funFact", "fresh"));
+
+		Map<String, Object> result = wrappedSnapshotService.getWrapped(false);
+
+		assertEquals("fresh", result.get("funFact"));
+		ArgumentCaptor<WrappedSnapshot> saved = ArgumentCaptor.forClass(WrappedSnapshot.class);
+		verify(snapshotRepository).save(saved.capture());
+		assertEquals("42", saved.getValue().getSoundcloudUserId());
+		assertEquals(100L, saved.getValue().getActivityWatermark());
+		assertNotNull(saved.getValue().getLibraryComputedAt());
+	}
+
+	@Test
+	void testGetWrapped_servesFreshSnapshotWithoutRecomputing() {
+		WrappedSnapshot snapshot = new WrappedSnapshot();
+		snapshot.setSoundcloudUserId("42");
+		snapshot.setRawJson("{}");
+		snapshot.setFormattedJson("{\"funFact\":\"stored\"}");
+		snapshot.setProfileComputedAt(LocalDateTime.now());
+		snapshot.setActivityComputedAt(LocalDateTime.now());
+		snapshot.setLibraryComputedAt(LocalDateTime.now());
+		snapshot.setActivityWatermark(100L);
+		snapshot.setLibraryWatermark("3|1|0|5|2");
+		when(snapshotRepository.findBySoundcloudUserId("42")).thenReturn(Optional.of(snapshot));
+
+		Map<String, Object> result = wrappedSnapshotService.getWrapped(false);
+
+		assertEquals("stored", result.get("funFact"));
+		verify(soundWrappedService, never()).computeWrappedLibrarySection(anyString());
+		verify(soundWrappedService, never()).computeWrappedActivitySection(anyString());
+		verify(snapshotRepository, never()).save(any());
+	}
+
+	@Test
+	void testGetWrapped_recomputesOnlyActivityWhenNewActivityArrives() {
+		WrappedSnapshot snapshot = new WrappedSnapshot();
+		snapshot.setSoundcloudUserId("42");
+		snapshot.setRawJson("{\"LIBRARY\":{\"topTracks\":[]}}");
+		snapshot.setFormattedJson("{\"yearInReviewPoetry\":\"old poem\"}");
+		snapshot.setProfileComputedAt(LocalDateTime.now());
+		snapshot.setActivityComputedAt(LocalDateTime.now());
+		snapshot.setLibraryComputedAt(LocalDateTime.now());
+		snapshot.setActivityWatermark(90L);
+		snapshot.setLibraryWatermark("3|1|0|5|2");
+		when(snapshotRepository.findBySoundcloudUserId("42")).thenReturn(Optional.of(snapshot));
+		when(soundWrappedService.computeWrappedActivitySection("42")).thenReturn(Map.of("likesGiven", 8));
+
+		wrappedSnapshotService.getWrapped(false);
+
+		verify(soundWrappedService).computeWrappedActivitySection("42");
+		verify(soundWrappedService, never()).computeWrappedLibrarySection(anyString());
+		// The poem only depends on the library section, so it is reused rather than regenerated
+		verify(soundWrappedService).formatWrappedSummary(anyMap(), eq("old poem"));
+		assertEquals(100L, snapshot.getActivityWatermark());
+	}
+}